@@ -0,0 +1,374 @@
+package com.ironpath.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.InfoPlanStep;
+import com.ironpath.model.PlanStep;
+import com.ironpath.model.QuestPlanStep;
+import com.ironpath.model.SpineDependencyIndex;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.model.TrainPlanStep;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.ProgressionPlanService;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plans thousands of synthetic accounts in parallel and reports planner latency and plan outputs.
+ * Run by the {@code simulate} Gradle task:
+ *
+ * <pre>
+ * BatchPlanRunner [--accounts N] [--seed S] [--threads T] [--warmup W] [--fixtures DIR]
+ *                 [--report report.json] [--plans plans.jsonl]
+ * </pre>
+ *
+ * Accounts are every {@code *.json} fixture in DIR (see {@link SyntheticAccounts}) followed by N
+ * generated ones, cycling through the route stages with seeds S, S+1, ... so any account in a report
+ * can be regenerated. Each account is planned twice on one worker: from scratch, as after login, then
+ * again unchanged, as a refresh. Every worker has its own {@link ProgressionPlanService}, since its
+ * progress belongs to a single planner thread; the route data is shared read-only, as in the plugin.
+ *
+ * Snapshots are captured before timing starts; only planning is measured. The first W generated
+ * accounts are planned once untimed so the JIT has settled.
+ */
+public final class BatchPlanRunner
+{
+    private static final int SLOWEST_REPORTED = 10;
+
+    private final CompiledSpine spine;
+    private final BenchRoute route;
+
+    private BatchPlanRunner(BenchRoute route)
+    {
+        this.route = route;
+        this.spine = route.getSpine();
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final Map<String, String> opts = options(args);
+        final int count = Integer.parseInt(opts.getOrDefault("accounts", "5000"));
+        final long seed = Long.parseLong(opts.getOrDefault("seed", "1"));
+        final int threads = Integer.parseInt(opts.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        final int warmup = Integer.parseInt(opts.getOrDefault("warmup", "2000"));
+
+        final BatchPlanRunner runner = new BatchPlanRunner(BenchRoute.load());
+        final List<Account> accounts = new ArrayList<>();
+        if (opts.containsKey("fixtures"))
+        {
+            accounts.addAll(runner.fixtures(Paths.get(opts.get("fixtures"))));
+        }
+        for (int i = 0; i < count; i++)
+        {
+            accounts.add(runner.generated(seed + i, accounts.size() + 1));
+        }
+
+        final ProgressionPlanService[] planners = new ProgressionPlanService[threads];
+        for (int w = 0; w < threads; w++)
+        {
+            planners[w] = new ProgressionPlanService(runner.route.getQuestDatabase(), runner.route.getCompletionService());
+        }
+
+        final List<Account> warm = new ArrayList<>();
+        for (int i = 0; i < warmup; i++)
+        {
+            warm.add(runner.generated(-1 - i, accounts.size() + warm.size() + 1));
+        }
+        runner.run(warm, planners);
+
+        final long start = System.nanoTime();
+        final Outcome[] outcomes = runner.run(accounts, planners);
+        final double wallMillis = (System.nanoTime() - start) / 1e6;
+
+        final Map<String, Object> report = report(outcomes, threads, wallMillis);
+        final String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+        if (opts.containsKey("report"))
+        {
+            write(Paths.get(opts.get("report")), json + "\n");
+            System.out.println("Wrote " + opts.get("report"));
+        }
+        else
+        {
+            System.out.println(json);
+        }
+
+        if (opts.containsKey("plans"))
+        {
+            final Gson gson = new Gson();
+            final StringBuilder lines = new StringBuilder();
+            for (Outcome o : outcomes)
+            {
+                lines.append(gson.toJson(o.toMap())).append('\n');
+            }
+            write(Paths.get(opts.get("plans")), lines.toString());
+            System.out.println("Wrote " + opts.get("plans"));
+        }
+    }
+
+    private Account generated(long seed, int epoch)
+    {
+        final BenchRoute.Stage[] stages = BenchRoute.Stage.values();
+        final BenchRoute.Stage stage = stages[(int) Math.floorMod(seed, (long) stages.length)];
+        final StubClient state = SyntheticAccounts.random(spine, route.getQuestDatabase(), stage, seed);
+        return new Account(stage + "#" + seed, stage.name(), snapshot(state, epoch));
+    }
+
+    private List<Account> fixtures(Path dir) throws IOException
+    {
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(dir, "*.json"))
+        {
+            ds.forEach(files::add);
+        }
+        files.sort(Comparator.naturalOrder());
+
+        final List<Account> out = new ArrayList<>();
+        for (Path f : files)
+        {
+            try (Reader r = Files.newBufferedReader(f, StandardCharsets.UTF_8))
+            {
+                final StubClient state = SyntheticAccounts.fromFixture(r, route.getNameResolver());
+                out.add(new Account(f.getFileName().toString(), "FIXTURE", snapshot(state, out.size() + 1)));
+            }
+            catch (IOException e)
+            {
+                throw new IOException(f + ": " + e.getMessage(), e);
+            }
+        }
+        return out;
+    }
+
+    private AccountSnapshot snapshot(StubClient state, int epoch)
+    {
+        final SpineDependencyIndex deps = route.getRouteService().getDependencyIndex();
+        return state.snapshot(epoch, deps);
+    }
+
+    /**
+     * Plan every account, striped across one worker per planner. A planner is only ever used by one
+     * worker at a time, so the same planners can be reused across runs.
+     */
+    private Outcome[] run(List<Account> accounts, ProgressionPlanService[] planners) throws Exception
+    {
+        final int threads = planners.length;
+        final Outcome[] out = new Outcome[accounts.size()];
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try
+        {
+            final List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < threads; w++)
+            {
+                final int first = w;
+                final ProgressionPlanService planService = planners[w];
+                workers.add(pool.submit(() ->
+                {
+                    for (int i = first; i < out.length; i += threads)
+                    {
+                        out[i] = plan(planService, accounts.get(i));
+                    }
+                }));
+            }
+            for (Future<?> f : workers)
+            {
+                f.get();
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        return out;
+    }
+
+    private Outcome plan(ProgressionPlanService planService, Account account)
+    {
+        final long t0 = System.nanoTime();
+        final List<SpineStepView> views = planService.buildNextStepViews(spine, account.snapshot, PlanPipeline.PLAN_STEPS);
+        final long t1 = System.nanoTime();
+        planService.buildNextStepViews(spine, account.snapshot, PlanPipeline.PLAN_STEPS);
+        final long t2 = System.nanoTime();
+        return new Outcome(account, t1 - t0, t2 - t1, views);
+    }
+
+    private static Map<String, Object> report(Outcome[] outcomes, int threads, double wallMillis)
+    {
+        final Map<String, Object> r = new LinkedHashMap<>();
+        r.put("accounts", outcomes.length);
+        r.put("threads", threads);
+        r.put("wallMillis", wallMillis);
+        r.put("plansPerSecond", outcomes.length * 2 / (wallMillis / 1000));
+        r.put("fromScratchMicros", percentiles(outcomes, null, true));
+        r.put("refreshMicros", percentiles(outcomes, null, false));
+
+        final Map<String, Object> byStage = new LinkedHashMap<>();
+        for (Outcome o : outcomes)
+        {
+            byStage.computeIfAbsent(o.account.stage, s -> percentiles(outcomes, s, true));
+        }
+        r.put("fromScratchMicrosByStage", byStage);
+
+        final Map<String, Integer> firstSteps = new TreeMap<>();
+        int empty = 0;
+        for (Outcome o : outcomes)
+        {
+            if (o.views.isEmpty())
+            {
+                empty++;
+                continue;
+            }
+            firstSteps.merge(o.views.get(0).getStep().getType().name(), 1, Integer::sum);
+        }
+        r.put("firstStepTypes", firstSteps);
+        r.put("emptyPlans", empty);
+
+        final Outcome[] slowest = outcomes.clone();
+        Arrays.sort(slowest, Comparator.comparingLong((Outcome o) -> o.fromScratchNanos).reversed());
+        final List<Map<String, Object>> worst = new ArrayList<>();
+        for (int i = 0; i < Math.min(SLOWEST_REPORTED, slowest.length); i++)
+        {
+            worst.add(slowest[i].toMap());
+        }
+        r.put("slowest", worst);
+        return r;
+    }
+
+    /**
+     * Latency percentiles in microseconds, over all outcomes or those of one stage.
+     */
+    private static Map<String, Object> percentiles(Outcome[] outcomes, String stage, boolean fromScratch)
+    {
+        final long[] nanos = Arrays.stream(outcomes)
+            .filter(o -> stage == null || stage.equals(o.account.stage))
+            .mapToLong(o -> fromScratch ? o.fromScratchNanos : o.refreshNanos)
+            .sorted()
+            .toArray();
+
+        final Map<String, Object> p = new LinkedHashMap<>();
+        p.put("count", nanos.length);
+        if (nanos.length == 0)
+        {
+            return p;
+        }
+        p.put("mean", Arrays.stream(nanos).average().orElse(0) / 1000);
+        p.put("p50", at(nanos, 0.50));
+        p.put("p90", at(nanos, 0.90));
+        p.put("p99", at(nanos, 0.99));
+        p.put("p999", at(nanos, 0.999));
+        p.put("max", nanos[nanos.length - 1] / 1000.0);
+        return p;
+    }
+
+    private static double at(long[] sorted, double quantile)
+    {
+        final int i = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, i)] / 1000.0;
+    }
+
+    private static String describe(PlanStep step)
+    {
+        if (step instanceof QuestPlanStep)
+        {
+            return ((QuestPlanStep) step).getEntry().getQuestName();
+        }
+        if (step instanceof TrainPlanStep)
+        {
+            final TrainPlanStep t = (TrainPlanStep) step;
+            return t.getSkill().getName() + " to " + t.getToLevel();
+        }
+        if (step instanceof InfoPlanStep)
+        {
+            return ((InfoPlanStep) step).getTitle();
+        }
+        return step.getType().name();
+    }
+
+    private static Map<String, String> options(String[] args)
+    {
+        final Map<String, String> out = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++)
+        {
+            if (!args[i].startsWith("--") || i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Expected --option value pairs, got '" + args[i] + "'");
+            }
+            out.put(args[i].substring(2), args[++i]);
+        }
+        return out;
+    }
+
+    private static void write(Path path, String content) throws IOException
+    {
+        if (path.toAbsolutePath().getParent() != null)
+        {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        try (Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            w.write(content);
+        }
+    }
+
+    private static final class Account
+    {
+        private final String name;
+        private final String stage;
+        private final AccountSnapshot snapshot;
+
+        private Account(String name, String stage, AccountSnapshot snapshot)
+        {
+            this.name = name;
+            this.stage = stage;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private static final class Outcome
+    {
+        private final Account account;
+        private final long fromScratchNanos;
+        private final long refreshNanos;
+        private final List<SpineStepView> views;
+
+        private Outcome(Account account, long fromScratchNanos, long refreshNanos, List<SpineStepView> views)
+        {
+            this.account = account;
+            this.fromScratchNanos = fromScratchNanos;
+            this.refreshNanos = refreshNanos;
+            this.views = views;
+        }
+
+        private Map<String, Object> toMap()
+        {
+            final List<String> steps = new ArrayList<>(views.size());
+            for (SpineStepView v : views)
+            {
+                steps.add(v.getSpineIndex() + " " + v.getStep().getType() + " " + describe(v.getStep()));
+            }
+
+            final Map<String, Object> m = new LinkedHashMap<>();
+            m.put("account", account.name);
+            m.put("fromScratchMicros", fromScratchNanos / 1000.0);
+            m.put("refreshMicros", refreshNanos / 1000.0);
+            m.put("steps", steps);
+            return m;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.service.QuestDatabase;
+import com.ironpath.service.QuestNameResolver;
+import com.ironpath.service.QuestRouteService;
+import com.ironpath.service.QuestStatusService;
+import com.ironpath.service.StepCompletionService;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+
+/**
+ * The plugin's services wired by hand around a {@link StubClient}, reading the packaged route.
+ */
+public final class BenchRoute
+{
+    /**
+     * How far along the route a synthetic account is, as the share of route quests finished.
+     */
+    public enum Stage
+    {
+        EARLY(0.15),
+        MID(0.5),
+        LATE(0.9);
+
+        private final double questsFinished;
+
+        Stage(double questsFinished)
+        {
+            this.questsFinished = questsFinished;
+        }
+
+        public double getQuestsFinished()
+        {
+            return questsFinished;
+        }
+    }
+
+    private final StubClient stub = new StubClient();
+    private final QuestNameResolver nameResolver = new QuestNameResolver();
+    private final QuestDatabase questDatabase = new QuestDatabase(nameResolver);
+    private final StepCompletionService completionService = new StepCompletionService();
+    private final QuestStatusService statusService = new QuestStatusService(stub.client(), nameResolver);
+    private final QuestRouteService routeService = new QuestRouteService(completionService, questDatabase, nameResolver);
+
+    private BenchRoute()
+    {
+    }
+
+    /**
+     * Wire the services without loading any data.
+     */
+    public static BenchRoute unloaded()
+    {
+        return new BenchRoute();
+    }
+
+    /**
+     * Load the route and quest database and return once both are available.
+     */
+    public static BenchRoute load()
+    {
+        final BenchRoute r = unloaded();
+        r.routeService.load(ForkJoinPool.commonPool()).join();
+        if (r.getSpine().size() == 0)
+        {
+            throw new IllegalStateException("Route did not load");
+        }
+        return r;
+    }
+
+    /**
+     * Play the account forward along the route in order: finish the first quests (collecting their XP
+     * rewards), reach the TRAIN targets and varp/varbit thresholds in between, and leave the next quest
+     * in progress.
+     */
+    public BenchRoute advanceTo(Stage stage)
+    {
+        return advanceTo(stage.getQuestsFinished());
+    }
+
+    public BenchRoute advanceTo(double questsFinished)
+    {
+        final CompiledSpine spine = getSpine();
+
+        int quests = 0;
+        for (int i = 0; i < spine.size(); i++)
+        {
+            if (spine.getRuleId(i) == CompiledSpine.RULE_QUEST)
+            {
+                quests++;
+            }
+        }
+
+        final int target = (int) (quests * questsFinished);
+        int finished = 0;
+        for (int i = 0; i < spine.size(); i++)
+        {
+            switch (spine.getRuleId(i))
+            {
+                case CompiledSpine.RULE_QUEST:
+                {
+                    final Quest q = spine.getQuest(i);
+                    if (finished == target)
+                    {
+                        stub.setQuestState(q, QuestState.IN_PROGRESS);
+                        statusService.invalidate();
+                        return this;
+                    }
+
+                    stub.setQuestState(q, QuestState.FINISHED);
+                    for (Map.Entry<Skill, Integer> reward : questDatabase.getXpRewards(q).entrySet())
+                    {
+                        stub.setXp(reward.getKey(), stub.getXp(reward.getKey()) + reward.getValue());
+                    }
+                    finished++;
+                    break;
+                }
+                case CompiledSpine.RULE_LEVEL:
+                    stub.raiseToLevel(spine.getSkill(i), spine.getTargetLevel(i));
+                    break;
+                case CompiledSpine.RULE_VARP:
+                    stub.setVarp(spine.getVarId(i), spine.getThreshold(i));
+                    break;
+                case CompiledSpine.RULE_VARBIT:
+                    stub.setVarbit(spine.getVarId(i), spine.getThreshold(i));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        statusService.invalidate();
+        return this;
+    }
+
+    public StubClient getStub()
+    {
+        return stub;
+    }
+
+    public QuestNameResolver getNameResolver()
+    {
+        return nameResolver;
+    }
+
+    public QuestDatabase getQuestDatabase()
+    {
+        return questDatabase;
+    }
+
+    public StepCompletionService getCompletionService()
+    {
+        return completionService;
+    }
+
+    public QuestStatusService getStatusService()
+    {
+        return statusService;
+    }
+
+    public QuestRouteService getRouteService()
+    {
+        return routeService;
+    }
+
+    public CompiledSpine getSpine()
+    {
+        return routeService.getCompiledSpine();
+    }
+}
@@ -0,0 +1,236 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.SpineStepView;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.ProgressionPlanService;
+import com.ironpath.ui.LegacyCards;
+import com.ironpath.ui.SpriteIconCache;
+import com.ironpath.ui.StepCard;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+import net.runelite.client.ui.PluginPanel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Headless cost of the "Next steps" cards, per card: build, build and lay out at the sidebar width, and
+ * build, lay out and paint into an offscreen image. Run with {@code -prof gc} for allocation per card.
+ *
+ * Each invocation builds the section body the panel builds for a real plan (one cell per step with the
+ * gap below it, stacked in a BoxLayout column) from the first {@link PlanPipeline#PLAN_STEPS} steps of
+ * an account at the given stage. {@code STEP_CARD} is the painted {@link StepCard}; {@code LEGACY} is the
+ * Swing-component cards it replaced, from {@link LegacyCards}. Sprites are not available, so both show
+ * their fallback icons.
+ *
+ * The work runs on the EDT like it does in the client, so each invocation also pays for one
+ * {@code invokeAndWait}, shared by all cards in it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CardRenderBenchmark
+{
+    // The width StepCard assumes before it is laid out: the sidebar minus the panel's padding.
+    private static final int WIDTH = PluginPanel.PANEL_WIDTH - 16;
+
+    public enum Kind
+    {
+        STEP_CARD
+            {
+                @Override
+                JComponent build(SpriteIconCache sprites, SpineStepView view)
+                {
+                    final StepCard card = new StepCard(sprites);
+                    card.setView(view);
+                    return card;
+                }
+            },
+        LEGACY
+            {
+                @Override
+                JComponent build(SpriteIconCache sprites, SpineStepView view)
+                {
+                    return LegacyCards.compact(view);
+                }
+            };
+
+        abstract JComponent build(SpriteIconCache sprites, SpineStepView view);
+    }
+
+    @Param({"STEP_CARD", "LEGACY"})
+    public Kind kind;
+
+    @Param({"EARLY", "MID", "LATE"})
+    public BenchRoute.Stage stage;
+
+    private final SpriteIconCache sprites = new SpriteIconCache(null, null, null);
+    private final List<SpineStepView> views = new ArrayList<>();
+    private BufferedImage canvas;
+
+    @Setup
+    public void setUp() throws Exception
+    {
+        final BenchRoute route = BenchRoute.load().advanceTo(stage);
+        final ProgressionPlanService planService = new ProgressionPlanService(route.getQuestDatabase(), route.getCompletionService());
+        final List<SpineStepView> plan = planService.buildNextStepViews(route.getSpine(),
+            route.getStub().snapshot(1, route.getRouteService().getDependencyIndex()), PlanPipeline.PLAN_STEPS);
+        if (plan.isEmpty())
+        {
+            throw new IllegalStateException("No steps planned for " + stage);
+        }
+
+        // Keep the card count fixed so results are per card.
+        for (int i = 0; i < PlanPipeline.PLAN_STEPS; i++)
+        {
+            views.add(plan.get(i % plan.size()));
+        }
+
+        canvas = new BufferedImage(WIDTH, 4096, BufferedImage.TYPE_INT_ARGB);
+        onEdt(() ->
+        {
+            // Paint straight into the canvas; there is no window to buffer for.
+            RepaintManager.currentManager((Component) null).setDoubleBufferingEnabled(false);
+            return null;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PlanPipeline.PLAN_STEPS)
+    public JComponent build() throws Exception
+    {
+        return onEdt(this::column);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PlanPipeline.PLAN_STEPS)
+    public JComponent buildAndLayout() throws Exception
+    {
+        return onEdt(() ->
+        {
+            final JComponent column = column();
+            layOut(column);
+            return column;
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PlanPipeline.PLAN_STEPS)
+    public JComponent buildLayoutAndPaint() throws Exception
+    {
+        return onEdt(() ->
+        {
+            final JComponent column = column();
+            layOut(column);
+
+            final Graphics2D g = canvas.createGraphics();
+            try
+            {
+                g.setClip(0, 0, WIDTH, Math.min(column.getHeight(), canvas.getHeight()));
+                column.paint(g);
+            }
+            finally
+            {
+                g.dispose();
+            }
+            return column;
+        });
+    }
+
+    /**
+     * The section body IronmanPathPanel builds: each card in a cell carrying the gap below it.
+     */
+    private JComponent column()
+    {
+        final JPanel column = new JPanel();
+        column.setOpaque(false);
+        column.setLayout(new BoxLayout(column, BoxLayout.Y_AXIS));
+
+        for (SpineStepView v : views)
+        {
+            final JPanel cell = new JPanel(new BorderLayout());
+            cell.setOpaque(false);
+            cell.setBorder(BorderFactory.createEmptyBorder(0, 0, 6, 0));
+            cell.add(kind.build(sprites, v), BorderLayout.CENTER);
+            column.add(cell);
+        }
+        return column;
+    }
+
+    /**
+     * Lay the column out at the sidebar width without a peer. Card heights depend on their width, so
+     * widths are settled by a first pass before the column is sized to its preferred height.
+     */
+    private static void layOut(JComponent column)
+    {
+        column.setSize(WIDTH, 1);
+        layOutTree(column);
+
+        column.invalidate();
+        column.setSize(WIDTH, column.getPreferredSize().height);
+        layOutTree(column);
+    }
+
+    private static void layOutTree(Component c)
+    {
+        if (!(c instanceof Container))
+        {
+            return;
+        }
+
+        final Container container = (Container) c;
+        container.doLayout();
+        for (Component child : container.getComponents())
+        {
+            layOutTree(child);
+        }
+    }
+
+    private static <T> T onEdt(Callable<T> work) throws Exception
+    {
+        final List<T> result = new ArrayList<>(1);
+        final Exception[] failure = new Exception[1];
+        SwingUtilities.invokeAndWait(() ->
+        {
+            try
+            {
+                result.add(work.call());
+            }
+            catch (Exception e)
+            {
+                failure[0] = e;
+            }
+        });
+
+        if (failure[0] != null)
+        {
+            throw failure[0];
+        }
+        return result.get(0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.service.StepCompletionService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link StepCompletionService#isComplete} over every varp/varbit-verifiable step of the route, through
+ * the compiled spine against a snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompletionBenchmark
+{
+    private StepCompletionService completionService;
+    private CompiledSpine spine;
+    private AccountSnapshot snapshot;
+    private int[] indices;
+
+    @Setup
+    public void setUp()
+    {
+        final BenchRoute route = BenchRoute.load().advanceTo(BenchRoute.Stage.MID);
+        completionService = route.getCompletionService();
+        spine = route.getSpine();
+        snapshot = route.getStub().snapshot(1, route.getRouteService().getDependencyIndex());
+
+        final List<Integer> verifiable = new ArrayList<>();
+        for (int i = 0; i < spine.size(); i++)
+        {
+            final int rule = spine.getRuleId(i);
+            if (rule == CompiledSpine.RULE_VARP || rule == CompiledSpine.RULE_VARBIT)
+            {
+                verifiable.add(i);
+            }
+        }
+
+        indices = verifiable.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public int compiled()
+    {
+        int done = 0;
+        for (int i : indices)
+        {
+            if (completionService.isComplete(spine, i, snapshot))
+            {
+                done++;
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,208 @@
+package com.ironpath.bench;
+
+import com.ironpath.service.EventRecorder;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+/**
+ * Reads a log written by {@link EventRecorder}; see there for the format.
+ */
+final class EventLog
+{
+    private final long startMillis;
+    private final List<Record> records;
+
+    private EventLog(long startMillis, List<Record> records)
+    {
+        this.startMillis = startMillis;
+        this.records = records;
+    }
+
+    /**
+     * One record. Integer fields are in payload order; for {@link EventRecorder#CAPTURE} that is each
+     * section's count followed by its entries.
+     */
+    static final class Record
+    {
+        final int tag;
+        final long micros;
+        final int[] ints;
+        final String[] strings;
+
+        private Record(int tag, long micros, int[] ints, String[] strings)
+        {
+            this.tag = tag;
+            this.micros = micros;
+            this.ints = ints;
+            this.strings = strings;
+        }
+    }
+
+    long getStartMillis()
+    {
+        return startMillis;
+    }
+
+    List<Record> getRecords()
+    {
+        return records;
+    }
+
+    static EventLog read(Path path) throws IOException
+    {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16))
+        {
+            return read(new DataInputStream(in));
+        }
+        catch (EOFException e)
+        {
+            throw new IOException(path + ": truncated log", e);
+        }
+    }
+
+    private static EventLog read(DataInputStream in) throws IOException
+    {
+        final byte[] magic = new byte[EventRecorder.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, EventRecorder.MAGIC))
+        {
+            throw new IOException("Not an event log");
+        }
+        final int version = in.readUnsignedByte();
+        if (version != EventRecorder.VERSION)
+        {
+            throw new IOException("Unsupported event log version " + version);
+        }
+        final long quests = readVarint(in);
+        final long skills = readVarint(in);
+        if (quests != Quest.values().length || skills != Skill.values().length)
+        {
+            throw new IOException("Log was recorded against a different RuneLite API ("
+                + quests + " quests, " + skills + " skills)");
+        }
+        final long startMillis = in.readLong();
+
+        final List<Record> records = new ArrayList<>();
+        int tag;
+        while ((tag = in.read()) != -1)
+        {
+            final long micros = readVarint(in);
+            records.add(readRecord(in, tag, micros));
+        }
+        return new EventLog(startMillis, records);
+    }
+
+    private static Record readRecord(DataInputStream in, int tag, long micros) throws IOException
+    {
+        switch (tag)
+        {
+            case EventRecorder.GAME_STATE:
+                return new Record(tag, micros, new int[]{readSigned(in)}, null);
+            case EventRecorder.GAME_TICK:
+                return new Record(tag, micros, new int[0], null);
+            case EventRecorder.VARBIT_CHANGED:
+                return new Record(tag, micros, new int[]{readSigned(in), readSigned(in), readSigned(in)}, null);
+            case EventRecorder.STAT_CHANGED:
+                return new Record(tag, micros, new int[]{readInt(in), readInt(in), readInt(in), readInt(in)}, null);
+            case EventRecorder.CHAT_MESSAGE:
+                return new Record(tag, micros, null, new String[]{readString(in)});
+            case EventRecorder.CONFIG_CHANGED:
+            {
+                final String group = readString(in);
+                final String key = readString(in);
+                final String value = in.readBoolean() ? readString(in) : null;
+                return new Record(tag, micros, null, new String[]{group, key, value});
+            }
+            case EventRecorder.CAPTURE:
+            {
+                final IntList ints = new IntList();
+                readSection(in, ints, 2, false);
+                readSection(in, ints, 2, false);
+                readSection(in, ints, 2, true);
+                readSection(in, ints, 2, true);
+                return new Record(tag, micros, ints.toArray(), null);
+            }
+            default:
+                throw new IOException("Unknown record tag " + tag);
+        }
+    }
+
+    private static void readSection(DataInputStream in, IntList out, int width, boolean signed) throws IOException
+    {
+        final int count = readInt(in);
+        out.add(count);
+        for (int i = 0; i < count * width; i++)
+        {
+            out.add(signed ? readSigned(in) : readInt(in));
+        }
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException
+    {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static int readInt(DataInputStream in) throws IOException
+    {
+        final long v = readVarint(in);
+        if (v > Integer.MAX_VALUE)
+        {
+            throw new IOException("Value out of range: " + v);
+        }
+        return (int) v;
+    }
+
+    private static int readSigned(DataInputStream in) throws IOException
+    {
+        final int v = (int) readVarint(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        final byte[] bytes = new byte[readInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class IntList
+    {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int v)
+        {
+            if (size == values.length)
+            {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+
+        int[] toArray()
+        {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
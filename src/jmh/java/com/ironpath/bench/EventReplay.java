@@ -0,0 +1,548 @@
+package com.ironpath.bench;
+
+import com.google.gson.GsonBuilder;
+import com.ironpath.IronmanPathConfig;
+import com.ironpath.IronmanPathPlugin;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.overlay.ActiveStepOverlay;
+import com.ironpath.service.EventRecorder;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.PluginMetrics;
+import com.ironpath.service.ProgressionPlanService;
+import com.ironpath.ui.IronmanPathPanel;
+import com.ironpath.ui.SpriteIconCache;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import net.runelite.api.ChatMessageType;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+import net.runelite.api.events.ChatMessage;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.VarbitChanged;
+import net.runelite.client.events.ConfigChanged;
+
+/**
+ * Replays a log written by {@link EventRecorder} through {@link IronmanPathPlugin}'s event handlers and
+ * the real services against a {@link StubClient}, as fast as it can. Run by the {@code replay} Gradle task:
+ *
+ * <pre>EventReplay --log session.iplog [--repeat N] [--warmup W] [--report report.json] [--expect DIGEST]</pre>
+ *
+ * The plugin is wired by hand the way {@code startUp} wires it, minus the toolbar button and overlay
+ * registration. Each event is dispatched after the client values recorded for it are applied to the stub;
+ * then client thread work it queued runs, and then any plan build it requested, until both are idle. So
+ * a plan is built before the next event arrives, and several requests from one event coalesce into one
+ * build, the same on every run.
+ *
+ * Every run starts from fresh services. The report has the timing of the measured runs and, from the
+ * last one, the pipeline counters and a digest of every published plan. The digest only depends on the
+ * log, the route data and the refresh logic, so {@code --expect} turns a recorded session into a
+ * regression check for the debouncing: the run fails if any change alters which plans get published.
+ */
+public final class EventReplay
+{
+    private static final Quest[] QUESTS = Quest.values();
+    private static final QuestState[] QUEST_STATES = QuestState.values();
+    private static final Skill[] SKILLS = Skill.values();
+
+    private final EventLog events;
+
+    private EventReplay(EventLog events)
+    {
+        this.events = events;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final Map<String, String> opts = options(args);
+        if (!opts.containsKey("log"))
+        {
+            throw new IllegalArgumentException("Missing --log");
+        }
+        final Path logPath = Paths.get(opts.get("log"));
+        final int repeat = Integer.parseInt(opts.getOrDefault("repeat", "5"));
+        final int warmup = Integer.parseInt(opts.getOrDefault("warmup", "2"));
+
+        final EventReplay replay = new EventReplay(EventLog.read(logPath));
+        for (int i = 0; i < warmup; i++)
+        {
+            replay.run();
+        }
+
+        final long[] wallNanos = new long[repeat];
+        Run last = null;
+        for (int i = 0; i < repeat; i++)
+        {
+            last = replay.run();
+            wallNanos[i] = last.wallNanos;
+        }
+
+        final Map<String, Object> report = replay.report(logPath, wallNanos, last);
+        final String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+        if (opts.containsKey("report"))
+        {
+            write(Paths.get(opts.get("report")), json + "\n");
+            System.out.println("Wrote " + opts.get("report"));
+        }
+        else
+        {
+            System.out.println(json);
+        }
+
+        final String digest = last == null ? "" : last.digest();
+        if (opts.containsKey("expect") && !opts.get("expect").equalsIgnoreCase(digest))
+        {
+            System.err.println("Published plans differ from the expected digest: expected "
+                + opts.get("expect") + ", got " + digest);
+            System.exit(1);
+        }
+        // The panel's Swing timers would keep the JVM alive.
+        System.exit(0);
+    }
+
+    private Run run() throws Exception
+    {
+        final Run run = new Run();
+        final List<EventLog.Record> records = events.getRecords();
+
+        final long start = System.nanoTime();
+        int i = 0;
+        while (i < records.size())
+        {
+            final EventLog.Record r = records.get(i);
+            if (r.tag == EventRecorder.CAPTURE)
+            {
+                run.apply(r);
+                i++;
+                continue;
+            }
+
+            // Values the plugin read while handling this event were recorded after it.
+            int next = i + 1;
+            while (next < records.size() && records.get(next).tag == EventRecorder.CAPTURE)
+            {
+                run.apply(records.get(next));
+                next++;
+            }
+
+            run.dispatch(r);
+            run.settle();
+            run.eventIndex++;
+            i = next;
+        }
+        run.wallNanos = System.nanoTime() - start;
+        return run;
+    }
+
+    private Map<String, Object> report(Path logPath, long[] wallNanos, Run last)
+    {
+        final Map<String, Integer> byType = new TreeMap<>();
+        long sessionMicros = 0;
+        int eventCount = 0;
+        for (EventLog.Record r : events.getRecords())
+        {
+            sessionMicros += r.micros;
+            byType.merge(tagName(r.tag), 1, Integer::sum);
+            if (r.tag != EventRecorder.CAPTURE)
+            {
+                eventCount++;
+            }
+        }
+
+        final long[] sorted = wallNanos.clone();
+        Arrays.sort(sorted);
+        final double medianMillis = sorted.length == 0 ? 0 : sorted[sorted.length / 2] / 1e6;
+
+        final Map<String, Object> r = new LinkedHashMap<>();
+        r.put("log", logPath.toString());
+        r.put("recordedAtMillis", events.getStartMillis());
+        r.put("sessionSeconds", sessionMicros / 1e6);
+        r.put("events", eventCount);
+        r.put("recordsByType", byType);
+        r.put("runs", wallNanos.length);
+        r.put("replayMillisMin", sorted.length == 0 ? 0 : sorted[0] / 1e6);
+        r.put("replayMillisMedian", medianMillis);
+        r.put("eventsPerSecond", medianMillis == 0 ? 0 : eventCount / (medianMillis / 1000));
+        r.put("speedup", medianMillis == 0 ? 0 : sessionMicros / 1000.0 / medianMillis);
+        if (last != null)
+        {
+            final PluginMetrics m = last.metrics;
+            r.put("plansRequested", m.getRefreshRequests());
+            r.put("plansCoalesced", m.getRefreshesCoalesced());
+            r.put("plansPublished", last.published);
+            r.put("droppedForeignInvokes", last.clientThread.getDropped());
+            r.put("captureMicros", histogram(m.getPlanCaptureNanos(), 1000.0));
+            r.put("questReadsPerRefresh", histogram(m.getQuestReadsPerRefresh(), 1));
+            r.put("digest", last.digest());
+        }
+        return r;
+    }
+
+    private static Map<String, Object> histogram(PluginMetrics.Histogram h, double scale)
+    {
+        final Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", h.getCount());
+        m.put("mean", h.getMean() / scale);
+        m.put("p50", h.getPercentile(0.5) / scale);
+        m.put("p99", h.getPercentile(0.99) / scale);
+        m.put("max", h.getMax() / scale);
+        return m;
+    }
+
+    private static String tagName(int tag)
+    {
+        switch (tag)
+        {
+            case EventRecorder.GAME_STATE:
+                return "GameStateChanged";
+            case EventRecorder.GAME_TICK:
+                return "GameTick";
+            case EventRecorder.VARBIT_CHANGED:
+                return "VarbitChanged";
+            case EventRecorder.STAT_CHANGED:
+                return "StatChanged";
+            case EventRecorder.CHAT_MESSAGE:
+                return "ChatMessage";
+            case EventRecorder.CONFIG_CHANGED:
+                return "ConfigChanged";
+            case EventRecorder.CAPTURE:
+                return "capture";
+            default:
+                return "tag" + tag;
+        }
+    }
+
+    /**
+     * One replay: a freshly wired plugin and its services, and what they published.
+     */
+    private static final class Run
+    {
+        private final BenchRoute route = BenchRoute.load();
+        private final StubClient stub = route.getStub();
+        private final ReplayConfig config = new ReplayConfig();
+        private final PluginMetrics metrics = new PluginMetrics();
+        private final ReplayClientThread clientThread = new ReplayClientThread(Thread.currentThread());
+        private final QueuedExecutor planner = new QueuedExecutor();
+        private final IronmanPathPlugin plugin = new IronmanPathPlugin();
+        private final Method onPlanComputed;
+
+        private int eventIndex;
+        private int published;
+        private long digest = 0xcbf29ce484222325L;
+        private long wallNanos;
+
+        private Run() throws Exception
+        {
+            metrics.setEnabled(true);
+            stub.setGameState(GameState.LOGIN_SCREEN);
+
+            final SpriteIconCache sprites = new SpriteIconCache(null, null, null);
+            final EventRecorder recorder = new EventRecorder();
+            final ProgressionPlanService planService =
+                new ProgressionPlanService(route.getQuestDatabase(), route.getCompletionService());
+            final PlanPipeline pipeline = new PlanPipeline(stub.client(), route.getStatusService(),
+                route.getRouteService(), planService, metrics, recorder);
+
+            inject("client", stub.client());
+            inject("clientThread", clientThread);
+            inject("spriteIconCache", sprites);
+            inject("questRouteService", route.getRouteService());
+            inject("progressionPlanService", planService);
+            inject("questStatusService", route.getStatusService());
+            inject("planPipeline", pipeline);
+            inject("metrics", metrics);
+            inject("recorder", recorder);
+            inject("activeStepOverlay", new ActiveStepOverlay(stub.client(), config, sprites, metrics));
+            inject("config", config);
+
+            final IronmanPathPanel[] panel = new IronmanPathPanel[1];
+            SwingUtilities.invokeAndWait(() ->
+                panel[0] = new IronmanPathPanel(pipeline, route.getRouteService(), clientThread, sprites, metrics));
+            inject("panel", panel[0]);
+
+            onPlanComputed = IronmanPathPlugin.class.getDeclaredMethod("onPlanComputed", List.class);
+            onPlanComputed.setAccessible(true);
+            pipeline.setListener(this::onPublished);
+            pipeline.start(planner);
+        }
+
+        private void inject(String name, Object value) throws ReflectiveOperationException
+        {
+            final Field f = IronmanPathPlugin.class.getDeclaredField(name);
+            f.setAccessible(true);
+            f.set(plugin, value);
+        }
+
+        private void onPublished(List<SpineStepView> views)
+        {
+            published++;
+            mix(eventIndex);
+            mix(views.size());
+            for (SpineStepView v : views)
+            {
+                mix(v.getSpineIndex());
+                mix(v.getStep().getType().ordinal());
+            }
+
+            try
+            {
+                onPlanComputed.invoke(plugin, views);
+            }
+            catch (IllegalAccessException e)
+            {
+                throw new IllegalStateException(e);
+            }
+            catch (InvocationTargetException e)
+            {
+                throw new IllegalStateException("onPlanComputed failed at event " + eventIndex, e.getCause());
+            }
+        }
+
+        private void mix(int value)
+        {
+            // FNV-1a over the value's four bytes.
+            for (int shift = 0; shift < 32; shift += 8)
+            {
+                digest ^= (value >>> shift) & 0xFF;
+                digest *= 0x100000001b3L;
+            }
+        }
+
+        private String digest()
+        {
+            return String.format("%016x", digest);
+        }
+
+        /**
+         * Set the stub to the values a capture read.
+         */
+        private void apply(EventLog.Record capture)
+        {
+            final int[] v = capture.ints;
+            int p = 0;
+
+            final int quests = v[p++];
+            for (int k = 0; k < quests; k++, p += 2)
+            {
+                stub.setQuestState(QUESTS[v[p]], QUEST_STATES[v[p + 1]]);
+            }
+
+            final int skills = v[p++];
+            for (int k = 0; k < skills; k++, p += 2)
+            {
+                stub.setXp(SKILLS[v[p]], v[p + 1]);
+            }
+
+            final int varps = v[p++];
+            for (int k = 0; k < varps; k++, p += 2)
+            {
+                stub.setVarp(v[p], v[p + 1]);
+            }
+
+            final int varbits = v[p++];
+            for (int k = 0; k < varbits; k++, p += 2)
+            {
+                stub.setVarbit(v[p], v[p + 1]);
+            }
+        }
+
+        private void dispatch(EventLog.Record r)
+        {
+            switch (r.tag)
+            {
+                case EventRecorder.GAME_STATE:
+                {
+                    final GameState state = GameState.of(r.ints[0]);
+                    stub.setGameState(state);
+                    final GameStateChanged e = new GameStateChanged();
+                    e.setGameState(state);
+                    plugin.onGameStateChanged(e);
+                    break;
+                }
+                case EventRecorder.GAME_TICK:
+                    // The handler never reads the event.
+                    plugin.onGameTick(null);
+                    break;
+                case EventRecorder.VARBIT_CHANGED:
+                {
+                    final VarbitChanged e = new VarbitChanged();
+                    e.setVarpId(r.ints[0]);
+                    e.setVarbitId(r.ints[1]);
+                    e.setValue(r.ints[2]);
+                    plugin.onVarbitChanged(e);
+                    break;
+                }
+                case EventRecorder.STAT_CHANGED:
+                    plugin.onStatChanged(new StatChanged(SKILLS[r.ints[0]], r.ints[1], r.ints[2], r.ints[3]));
+                    break;
+                case EventRecorder.CHAT_MESSAGE:
+                {
+                    final ChatMessage e = new ChatMessage();
+                    e.setType(ChatMessageType.GAMEMESSAGE);
+                    e.setMessage(r.strings[0]);
+                    plugin.onChatMessage(e);
+                    break;
+                }
+                case EventRecorder.CONFIG_CHANGED:
+                {
+                    if (IronmanPathConfig.GROUP.equals(r.strings[0]) && r.strings[2] != null)
+                    {
+                        config.values.put(r.strings[1], r.strings[2]);
+                    }
+                    final ConfigChanged e = new ConfigChanged();
+                    e.setGroup(r.strings[0]);
+                    e.setKey(r.strings[1]);
+                    e.setNewValue(r.strings[2]);
+                    plugin.onConfigChanged(e);
+                    break;
+                }
+                default:
+                    throw new IllegalStateException("Unexpected record tag " + r.tag);
+            }
+        }
+
+        /**
+         * Run client thread work and plan builds until neither has anything left.
+         */
+        private void settle()
+        {
+            boolean ran;
+            do
+            {
+                ran = clientThread.drain();
+                ran |= planner.runPending();
+            }
+            while (ran);
+        }
+    }
+
+    /**
+     * Config backed by the values recorded for this plugin's group; everything else is the default.
+     */
+    private static final class ReplayConfig implements IronmanPathConfig
+    {
+        private final Map<String, String> values = new HashMap<>();
+
+        @Override
+        public boolean showActiveStepOverlay()
+        {
+            return Boolean.parseBoolean(values.getOrDefault("showActiveStepOverlay", "false"));
+        }
+
+        @Override
+        public boolean showDebugMetrics()
+        {
+            return Boolean.parseBoolean(values.getOrDefault("showDebugMetrics", "false"));
+        }
+    }
+
+    /**
+     * Planner that only runs builds when the replay asks it to.
+     */
+    private static final class QueuedExecutor extends AbstractExecutorService
+    {
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private boolean shutdown;
+
+        boolean runPending()
+        {
+            boolean ran = false;
+            Runnable r;
+            while ((r = pending.poll()) != null)
+            {
+                r.run();
+                ran = true;
+            }
+            return ran;
+        }
+
+        @Override
+        public void execute(Runnable command)
+        {
+            if (!shutdown)
+            {
+                pending.add(command);
+            }
+        }
+
+        @Override
+        public void shutdown()
+        {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow()
+        {
+            shutdown = true;
+            final List<Runnable> out = new ArrayList<>(pending);
+            pending.clear();
+            return out;
+        }
+
+        @Override
+        public boolean isShutdown()
+        {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated()
+        {
+            return shutdown;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit)
+        {
+            return true;
+        }
+    }
+
+    private static Map<String, String> options(String[] args)
+    {
+        final Map<String, String> out = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++)
+        {
+            if (!args[i].startsWith("--") || i + 1 >= args.length)
+            {
+                throw new IllegalArgumentException("Expected --option value pairs, got '" + args[i] + "'");
+            }
+            out.put(args[i].substring(2), args[++i]);
+        }
+        return out;
+    }
+
+    private static void write(Path path, String content) throws IOException
+    {
+        if (path.toAbsolutePath().getParent() != null)
+        {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        try (Writer w = Files.newBufferedWriter(path, StandardCharsets.UTF_8))
+        {
+            w.write(content);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.ironpath.bench;
+
+import com.google.gson.GsonBuilder;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.service.EventRecorder;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.PluginMetrics;
+import com.ironpath.service.ProgressionPlanService;
+import com.ironpath.service.QuestRouteService;
+import com.ironpath.ui.IronmanPathPanel;
+import com.ironpath.ui.SpriteIconCache;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import net.runelite.client.callback.ClientThread;
+
+/**
+ * Startup cost and retained heap of the plugin's data and UI, as a JSON report. Run by the
+ * {@code footprint} Gradle task in a fresh JVM, so class loading is part of the first phases.
+ *
+ * <pre>FootprintReport [report.json]</pre>
+ *
+ * Each startup phase records wall time and the bytes allocated by every thread while it ran, which
+ * includes the background loaders and the EDT. Threads that exit during a phase are not counted.
+ * Retained sizes come from {@link RetainedSize}, walked in the order listed so shared objects (such as
+ * route steps referenced by the compiled spine) are counted once, under the first root that reaches them.
+ */
+public final class FootprintReport
+{
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final List<Map<String, Object>> phases = new ArrayList<>();
+
+    private FootprintReport()
+    {
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final Path out = Paths.get(args.length > 0 ? args[0] : "footprint.json");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        final long heapBefore = heapUsedAfterGc();
+        final FootprintReport r = new FootprintReport();
+
+        final BenchRoute route = r.phase("wireServices", BenchRoute::unloaded);
+        final QuestRouteService routeService = route.getRouteService();
+        r.phase("loadRouteData", () -> routeService.load(ForkJoinPool.commonPool()).join());
+        if (routeService.getSpine().isEmpty())
+        {
+            throw new IllegalStateException("Route did not load");
+        }
+
+        final CompiledSpine spine = routeService.getCompiledSpine();
+        route.advanceTo(BenchRoute.Stage.MID);
+        final ProgressionPlanService planService = r.phase("planServiceFirstPlan", () ->
+        {
+            final ProgressionPlanService p = new ProgressionPlanService(route.getQuestDatabase(), route.getCompletionService());
+            final List<SpineStepView> views = p.buildNextStepViews(spine,
+                route.getStub().snapshot(1, routeService.getDependencyIndex()), PlanPipeline.PLAN_STEPS);
+            if (views.isEmpty())
+            {
+                throw new IllegalStateException("Empty first plan");
+            }
+            return p;
+        });
+
+        final PluginMetrics metrics = new PluginMetrics();
+        final PlanPipeline pipeline = new PlanPipeline(route.getStub().client(), route.getStatusService(), routeService, planService,
+            metrics, new EventRecorder());
+        final IronmanPathPanel panel = r.phase("buildPanel", () -> onEdt(() ->
+            new IronmanPathPanel(pipeline, routeService, new ClientThread(), new SpriteIconCache(null, null, null), metrics)));
+
+        final long heapAfter = heapUsedAfterGc();
+
+        final RetainedSize heap = new RetainedSize();
+        final Map<String, Object> retained = new LinkedHashMap<>();
+        retained.put("questNameResolver", result(heap.measure(route.getNameResolver())));
+        retained.put("questMeta", result(heap.measure(field(route.getQuestDatabase(), "metaByQuest"))));
+        retained.put("spine", result(heap.measure(routeService.getSpine())));
+        retained.put("compiledSpine", result(heap.measure(spine)));
+        retained.put("dependencyIndex", result(heap.measure(routeService.getDependencyIndex())));
+        retained.put("skillThresholds", result(heap.measure(routeService.getSkillThresholds())));
+        retained.put("viewModels", result(heap.measure(planService.viewModels(spine))));
+        retained.put("planProgress", result(heap.measure(field(planService, "progress"))));
+
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("routeSteps", spine.size());
+        data.put("unverifiableSteps", spine.countUnverifiable());
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("data", data);
+        report.put("phases", r.phases);
+        report.put("retained", retained);
+        report.put("heapGrowthAfterGcBytes", heapAfter - heapBefore);
+
+        if (out.toAbsolutePath().getParent() != null)
+        {
+            Files.createDirectories(out.toAbsolutePath().getParent());
+        }
+        try (Writer w = Files.newBufferedWriter(out, StandardCharsets.UTF_8))
+        {
+            new GsonBuilder().setPrettyPrinting().create().toJson(report, w);
+        }
+        System.out.println("Wrote " + out);
+
+        // The panel counts towards the heap growth above; the EDT and its timer would keep the JVM alive.
+        Reference.reachabilityFence(panel);
+        System.exit(0);
+    }
+
+    private <T> T phase(String name, Supplier<T> work)
+    {
+        final long allocatedBefore = allocatedBytes();
+        final long start = System.nanoTime();
+        final T result = work.get();
+        final long wallNanos = System.nanoTime() - start;
+        final long allocated = allocatedBytes() - allocatedBefore;
+
+        final Map<String, Object> p = new LinkedHashMap<>();
+        p.put("name", name);
+        p.put("wallMillis", wallNanos / 1_000_000.0);
+        p.put("allocatedBytes", allocated);
+        phases.add(p);
+        return result;
+    }
+
+    private static Map<String, Object> result(RetainedSize.Result r)
+    {
+        final Map<String, Object> m = new LinkedHashMap<>();
+        m.put("bytes", r.bytes);
+        m.put("objects", r.objects);
+        return m;
+    }
+
+    /**
+     * Bytes allocated so far by all live threads.
+     */
+    private static long allocatedBytes()
+    {
+        long total = 0;
+        for (long b : THREADS.getThreadAllocatedBytes(THREADS.getAllThreadIds()))
+        {
+            if (b > 0)
+            {
+                total += b;
+            }
+        }
+        return total;
+    }
+
+    private static long heapUsedAfterGc()
+    {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Private state the services do not expose.
+     */
+    private static Object field(Object owner, String name)
+    {
+        try
+        {
+            final Field f = owner.getClass().getDeclaredField(name);
+            f.setAccessible(true);
+            return f.get(owner);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("No field " + name + " on " + owner.getClass().getName(), e);
+        }
+    }
+
+    private static <T> T onEdt(Supplier<T> work)
+    {
+        final List<T> result = new ArrayList<>(1);
+        try
+        {
+            SwingUtilities.invokeAndWait(() -> result.add(work.get()));
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Failed on the EDT", e);
+        }
+        return result.get(0);
+    }
+}
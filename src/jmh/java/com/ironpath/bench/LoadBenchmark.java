@@ -0,0 +1,123 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.QuestMeta;
+import com.ironpath.model.RouteStep;
+import com.ironpath.service.QuestDatabase;
+import com.ironpath.service.QuestNameResolver;
+import com.ironpath.service.QuestRouteService;
+import com.ironpath.service.RouteBundle;
+import com.ironpath.service.RouteJsonReader;
+import com.ironpath.service.StepCompletionService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Quest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Route and quest database loading. Resources are read into memory once so the parsers are measured
+ * without jar I/O.
+ *
+ * {@code routeServiceLoad} is the whole startup load: both files in one task, then spine compilation
+ * and indexing. The packaged bundle itself is read only once per JVM, so after the first call this
+ * measures everything but the bundle read; {@code bundleRead} covers that part.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark
+{
+    private static final RouteJsonReader.Problems IGNORE = new RouteJsonReader.Problems()
+    {
+        @Override
+        public void error(String where, String message)
+        {
+        }
+
+        @Override
+        public void warning(String where, String message)
+        {
+        }
+    };
+
+    private final QuestNameResolver nameResolver = new QuestNameResolver();
+
+    private byte[] bundle;
+    private byte[] routeJson;
+    private byte[] questDbJson;
+
+    @Setup
+    public void setUp()
+    {
+        bundle = resource(RouteBundle.RESOURCE);
+        routeJson = resource("/com/ironpath/wiki_route.json");
+        questDbJson = resource("/com/ironpath/quest_db.json");
+    }
+
+    @Benchmark
+    public RouteBundle bundleRead() throws IOException
+    {
+        return RouteBundle.read(new ByteArrayInputStream(bundle));
+    }
+
+    @Benchmark
+    public List<RouteStep> routeJson() throws IOException
+    {
+        return RouteJsonReader.readRoute(reader(routeJson), nameResolver, IGNORE);
+    }
+
+    @Benchmark
+    public Map<Quest, QuestMeta> questDbJson() throws IOException
+    {
+        return RouteJsonReader.readQuestDb(reader(questDbJson), nameResolver, IGNORE);
+    }
+
+    @Benchmark
+    public QuestRouteService routeServiceLoad()
+    {
+        final QuestDatabase db = new QuestDatabase(nameResolver);
+        final QuestRouteService routeService = new QuestRouteService(new StepCompletionService(), db, nameResolver);
+        routeService.load(ForkJoinPool.commonPool()).join();
+        return routeService;
+    }
+
+    private static InputStreamReader reader(byte[] bytes)
+    {
+        return new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] resource(String path)
+    {
+        try (InputStream in = LoadBenchmark.class.getResourceAsStream(path))
+        {
+            if (in == null)
+            {
+                throw new IllegalStateException("Missing resource " + path + "; run through the jmh Gradle task");
+            }
+            return in.readAllBytes();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
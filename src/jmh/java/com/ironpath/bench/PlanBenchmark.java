@@ -0,0 +1,68 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.ProgressionPlanService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ProgressionPlanService#buildNextStepViews} for early, mid and late accounts.
+ *
+ * {@code refresh} replans the same account, as every refresh after the first does; the remembered
+ * progress lets it start at the first unfinished step. {@code fromScratch} alternates between two
+ * account epochs so every call starts over, as after login or a world hop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanBenchmark
+{
+    @Param({"EARLY", "MID", "LATE"})
+    public BenchRoute.Stage stage;
+
+    private ProgressionPlanService planService;
+    private CompiledSpine spine;
+    private AccountSnapshot snapshot;
+    private AccountSnapshot otherEpoch;
+    private boolean flip;
+
+    @Setup
+    public void setUp()
+    {
+        final BenchRoute route = BenchRoute.load().advanceTo(stage);
+        planService = new ProgressionPlanService(route.getQuestDatabase(), route.getCompletionService());
+        spine = route.getSpine();
+        snapshot = route.getStub().snapshot(1, route.getRouteService().getDependencyIndex());
+        otherEpoch = route.getStub().snapshot(2, route.getRouteService().getDependencyIndex());
+    }
+
+    @Benchmark
+    public List<SpineStepView> refresh()
+    {
+        return planService.buildNextStepViews(spine, snapshot, PlanPipeline.PLAN_STEPS);
+    }
+
+    @Benchmark
+    public List<SpineStepView> fromScratch()
+    {
+        flip = !flip;
+        return planService.buildNextStepViews(spine, flip ? snapshot : otherEpoch, PlanPipeline.PLAN_STEPS);
+    }
+}
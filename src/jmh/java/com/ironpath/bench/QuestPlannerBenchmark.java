@@ -0,0 +1,85 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.PlanSnapshot;
+import com.ironpath.model.QuestEntry;
+import com.ironpath.service.QuestDatabase;
+import com.ironpath.service.QuestPlannerService;
+import com.ironpath.service.QuestStatusService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Quest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link QuestPlannerService#compute} over every quest on the route.
+ *
+ * The route has no prerequisite names of its own, so each entry lists the two quests before it, in
+ * display-name form, to exercise name resolution the way legacy quest lists did. {@code cached} reads
+ * journal states from the status cache; {@code afterInvalidate} drops it first, so every state is
+ * re-read through the quest status script.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestPlannerBenchmark
+{
+    @Param({"EARLY", "MID", "LATE"})
+    public BenchRoute.Stage stage;
+
+    private QuestPlannerService plannerService;
+    private QuestStatusService statusService;
+    private List<QuestEntry> entries;
+
+    @Setup
+    public void setUp()
+    {
+        final BenchRoute route = BenchRoute.load().advanceTo(stage);
+        statusService = route.getStatusService();
+        plannerService = new QuestPlannerService(route.getStub().client(), statusService, route.getNameResolver());
+
+        final QuestDatabase db = route.getQuestDatabase();
+        final CompiledSpine spine = route.getSpine();
+        final List<String> previous = new ArrayList<>();
+        entries = new ArrayList<>();
+        for (int i = 0; i < spine.size(); i++)
+        {
+            if (spine.getRuleId(i) != CompiledSpine.RULE_QUEST)
+            {
+                continue;
+            }
+
+            final Quest q = spine.getQuest(i);
+            final List<String> prereqs = previous.subList(Math.max(0, previous.size() - 2), previous.size());
+            entries.add(new QuestEntry(q, db.getWhy(q), null, db.getMinSkills(q), prereqs, db.getXpRewards(q), db.getTags(q)));
+            previous.add(q.getName());
+        }
+    }
+
+    @Benchmark
+    public PlanSnapshot cached()
+    {
+        return plannerService.compute(entries);
+    }
+
+    @Benchmark
+    public PlanSnapshot afterInvalidate()
+    {
+        statusService.invalidate();
+        return plannerService.compute(entries);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ironpath.bench;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import net.runelite.client.callback.ClientThread;
+
+/**
+ * {@link ClientThread} for event replay. Work queued by the replay thread runs when the driver drains
+ * it after each event, the way the client runs invokeLater work between frames.
+ *
+ * Work queued from any other thread is dropped and counted. In a replay that is only the sidebar's
+ * debounce timer, which fires on wall-clock time and would make runs differ.
+ */
+final class ReplayClientThread extends ClientThread
+{
+    private final Thread owner;
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private long dropped;
+
+    ReplayClientThread(Thread owner)
+    {
+        this.owner = owner;
+    }
+
+    @Override
+    public void invoke(Runnable r)
+    {
+        if (Thread.currentThread() == owner)
+        {
+            r.run();
+        }
+        else
+        {
+            drop();
+        }
+    }
+
+    @Override
+    public void invokeLater(Runnable r)
+    {
+        if (Thread.currentThread() == owner)
+        {
+            pending.add(r);
+        }
+        else
+        {
+            drop();
+        }
+    }
+
+    /**
+     * Run queued work, including work it queues in turn.
+     *
+     * @return whether anything ran
+     */
+    boolean drain()
+    {
+        boolean ran = false;
+        Runnable r;
+        while ((r = pending.poll()) != null)
+        {
+            r.run();
+            ran = true;
+        }
+        return ran;
+    }
+
+    private synchronized void drop()
+    {
+        dropped++;
+    }
+
+    synchronized long getDropped()
+    {
+        return dropped;
+    }
+}
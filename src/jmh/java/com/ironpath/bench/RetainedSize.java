@@ -0,0 +1,174 @@
+package com.ironpath.bench;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates how much heap an object graph holds by walking its instance fields reflectively.
+ *
+ * Sizes assume a 64-bit JVM with compressed oops and class pointers: 12-byte object headers, 16-byte
+ * array headers, 4-byte references and 8-byte alignment. That matches the default for heaps under
+ * 32 GB, which the client always runs with.
+ *
+ * Enum constants and {@link Class} objects are shared with the rest of the client and never counted.
+ * Objects reachable from several roots measured by the same instance are only counted for the first,
+ * so measuring roots in order gives each one's additional footprint.
+ */
+final class RetainedSize
+{
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Class<?>, List<Field>> fieldsByClass = new HashMap<>();
+    private final Map<Class<?>, Long> shallowByClass = new HashMap<>();
+
+    /**
+     * Bytes and object count of a measured root.
+     */
+    static final class Result
+    {
+        final long bytes;
+        final long objects;
+
+        private Result(long bytes, long objects)
+        {
+            this.bytes = bytes;
+            this.objects = objects;
+        }
+    }
+
+    /**
+     * Measure everything reachable from {@code root} that no earlier root already reached.
+     */
+    Result measure(Object root)
+    {
+        long bytes = 0;
+        long objects = 0;
+
+        final Deque<Object> pending = new ArrayDeque<>();
+        push(pending, root);
+        while (!pending.isEmpty())
+        {
+            final Object o = pending.pop();
+            final Class<?> type = o.getClass();
+            objects++;
+
+            if (type.isArray())
+            {
+                final Class<?> component = type.getComponentType();
+                final int length = Array.getLength(o);
+                bytes += align(ARRAY_HEADER + (long) length * sizeOf(component));
+                if (!component.isPrimitive())
+                {
+                    for (Object element : (Object[]) o)
+                    {
+                        push(pending, element);
+                    }
+                }
+                continue;
+            }
+
+            bytes += shallowSize(type);
+            for (Field f : referenceFields(type))
+            {
+                try
+                {
+                    push(pending, f.get(o));
+                }
+                catch (IllegalAccessException e)
+                {
+                    throw new IllegalStateException("Cannot read " + f, e);
+                }
+            }
+        }
+        return new Result(bytes, objects);
+    }
+
+    private void push(Deque<Object> pending, Object o)
+    {
+        if (o == null || o instanceof Enum || o instanceof Class || !seen.add(o))
+        {
+            return;
+        }
+        pending.push(o);
+    }
+
+    private long shallowSize(Class<?> type)
+    {
+        return shallowByClass.computeIfAbsent(type, t ->
+        {
+            long size = OBJECT_HEADER;
+            for (Class<?> c = t; c != null; c = c.getSuperclass())
+            {
+                for (Field f : c.getDeclaredFields())
+                {
+                    if (!Modifier.isStatic(f.getModifiers()))
+                    {
+                        size += sizeOf(f.getType());
+                    }
+                }
+            }
+            return align(size);
+        });
+    }
+
+    private List<Field> referenceFields(Class<?> type)
+    {
+        return fieldsByClass.computeIfAbsent(type, t ->
+        {
+            final List<Field> out = new ArrayList<>();
+            for (Class<?> c = t; c != null; c = c.getSuperclass())
+            {
+                for (Field f : c.getDeclaredFields())
+                {
+                    if (!Modifier.isStatic(f.getModifiers()) && !f.getType().isPrimitive())
+                    {
+                        // JDK internals need --add-opens; see the footprint Gradle task.
+                        f.setAccessible(true);
+                        out.add(f);
+                    }
+                }
+            }
+            return out;
+        });
+    }
+
+    private static int sizeOf(Class<?> type)
+    {
+        if (type == long.class || type == double.class)
+        {
+            return 8;
+        }
+        if (type == int.class || type == float.class)
+        {
+            return 4;
+        }
+        if (type == short.class || type == char.class)
+        {
+            return 2;
+        }
+        if (type == byte.class || type == boolean.class)
+        {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(long size)
+    {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
@@ -0,0 +1,257 @@
+package com.ironpath.bench;
+
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.SpineDependencyIndex;
+import com.ironpath.util.XpTable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+
+/**
+ * In-memory {@link Client} for benchmarks: game state, quest states, exact XP, varps and varbits.
+ *
+ * Only the calls the plugin's services make are answered; every other method returns its type's
+ * default. {@link Quest#getState(Client)} runs the quest status script and reads the int stack, so
+ * {@code runScript} looks the quest up by id and leaves its state code on the stack the same way.
+ */
+public final class StubClient implements InvocationHandler
+{
+    private static final Quest[] QUESTS = Quest.values();
+    private static final Skill[] SKILLS = Skill.values();
+
+    // Quest status script results: 2 finished, 1 not started, anything else in progress.
+    private static final int SCRIPT_FINISHED = 2;
+    private static final int SCRIPT_NOT_STARTED = 1;
+    private static final int SCRIPT_IN_PROGRESS = 0;
+
+    private static final Map<Integer, Quest> QUESTS_BY_ID = new HashMap<>();
+
+    static
+    {
+        for (Quest q : QUESTS)
+        {
+            QUESTS_BY_ID.put(q.getId(), q);
+        }
+    }
+
+    private final Client client;
+    private final QuestState[] questStates = new QuestState[QUESTS.length];
+    private final int[] xp = new int[SKILLS.length];
+    private final Map<Integer, Integer> varps = new HashMap<>();
+    private final Map<Integer, Integer> varbits = new HashMap<>();
+    private final int[] intStack = new int[1];
+    private GameState gameState = GameState.LOGGED_IN;
+
+    // Number of quest status script runs, i.e. uncached Quest.getState calls.
+    private long scriptRuns;
+
+    public StubClient()
+    {
+        Arrays.fill(questStates, QuestState.NOT_STARTED);
+        xp[Skill.HITPOINTS.ordinal()] = XpTable.xpForLevel(10);
+        client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class}, this);
+    }
+
+    public Client client()
+    {
+        return client;
+    }
+
+    public void setGameState(GameState gameState)
+    {
+        this.gameState = gameState;
+    }
+
+    public QuestState getQuestState(Quest quest)
+    {
+        return questStates[quest.ordinal()];
+    }
+
+    public void setQuestState(Quest quest, QuestState state)
+    {
+        questStates[quest.ordinal()] = state;
+    }
+
+    public int getXp(Skill skill)
+    {
+        return xp[skill.ordinal()];
+    }
+
+    public void setXp(Skill skill, int value)
+    {
+        xp[skill.ordinal()] = value;
+    }
+
+    /**
+     * Raise the skill to at least the given level; never lowers it.
+     */
+    public void raiseToLevel(Skill skill, int level)
+    {
+        xp[skill.ordinal()] = Math.max(xp[skill.ordinal()], XpTable.xpForLevel(level));
+    }
+
+    public void setVarp(int varpId, int value)
+    {
+        varps.put(varpId, value);
+    }
+
+    public void setVarbit(int varbitId, int value)
+    {
+        varbits.put(varbitId, value);
+    }
+
+    public long getScriptRuns()
+    {
+        return scriptRuns;
+    }
+
+    /**
+     * The same primitive copy {@code PlanPipeline} captures on the client thread, with every quest
+     * already read.
+     */
+    public AccountSnapshot snapshot(int accountEpoch, SpineDependencyIndex deps)
+    {
+        final byte[] states = new byte[QUESTS.length];
+        for (int i = 0; i < states.length; i++)
+        {
+            states[i] = (byte) questStates[i].ordinal();
+        }
+
+        final int[] varpIds = deps.getVarpIds();
+        final int[] varpValues = new int[varpIds.length];
+        for (int k = 0; k < varpIds.length; k++)
+        {
+            varpValues[k] = varps.getOrDefault(varpIds[k], 0);
+        }
+
+        final int[] varbitIds = deps.getVarbitIds();
+        final int[] varbitValues = new int[varbitIds.length];
+        for (int k = 0; k < varbitIds.length; k++)
+        {
+            varbitValues[k] = varbits.getOrDefault(varbitIds[k], 0);
+        }
+
+        return new AccountSnapshot(accountEpoch, states, xp.clone(), varpIds, varpValues, varbitIds, varbitValues);
+    }
+
+    private int realLevel(int skillOrdinal)
+    {
+        return Math.min(99, XpTable.levelForXp(xp[skillOrdinal]));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args)
+    {
+        switch (method.getName())
+        {
+            case "getGameState":
+                return gameState;
+            case "isClientThread":
+                return true;
+            case "getRealSkillLevel":
+            case "getBoostedSkillLevel":
+                return realLevel(((Skill) args[0]).ordinal());
+            case "getSkillExperience":
+                return xp[((Skill) args[0]).ordinal()];
+            case "getVarpValue":
+                if (args.length == 1 && args[0] instanceof Integer)
+                {
+                    return varps.getOrDefault((Integer) args[0], 0);
+                }
+                break;
+            case "getVarbitValue":
+                if (args.length == 1 && args[0] instanceof Integer)
+                {
+                    return varbits.getOrDefault((Integer) args[0], 0);
+                }
+                break;
+            case "runScript":
+                runScript((Object[]) args[0]);
+                return null;
+            case "getIntStack":
+                return intStack;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "StubClient";
+            default:
+                break;
+        }
+        return defaultValue(method.getReturnType());
+    }
+
+    private void runScript(Object[] script)
+    {
+        if (script.length < 2 || !(script[1] instanceof Integer))
+        {
+            return;
+        }
+
+        final Quest q = QUESTS_BY_ID.get(script[1]);
+        if (q == null)
+        {
+            return;
+        }
+
+        scriptRuns++;
+        switch (questStates[q.ordinal()])
+        {
+            case FINISHED:
+                intStack[0] = SCRIPT_FINISHED;
+                break;
+            case NOT_STARTED:
+                intStack[0] = SCRIPT_NOT_STARTED;
+                break;
+            default:
+                intStack[0] = SCRIPT_IN_PROGRESS;
+                break;
+        }
+    }
+
+    private static Object defaultValue(Class<?> type)
+    {
+        if (!type.isPrimitive() || type == void.class)
+        {
+            return null;
+        }
+        if (type == boolean.class)
+        {
+            return false;
+        }
+        if (type == long.class)
+        {
+            return 0L;
+        }
+        if (type == float.class)
+        {
+            return 0f;
+        }
+        if (type == double.class)
+        {
+            return 0d;
+        }
+        if (type == char.class)
+        {
+            return (char) 0;
+        }
+        if (type == byte.class)
+        {
+            return (byte) 0;
+        }
+        if (type == short.class)
+        {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
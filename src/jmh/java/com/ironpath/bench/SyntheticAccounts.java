@@ -0,0 +1,210 @@
+package com.ironpath.bench;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.service.QuestDatabase;
+import com.ironpath.service.QuestNameResolver;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+
+/**
+ * Account states for {@link StubClient}, read from fixture files or generated from a seed.
+ *
+ * A fixture is a JSON object; every field is optional and anything not listed is a fresh account:
+ *
+ * <pre>
+ * {
+ *   "quests":  { "Cook's Assistant": "FINISHED", "DRUIDIC_RITUAL": "IN_PROGRESS" },
+ *   "xp":      { "COOKING": 1250 },
+ *   "levels":  { "ATTACK": 40 },
+ *   "varps":   { "281": 1000 },
+ *   "varbits": { "4458": 1 }
+ * }
+ * </pre>
+ *
+ * Quests are matched by display or enum name like route rows are. Exact XP is applied before levels,
+ * which only ever raise a skill to the start of the level.
+ */
+public final class SyntheticAccounts
+{
+    private static final Skill[] SKILLS = Skill.values();
+
+    // Share of route quests before the account's cut that are done, and after it.
+    private static final double DONE_BEFORE_CUT = 0.92;
+    private static final double DONE_AFTER_CUT = 0.04;
+    private static final double STARTED = 0.05;
+    private static final double TRAINED_BEFORE_CUT = 0.85;
+    private static final double UNLOCKED_BEFORE_CUT = 0.7;
+
+    private SyntheticAccounts()
+    {
+    }
+
+    /**
+     * Generate an account around a stage of the route. The same spine, stage and seed always give the
+     * same account.
+     *
+     * Real accounts do not follow the route exactly, so progress is jittered around the stage, some
+     * quests before the account's cut are left undone or mid-way, a few past it are already done,
+     * TRAIN targets and diary unlocks are sometimes short, and every skill carries some XP from
+     * ordinary play on top.
+     */
+    public static StubClient random(CompiledSpine spine, QuestDatabase questDatabase, BenchRoute.Stage stage, long seed)
+    {
+        final Random rnd = new Random(seed);
+        final double progress = Math.max(0, Math.min(1, stage.getQuestsFinished() + rnd.nextGaussian() * 0.08));
+
+        int quests = 0;
+        for (int i = 0; i < spine.size(); i++)
+        {
+            if (spine.getRuleId(i) == CompiledSpine.RULE_QUEST)
+            {
+                quests++;
+            }
+        }
+        final int cut = (int) (quests * progress);
+
+        final StubClient account = new StubClient();
+        int seen = 0;
+        for (int i = 0; i < spine.size(); i++)
+        {
+            final boolean beforeCut = seen < cut;
+            switch (spine.getRuleId(i))
+            {
+                case CompiledSpine.RULE_QUEST:
+                {
+                    seen++;
+                    final Quest q = spine.getQuest(i);
+                    if (rnd.nextDouble() < (beforeCut ? DONE_BEFORE_CUT : DONE_AFTER_CUT))
+                    {
+                        account.setQuestState(q, QuestState.FINISHED);
+                        for (Map.Entry<Skill, Integer> reward : questDatabase.getXpRewards(q).entrySet())
+                        {
+                            account.setXp(reward.getKey(), account.getXp(reward.getKey()) + reward.getValue());
+                        }
+                    }
+                    else if (rnd.nextDouble() < STARTED)
+                    {
+                        account.setQuestState(q, QuestState.IN_PROGRESS);
+                    }
+                    break;
+                }
+                case CompiledSpine.RULE_LEVEL:
+                    if (beforeCut)
+                    {
+                        final int target = spine.getTargetLevel(i);
+                        account.raiseToLevel(spine.getSkill(i),
+                            rnd.nextDouble() < TRAINED_BEFORE_CUT ? target : Math.max(1, target - 1 - rnd.nextInt(5)));
+                    }
+                    break;
+                case CompiledSpine.RULE_VARP:
+                    if (beforeCut && rnd.nextDouble() < UNLOCKED_BEFORE_CUT)
+                    {
+                        account.setVarp(spine.getVarId(i), spine.getThreshold(i));
+                    }
+                    break;
+                case CompiledSpine.RULE_VARBIT:
+                    if (beforeCut && rnd.nextDouble() < UNLOCKED_BEFORE_CUT)
+                    {
+                        account.setVarbit(spine.getVarId(i), spine.getThreshold(i));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        for (Skill skill : SKILLS)
+        {
+            final long xp = account.getXp(skill);
+            account.setXp(skill, (int) Math.min(200_000_000L, xp + (long) (xp * 0.25 * rnd.nextDouble())));
+        }
+        return account;
+    }
+
+    /**
+     * Read a fixture; see the class comment for the format.
+     */
+    public static StubClient fromFixture(Reader reader, QuestNameResolver nameResolver) throws IOException
+    {
+        final Fixture f;
+        try
+        {
+            f = new Gson().fromJson(reader, Fixture.class);
+        }
+        catch (JsonParseException e)
+        {
+            throw new IOException("Malformed account fixture", e);
+        }
+
+        final StubClient account = new StubClient();
+        if (f == null)
+        {
+            return account;
+        }
+
+        if (f.quests != null)
+        {
+            for (Map.Entry<String, String> e : f.quests.entrySet())
+            {
+                final Quest q = nameResolver.resolveKey(e.getKey());
+                if (q == null)
+                {
+                    throw new IOException("Unknown quest '" + e.getKey() + "'");
+                }
+                account.setQuestState(q, parse(QuestState.class, e.getValue()));
+            }
+        }
+        if (f.xp != null)
+        {
+            for (Map.Entry<String, Integer> e : f.xp.entrySet())
+            {
+                account.setXp(parse(Skill.class, e.getKey()), e.getValue());
+            }
+        }
+        if (f.levels != null)
+        {
+            for (Map.Entry<String, Integer> e : f.levels.entrySet())
+            {
+                account.raiseToLevel(parse(Skill.class, e.getKey()), e.getValue());
+            }
+        }
+        if (f.varps != null)
+        {
+            f.varps.forEach(account::setVarp);
+        }
+        if (f.varbits != null)
+        {
+            f.varbits.forEach(account::setVarbit);
+        }
+        return account;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String raw) throws IOException
+    {
+        try
+        {
+            return Enum.valueOf(type, raw.trim().toUpperCase(Locale.ROOT).replace(' ', '_'));
+        }
+        catch (IllegalArgumentException | NullPointerException e)
+        {
+            throw new IOException("Unknown " + type.getSimpleName() + " '" + raw + "'");
+        }
+    }
+
+    private static final class Fixture
+    {
+        private Map<String, String> quests;
+        private Map<String, Integer> xp;
+        private Map<String, Integer> levels;
+        private Map<Integer, Integer> varps;
+        private Map<Integer, Integer> varbits;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ironpath.bench;
+
+import com.ironpath.util.XpTable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link XpTable} lookups over a fixed spread of XP values and levels, 1024 per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XpTableBenchmark
+{
+    private static final int SIZE = 1024;
+
+    private final int[] xp = new int[SIZE];
+    private final int[] levels = new int[SIZE];
+
+    @Setup
+    public void setUp()
+    {
+        final Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++)
+        {
+            // Skewed towards low XP, like most skills on a route account.
+            xp[i] = (int) (XpTable.xpForLevel(99) * Math.pow(random.nextDouble(), 3));
+            levels[i] = 1 + random.nextInt(99);
+        }
+    }
+
+    @Benchmark
+    public int levelForXp()
+    {
+        int sum = 0;
+        for (int x : xp)
+        {
+            sum += XpTable.levelForXp(x);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int xpForLevel()
+    {
+        int sum = 0;
+        for (int l : levels)
+        {
+            sum += XpTable.xpForLevel(l);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,322 @@
+package com.ironpath.ui;
+
+import com.ironpath.model.InfoPlanStep;
+import com.ironpath.model.PlanStep;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestEntry;
+import com.ironpath.model.QuestPlanStep;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.model.TrainPlanStep;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Image;
+import java.awt.Insets;
+import java.net.URL;
+import javax.imageio.ImageIO;
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.ImageIcon;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.util.LinkBrowser;
+
+/**
+ * The Swing-component sidebar cards {@link StepCard} replaced, kept as the baseline for
+ * {@code CardRenderBenchmark}: one panel per card with labels, text areas and a button for the pill.
+ *
+ * Built the way the plugin built them without a SpriteManager, so quest and miniquest cards show the
+ * bundled fallback icons. Lives in the ui package for the progress and label helpers on
+ * {@link PlanStepCard}.
+ */
+public final class LegacyCards
+{
+    private static final int PAD = 10;
+    private static final int ICON_SIZE = 16;
+
+    private static final ImageIcon QUEST_ICON = loadIcon("icons/quest.png");
+    private static final ImageIcon MINIQUEST_ICON = loadIcon("icons/miniquest.png");
+
+    private LegacyCards() {}
+
+    public static JPanel compact(SpineStepView view)
+    {
+        if (view == null)
+        {
+            return empty("Unknown step", -1, -1);
+        }
+
+        final PlanStep step = view.getStep();
+        final int spineIndex = view.getSpineIndex();
+        final int spineTotal = view.getSpineTotal();
+        if (step == null)
+        {
+            return empty("Unknown step", spineIndex, spineTotal);
+        }
+
+        if (step.getType() == PlanStepType.QUEST && step instanceof QuestPlanStep)
+        {
+            return quest(((QuestPlanStep) step).getEntry(), spineIndex, spineTotal);
+        }
+
+        if (step.getType() == PlanStepType.TRAIN && step instanceof TrainPlanStep)
+        {
+            return train((TrainPlanStep) step, spineIndex, spineTotal);
+        }
+
+        if (step instanceof InfoPlanStep)
+        {
+            return info((InfoPlanStep) step, spineIndex, spineTotal);
+        }
+
+        return empty(step.getType().name(), spineIndex, spineTotal);
+    }
+
+    private static JPanel quest(QuestEntry entry, int spineIndex, int spineTotal)
+    {
+        return questLikeCard(QUEST_ICON, entry.getQuestName(), spineIndex, spineTotal,
+            QuestCard.resolveWikiUrl(entry), entry.getShortWhy());
+    }
+
+    private static JPanel train(TrainPlanStep t, int spineIndex, int spineTotal)
+    {
+        final JPanel p = base();
+        p.add(buildHeader("Train " + t.getSkill().getName() + " to " + t.getToLevel(), spineIndex, spineTotal), BorderLayout.NORTH);
+        p.add(bodyArea(t.getReason()), BorderLayout.CENTER);
+        return p;
+    }
+
+    private static JPanel info(InfoPlanStep s, int spineIndex, int spineTotal)
+    {
+        if (s.getType() == PlanStepType.MINIQUEST)
+        {
+            final String title = s.getTitle() == null ? "Miniquest" : s.getTitle();
+            final String url = s.getWikiUrl() == null || s.getWikiUrl().trim().isEmpty() ? null : s.getWikiUrl().trim();
+            return questLikeCard(MINIQUEST_ICON, title, spineIndex, spineTotal, url, s.getDetail());
+        }
+
+        final JPanel p = base();
+        final String label = PlanStepCard.labelFor(s.getType());
+        final String title = s.getTitle() == null ? label : s.getTitle();
+        p.add(buildHeader(label + ": " + title, spineIndex, spineTotal), BorderLayout.NORTH);
+
+        final JTextArea body = bodyArea(s.getDetail());
+        body.setFont(FontManager.getRunescapeSmallFont());
+        body.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+        p.add(body, BorderLayout.CENTER);
+        return p;
+    }
+
+    private static JPanel empty(String title, int spineIndex, int spineTotal)
+    {
+        final JPanel p = base();
+        p.add(buildHeader(title, spineIndex, spineTotal), BorderLayout.NORTH);
+        return p;
+    }
+
+    /**
+     * Quest and miniquest layout: icon and title, then the step line with the Quest Guide pill when
+     * there is a URL, then the wrapped detail.
+     */
+    private static JPanel questLikeCard(ImageIcon icon, String titleText, int spineIndex, int spineTotal, String wikiUrl, String detail)
+    {
+        final JPanel card = new JPanel(new GridBagLayout());
+        card.setOpaque(true);
+        card.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        card.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(ColorScheme.DARK_GRAY_COLOR, 1, true),
+                BorderFactory.createEmptyBorder(PAD, PAD, PAD, PAD)
+        ));
+        card.setAlignmentX(Component.LEFT_ALIGNMENT);
+        card.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        final GridBagConstraints c = new GridBagConstraints();
+        c.gridx = 0;
+        c.gridy = 0;
+        c.gridwidth = 2;
+        c.weightx = 1;
+        c.fill = GridBagConstraints.HORIZONTAL;
+        c.anchor = GridBagConstraints.NORTHWEST;
+        c.insets = new Insets(0, 0, 0, 0);
+        card.add(iconTitleRow(icon, titleText), c);
+
+        c.gridwidth = 1;
+        c.gridy = 1;
+        c.insets = new Insets(2, 0, 0, 0);
+        final JLabel step = new JLabel(PlanStepCard.formatProgressLong(spineIndex, spineTotal));
+        step.setFont(step.getFont().deriveFont(Font.PLAIN, 10.5f));
+        step.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
+        card.add(step, c);
+
+        if (wikiUrl != null)
+        {
+            c.gridx = 1;
+            c.weightx = 0;
+            c.fill = GridBagConstraints.NONE;
+            c.anchor = GridBagConstraints.NORTHEAST;
+            card.add(wikiPill(wikiUrl), c);
+        }
+
+        if (detail != null && !detail.isBlank())
+        {
+            c.gridx = 0;
+            c.gridy = 2;
+            c.gridwidth = 2;
+            c.weightx = 1;
+            c.fill = GridBagConstraints.HORIZONTAL;
+            c.anchor = GridBagConstraints.NORTHWEST;
+            c.insets = new Insets(6, 0, 0, 0);
+            card.add(wrapTextFlush(detail, 11f, false), c);
+        }
+        return card;
+    }
+
+    private static JPanel iconTitleRow(ImageIcon icon, String titleText)
+    {
+        final JPanel row = new JPanel(new GridBagLayout());
+        row.setOpaque(false);
+
+        final GridBagConstraints r = new GridBagConstraints();
+        r.gridy = 0;
+        r.anchor = GridBagConstraints.NORTHWEST;
+        r.insets = new Insets(0, 0, 0, 6);
+
+        final JLabel iconLabel = new JLabel();
+        iconLabel.setOpaque(false);
+        iconLabel.setIcon(icon);
+        iconLabel.setBorder(BorderFactory.createEmptyBorder(-2, 0, 0, 0));
+        iconLabel.setPreferredSize(new Dimension(ICON_SIZE, ICON_SIZE));
+        iconLabel.setMinimumSize(new Dimension(ICON_SIZE, ICON_SIZE));
+        iconLabel.setMaximumSize(new Dimension(ICON_SIZE, ICON_SIZE));
+        r.gridx = 0;
+        r.weightx = 0;
+        row.add(iconLabel, r);
+
+        r.gridx = 1;
+        r.weightx = 1;
+        r.fill = GridBagConstraints.HORIZONTAL;
+        r.insets = new Insets(0, 0, 0, 0);
+        final JTextArea title = wrapTextFlush(titleText == null ? "" : titleText, 12f, true);
+        title.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0));
+        row.add(title, r);
+        return row;
+    }
+
+    private static JPanel wikiPill(String url)
+    {
+        final JButton b = new JButton("Quest Guide");
+        b.setFocusable(false);
+        b.setFont(FontManager.getRunescapeSmallFont());
+        b.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+        b.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        b.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(ColorScheme.MEDIUM_GRAY_COLOR, 1),
+                BorderFactory.createEmptyBorder(2, 6, 2, 6)
+        ));
+        b.addActionListener(e -> LinkBrowser.browse(url));
+
+        final JPanel wrap = new JPanel(new FlowLayout(FlowLayout.RIGHT, 0, 0));
+        wrap.setOpaque(false);
+        wrap.add(b);
+
+        final Dimension pref = wrap.getPreferredSize();
+        wrap.setMaximumSize(new Dimension(pref.width, pref.height));
+        return wrap;
+    }
+
+    private static JTextArea wrapTextFlush(String text, float fontSize, boolean bold)
+    {
+        final JTextArea area = new JTextArea(text == null ? "" : text);
+        area.setRows(1);
+        area.setOpaque(false);
+        area.setEditable(false);
+        area.setFocusable(false);
+        area.setLineWrap(true);
+        area.setWrapStyleWord(true);
+        area.setFont(new JLabel().getFont().deriveFont(bold ? Font.BOLD : Font.PLAIN, fontSize));
+        area.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+        area.setMargin(new Insets(0, 0, 0, 0));
+        area.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 8));
+        area.setColumns(1);
+        return area;
+    }
+
+    private static JPanel base()
+    {
+        final JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
+        panel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(1, 1, 1, 1, ColorScheme.DARK_GRAY_COLOR),
+                BorderFactory.createEmptyBorder(8, 8, 8, 8)
+        ));
+        panel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        return panel;
+    }
+
+    private static JPanel buildHeader(String leftTitle, int spineIndex, int spineTotal)
+    {
+        final JPanel header = new JPanel();
+        header.setOpaque(false);
+        header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
+
+        final JPanel row1 = new JPanel(new BorderLayout());
+        row1.setOpaque(false);
+
+        final JLabel title = new JLabel(leftTitle == null ? "" : leftTitle);
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        title.setFont(FontManager.getRunescapeSmallFont());
+        title.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+
+        final JLabel progress = new JLabel(PlanStepCard.formatProgressCompact(spineIndex, spineTotal));
+        progress.setFont(FontManager.getRunescapeSmallFont());
+        progress.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
+
+        row1.add(title, BorderLayout.WEST);
+        row1.add(progress, BorderLayout.EAST);
+        header.add(row1);
+
+        final JLabel stepLine = new JLabel(PlanStepCard.formatProgressLong(spineIndex, spineTotal));
+        stepLine.setFont(FontManager.getRunescapeSmallFont());
+        stepLine.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
+        stepLine.setAlignmentX(Component.LEFT_ALIGNMENT);
+        stepLine.setBorder(BorderFactory.createEmptyBorder(2, 0, 0, 0));
+        header.add(stepLine);
+        return header;
+    }
+
+    private static JTextArea bodyArea(String text)
+    {
+        final JTextArea ta = new JTextArea(text == null ? "" : text);
+        ta.setLineWrap(true);
+        ta.setWrapStyleWord(true);
+        ta.setEditable(false);
+        ta.setFocusable(false);
+        ta.setOpaque(false);
+        ta.setColumns(1);
+        ta.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 8));
+        ta.setAlignmentX(Component.LEFT_ALIGNMENT);
+        return ta;
+    }
+
+    private static ImageIcon loadIcon(String relPath)
+    {
+        try
+        {
+            final URL u = LegacyCards.class.getResource("/com/ironpath/ui/" + relPath);
+            final Image img = u == null ? null : ImageIO.read(u);
+            return img == null ? null : new ImageIcon(img.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH));
+        }
+        catch (Exception ignored)
+        {
+            return null;
+        }
+    }
+}
@@ -4,9 +4,11 @@ import net.runelite.client.config.Config;
 import net.runelite.client.config.ConfigGroup;
 import net.runelite.client.config.ConfigItem;
 
-@ConfigGroup("ironmanpath")
+@ConfigGroup(IronmanPathConfig.GROUP)
 public interface IronmanPathConfig extends Config
 {
+    String GROUP = "ironmanpath";
+
     @ConfigItem(
             keyName = "showActiveStepOverlay",
             name = "Show active step overlay",
@@ -16,4 +18,14 @@ public interface IronmanPathConfig extends Config
     {
         return false;
     }
+
+    @ConfigItem(
+            keyName = "showDebugMetrics",
+            name = "Show debug metrics",
+            description = "Record refresh, planning and rendering timings and show them in a section at the bottom of the sidebar. Intended for diagnosing lag reports."
+    )
+    default boolean showDebugMetrics()
+    {
+        return false;
+    }
 }
@@ -1,23 +1,38 @@
 package com.ironpath;
 
 import com.google.inject.Provides;
+import com.ironpath.model.SpineDependencyIndex;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.service.EventRecorder;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.PluginMetrics;
 import com.ironpath.service.QuestRouteService;
 import com.ironpath.service.ProgressionPlanService;
+import com.ironpath.service.QuestStatusService;
 import com.ironpath.overlay.ActiveStepOverlay;
 import com.ironpath.ui.IronmanPathPanel;
+import com.ironpath.ui.SpriteIconCache;
+import com.ironpath.ui.StepCard;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ScheduledExecutorService;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
+import net.runelite.api.Skill;
+import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.StatChanged;
 import net.runelite.api.events.VarbitChanged;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.config.ConfigManager;
 import net.runelite.client.events.ConfigChanged;
 import net.runelite.client.eventbus.Subscribe;
-import net.runelite.client.game.SpriteManager;
 import net.runelite.client.plugins.Plugin;
 import net.runelite.client.plugins.PluginDescriptor;
 import net.runelite.client.ui.ClientToolbar;
@@ -25,8 +40,6 @@ import net.runelite.client.ui.NavigationButton;
 import net.runelite.client.ui.overlay.OverlayManager;
 import net.runelite.client.util.ImageUtil;
 
-import javax.swing.SwingUtilities;
-
 @Slf4j
 @PluginDescriptor(
         name = "Optimal Quest Order",
@@ -38,10 +51,15 @@ public class IronmanPathPlugin extends Plugin
     @Inject private Client client;
     @Inject private ClientThread clientThread;
     @Inject private ClientToolbar clientToolbar;
-    @Inject private SpriteManager spriteManager;
+    @Inject private SpriteIconCache spriteIconCache;
 
     @Inject private QuestRouteService questRouteService;
     @Inject private ProgressionPlanService progressionPlanService;
+    @Inject private QuestStatusService questStatusService;
+    @Inject private PlanPipeline planPipeline;
+    @Inject private PluginMetrics metrics;
+    @Inject private EventRecorder recorder;
+    @Inject private ScheduledExecutorService executor;
 
     @Inject private OverlayManager overlayManager;
     @Inject private ActiveStepOverlay activeStepOverlay;
@@ -55,10 +73,13 @@ public class IronmanPathPlugin extends Plugin
     private int refreshInTicks = 0;
 
     // Varbits can change extremely frequently (run energy, timers, etc.).
-    // Mark the panel as dirty and refresh at a low, human-friendly rate.
+    // Only ids in the spine dependency index mark the panel dirty, and refreshes run at a low, human-friendly rate.
     private boolean panelDirty = false;
     private int varbitRefreshCooldownTicks = 0;
 
+    // Last real level seen per Skill ordinal (0 = unknown), so XP drops within a level are ignored.
+    private final int[] knownLevels = new int[Skill.values().length];
+
     @Provides
     IronmanPathConfig provideConfig(ConfigManager configManager)
     {
@@ -68,7 +89,25 @@ public class IronmanPathPlugin extends Plugin
     @Override
     protected void startUp()
     {
-        panel = new IronmanPathPanel(questRouteService, progressionPlanService, clientThread, spriteManager);
+        // The services are singletons and outlive a disable/enable, during which the account may have
+        // changed. Queued ahead of the first plan request below.
+        clientThread.invokeLater(() ->
+        {
+            questStatusService.invalidate();
+            planPipeline.resetAccount();
+            seedKnownLevels();
+        });
+
+        planPipeline.setListener(this::onPlanComputed);
+        planPipeline.start();
+
+        panel = new IronmanPathPanel(planPipeline, questRouteService, clientThread, spriteIconCache, metrics);
+        panel.showLoading();
+        applyMetricsConfig();
+        if (EventRecorder.isEnabled())
+        {
+            startRecording();
+        }
 
         final BufferedImage icon = ImageUtil.loadImageResource(getClass(), "/com/ironpath/icon.png");
 
@@ -83,12 +122,23 @@ public class IronmanPathPlugin extends Plugin
 
         // Overlay in the game view (toggled via config).
         overlayManager.add(activeStepOverlay);
+
+        // Route and quest data load in the background; plans are not requested until they are ready.
+        questRouteService.load(executor).thenRun(() -> clientThread.invokeLater(() ->
+        {
+            if (panel != null)
+            {
+                onPlanInvalidated();
+            }
+        }));
         log.info("Ironman Path started");
     }
 
     @Override
     protected void shutDown()
     {
+        recorder.stop();
+
         if (overlayManager != null && activeStepOverlay != null)
         {
             overlayManager.remove(activeStepOverlay);
@@ -99,6 +149,17 @@ public class IronmanPathPlugin extends Plugin
             clientToolbar.removeNavigation(navButton);
             navButton = null;
         }
+        planPipeline.stop();
+        planPipeline.setListener(null);
+        planPipeline.setRouteListener(null);
+        planPipeline.setRouteTracking(false);
+        metrics.setEnabled(false);
+        metrics.reset();
+        if (panel != null)
+        {
+            // Stops the section's update timer.
+            panel.setMetricsVisible(false);
+        }
         panel = null;
         log.info("Ironman Path stopped");
     }
@@ -106,6 +167,26 @@ public class IronmanPathPlugin extends Plugin
     @Subscribe
     public void onGameStateChanged(GameStateChanged event)
     {
+        final GameState state = event.getGameState();
+        recorder.gameStateChanged(state);
+
+        if (state == GameState.LOGGED_IN || state == GameState.LOGIN_SCREEN || state == GameState.HOPPING)
+        {
+            // Quest journal may belong to a different account (or world state) after these transitions.
+            questStatusService.invalidate();
+        }
+
+        if (state == GameState.LOGIN_SCREEN)
+        {
+            // Completion is only monotonic within one account.
+            planPipeline.resetAccount();
+        }
+        else if (state == GameState.HOPPING)
+        {
+            // A plan computed before the hop must not re-show the overlay.
+            planPipeline.cancel();
+        }
+
         if (panel == null)
         {
             return;
@@ -117,21 +198,31 @@ public class IronmanPathPlugin extends Plugin
             refreshInTicks = 2;
             panelDirty = false;
             varbitRefreshCooldownTicks = 0;
+            activeStepOverlay.setActiveStep(null);
             panel.showLoading();
             return;
         }
 
+        if (event.getGameState() == GameState.LOGIN_SCREEN)
+        {
+            // Next login may be a different account.
+            Arrays.fill(knownLevels, 0);
+        }
+
         if (event.getGameState() == GameState.LOGIN_SCREEN || event.getGameState() == GameState.HOPPING)
         {
             refreshInTicks = 0;
             panelDirty = false;
             varbitRefreshCooldownTicks = 0;
+            activeStepOverlay.setActiveStep(null);
         }
     }
 
     @Subscribe
     public void onGameTick(GameTick tick)
     {
+        recorder.gameTick();
+
         if (panel == null)
         {
             return;
@@ -142,7 +233,7 @@ public class IronmanPathPlugin extends Plugin
             refreshInTicks--;
             if (refreshInTicks == 0)
             {
-                requestRefreshIfPanelShowing();
+                onPlanInvalidated();
             }
         }
 
@@ -157,44 +248,186 @@ public class IronmanPathPlugin extends Plugin
             panelDirty = false;
             // ~1.8s at 0.6s per tick. Keeps UI responsive without constant rebuilds.
             varbitRefreshCooldownTicks = 3;
-            requestRefreshIfPanelShowing();
+            onPlanInvalidated();
         }
     }
 
     @Subscribe
     public void onVarbitChanged(VarbitChanged event)
     {
+        recorder.varbitChanged(event.getVarpId(), event.getVarbitId(), event.getValue());
+
+        // Only ids some spine step reads are relevant. Run energy, timers, prayer etc. are dropped here.
+        final SpineDependencyIndex deps = questRouteService.getDependencyIndex();
+        final int lowest = event.getVarbitId() != -1
+                ? deps.lowestVarbitDependent(event.getVarbitId())
+                : deps.lowestVarpDependent(event.getVarpId());
+        if (lowest < 0)
+        {
+            return;
+        }
+
+        if (event.getVarbitId() == -1 && event.getVarpId() == QuestStatusService.QUEST_POINTS_VARP)
+        {
+            questStatusService.invalidate();
+        }
+
         if (panel == null)
         {
             return;
         }
 
-        // Varbits change very frequently. Mark dirty and refresh on a short tick-based cadence.
+        // Steps past the deepest index any current plan examined cannot change what is shown.
+        if (!progressionPlanService.affectsBuiltPlans(lowest))
+        {
+            return;
+        }
+
+        // Relevant varbits can still change in bursts. Mark dirty and refresh on a short tick-based cadence.
         // This avoids constant panel rebuilds (and prevents icon flicker).
         panelDirty = true;
     }
 
+    @Subscribe
+    public void onStatChanged(StatChanged event)
+    {
+        final Skill skill = event.getSkill();
+        if (skill == null)
+        {
+            return;
+        }
+        recorder.statChanged(skill, event.getXp(), event.getLevel(), event.getBoostedLevel());
+
+        // Real level only; boosts are irrelevant to the plan.
+        final int level = event.getLevel();
+        final int previous = knownLevels[skill.ordinal()];
+        knownLevels[skill.ordinal()] = level;
+        if (previous == 0)
+        {
+            // First event for this skill since the login screen: the burst sent at login. It only seeds
+            // the level; the plan requested after login already reads the account as it is.
+            return;
+        }
+
+        boolean relevant = false;
+        if (level != previous)
+        {
+            final int lowest = questRouteService.getSkillThresholds().lowestCrossed(skill, previous, level);
+            relevant = lowest >= 0 && progressionPlanService.affectsBuiltPlans(lowest);
+        }
+
+        // XP inside a level only matters when, with later quest rewards projected on top, it moves a
+        // TRAIN step's projected level.
+        if (!relevant)
+        {
+            relevant = progressionPlanService.isXpSignificant(skill, event.getXp());
+        }
+
+        if (relevant && panel != null)
+        {
+            panelDirty = true;
+        }
+    }
+
+    @Subscribe
+    public void onChatMessage(ChatMessage event)
+    {
+        if (event.getType() != ChatMessageType.GAMEMESSAGE)
+        {
+            return;
+        }
+        recorder.chatMessage(event.getMessage());
+
+        // "Congratulations, you've completed a quest: ..." (also sent for miniquests).
+        final String msg = event.getMessage() == null ? "" : event.getMessage().toLowerCase(Locale.ROOT);
+        if (msg.contains("completed a quest") || msg.contains("completed a miniquest"))
+        {
+            questStatusService.invalidate();
+            panelDirty = true;
+        }
+    }
+
     @Subscribe
     public void onConfigChanged(ConfigChanged event)
     {
+        final boolean ownGroup = IronmanPathConfig.GROUP.equals(event.getGroup());
+        recorder.configChanged(event.getGroup(), event.getKey(), event.getNewValue(), ownGroup);
+
         if (panel == null)
         {
             return;
         }
 
-        requestRefreshIfPanelShowing();
+        if (ownGroup && "showDebugMetrics".equals(event.getKey()))
+        {
+            applyMetricsConfig();
+            return;
+        }
+
+        // Config changes arrive off the client thread; the overlay may have just been toggled on.
+        clientThread.invokeLater(this::onPlanInvalidated);
     }
 
-    private void requestRefreshIfPanelShowing()
+    /**
+     * Client thread. Take the current levels when already logged in, since the login burst of
+     * StatChanged that would otherwise seed them has been missed; otherwise wait for that burst.
+     */
+    private void seedKnownLevels()
     {
-        // Only rebuild the sidebar when it's actually visible.
-        // This prevents background varbit churn from constantly recreating cards.
-        SwingUtilities.invokeLater(() ->
+        final boolean loggedIn = client.getGameState() == GameState.LOGGED_IN;
+        for (Skill skill : Skill.values())
         {
-            if (panel != null && panel.isShowing())
-            {
-                panel.requestRefresh();
-            }
-        });
+            knownLevels[skill.ordinal()] = loggedIn ? client.getRealSkillLevel(skill) : 0;
+        }
+    }
+
+    private void startRecording()
+    {
+        recorder.start(client.getGameState());
+        // Quest states cached before the log started were never captured; make the next plan re-read them.
+        clientThread.invokeLater(questStatusService::invalidate);
+    }
+
+    private void applyMetricsConfig()
+    {
+        final boolean enabled = config.showDebugMetrics();
+        metrics.setEnabled(enabled);
+
+        final IronmanPathPanel p = panel;
+        if (p != null)
+        {
+            p.setMetricsVisible(enabled);
+        }
+    }
+
+    /**
+     * Client thread only. Rebuild every consumer of the plan after an invalidation. The build itself runs
+     * on the planner thread; both the overlay and the sidebar are fed from its single result.
+     */
+    private void onPlanInvalidated()
+    {
+        if (client.getGameState() != GameState.LOGGED_IN)
+        {
+            activeStepOverlay.setActiveStep(null);
+            return;
+        }
+
+        planPipeline.request();
+    }
+
+    /**
+     * Planner thread. The overlay takes the first step; the sidebar renders the list if it is visible
+     * and catches up on activation otherwise.
+     */
+    private void onPlanComputed(List<SpineStepView> next)
+    {
+        spriteIconCache.prefetch(next, StepCard.ICON_SIZE);
+        activeStepOverlay.setActiveStep(config.showActiveStepOverlay() && !next.isEmpty() ? next.get(0) : null);
+
+        final IronmanPathPanel p = panel;
+        if (p != null)
+        {
+            p.showSteps(next);
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.ironpath.model;
+
+import java.util.Arrays;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+
+/**
+ * Immutable primitive copy of the account state the planner reads.
+ *
+ * Captured on the client thread (quest journal states, exact XP and the varps/varbits in the spine
+ * dependency index) so the plan itself can be computed anywhere without touching the client. Quest
+ * states are only captured for the quests a build can reach; see {@code PlanPipeline}. Arrays are owned
+ * by the snapshot and must not be modified after construction.
+ */
+public final class AccountSnapshot
+{
+    private static final QuestState[] QUEST_STATES = QuestState.values();
+
+    private final int accountEpoch;
+
+    // Indexed by Quest ordinal; QuestState ordinal, or -1 when not captured.
+    private final byte[] questStates;
+
+    // Indexed by Skill ordinal.
+    private final int[] skillXp;
+
+    // Sorted ids with parallel values.
+    private final int[] varpIds;
+    private final int[] varpValues;
+    private final int[] varbitIds;
+    private final int[] varbitValues;
+
+    /**
+     * @param accountEpoch changes whenever the logged-in account may have changed
+     */
+    public AccountSnapshot(int accountEpoch, byte[] questStates, int[] skillXp,
+                           int[] varpIds, int[] varpValues, int[] varbitIds, int[] varbitValues)
+    {
+        this.accountEpoch = accountEpoch;
+        this.questStates = questStates;
+        this.skillXp = skillXp;
+        this.varpIds = varpIds;
+        this.varpValues = varpValues;
+        this.varbitIds = varbitIds;
+        this.varbitValues = varbitValues;
+    }
+
+    public int getAccountEpoch()
+    {
+        return accountEpoch;
+    }
+
+    public QuestState getQuestState(Quest quest)
+    {
+        if (quest == null || quest.ordinal() >= questStates.length)
+        {
+            return QuestState.NOT_STARTED;
+        }
+        final int s = questStates[quest.ordinal()];
+        return s < 0 ? QuestState.NOT_STARTED : QUEST_STATES[s];
+    }
+
+    public int getSkillXp(int skillOrdinal)
+    {
+        return skillXp[skillOrdinal];
+    }
+
+    /**
+     * Captured varp value, or 0 if the varp was not captured.
+     */
+    public int getVarp(int varpId)
+    {
+        final int k = Arrays.binarySearch(varpIds, varpId);
+        return k < 0 ? 0 : varpValues[k];
+    }
+
+    /**
+     * Captured varbit value, or 0 if the varbit was not captured.
+     */
+    public int getVarbit(int varbitId)
+    {
+        final int k = Arrays.binarySearch(varbitIds, varbitId);
+        return k < 0 ? 0 : varbitValues[k];
+    }
+}
@@ -0,0 +1,204 @@
+package com.ironpath.model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+/**
+ * Immutable, struct-of-arrays form of the route spine.
+ *
+ * Built once when the spine is loaded. The planner scans these parallel primitive arrays instead of
+ * re-inspecting {@link RouteStep} objects (boxed levels, per-step maps/sets) on every refresh.
+ * The source {@link RouteStep} list is kept alongside for display text.
+ *
+ * Missing values are stored as -1 (ordinals) or 0 (target level).
+ */
+public final class CompiledSpine
+{
+    /** Not verifiable from client state; always shown. */
+    public static final int RULE_NONE = 0;
+    /** Complete once the quest journal reports FINISHED. */
+    public static final int RULE_QUEST = 1;
+    /** Complete once the real skill level reaches the target level. */
+    public static final int RULE_LEVEL = 2;
+    /** Complete once the varp at {@link #getVarId(int)} reaches {@link #getThreshold(int)}. */
+    public static final int RULE_VARP = 3;
+    /** Complete once the varbit at {@link #getVarId(int)} reaches {@link #getThreshold(int)}. */
+    public static final int RULE_VARBIT = 4;
+
+    private static final PlanStepType[] TYPES = PlanStepType.values();
+    private static final Quest[] QUESTS = Quest.values();
+    private static final Skill[] SKILLS = Skill.values();
+
+    public static final CompiledSpine EMPTY = compile(List.of());
+
+    private final List<RouteStep> steps;
+    private final int size;
+
+    private final int[] typeOrdinal;
+    private final int[] questOrdinal;
+    private final int[] skillOrdinal;
+    private final int[] targetLevel;
+    private final int[] ruleId;
+    private final int[] varId;
+    private final int[] threshold;
+
+    private CompiledSpine(List<RouteStep> steps)
+    {
+        this.steps = steps;
+        this.size = steps.size();
+        this.typeOrdinal = new int[size];
+        this.questOrdinal = new int[size];
+        this.skillOrdinal = new int[size];
+        this.targetLevel = new int[size];
+        this.ruleId = new int[size];
+        this.varId = new int[size];
+        this.threshold = new int[size];
+    }
+
+    public static CompiledSpine compile(List<RouteStep> steps)
+    {
+        return compile(steps, s -> CompletionCheck.NEVER);
+    }
+
+    /**
+     * @param checks resolves the completion predicate for steps that are neither quests nor training gates
+     */
+    public static CompiledSpine compile(List<RouteStep> steps, Function<RouteStep, CompletionCheck> checks)
+    {
+        final List<RouteStep> src = steps == null ? List.of() : Collections.unmodifiableList(steps);
+        final CompiledSpine c = new CompiledSpine(src);
+
+        for (int i = 0; i < c.size; i++)
+        {
+            final RouteStep s = src.get(i);
+            final PlanStepType type = s == null ? null : s.getType();
+
+            c.typeOrdinal[i] = type == null ? -1 : type.ordinal();
+            c.questOrdinal[i] = s == null || s.getQuest() == null ? -1 : s.getQuest().ordinal();
+            c.skillOrdinal[i] = s == null || s.getSkill() == null ? -1 : s.getSkill().ordinal();
+            c.targetLevel[i] = s == null || s.getToLevel() == null ? 0 : s.getToLevel();
+            c.varId[i] = -1;
+
+            if (type == null)
+            {
+                c.ruleId[i] = RULE_NONE;
+            }
+            else if (type == PlanStepType.QUEST && c.questOrdinal[i] >= 0)
+            {
+                c.ruleId[i] = RULE_QUEST;
+            }
+            else if (type == PlanStepType.TRAIN && c.skillOrdinal[i] >= 0 && c.targetLevel[i] > 0)
+            {
+                c.ruleId[i] = RULE_LEVEL;
+            }
+            else
+            {
+                final CompletionCheck check = checks.apply(s);
+                if (check != null && check.getKind() == CompletionCheck.Kind.VARP)
+                {
+                    c.ruleId[i] = RULE_VARP;
+                }
+                else if (check != null && check.getKind() == CompletionCheck.Kind.VARBIT)
+                {
+                    c.ruleId[i] = RULE_VARBIT;
+                }
+                else
+                {
+                    c.ruleId[i] = RULE_NONE;
+                    continue;
+                }
+                c.varId[i] = check.getId();
+                c.threshold[i] = check.getThreshold();
+            }
+        }
+
+        return c;
+    }
+
+    public List<RouteStep> getSteps()
+    {
+        return steps;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public RouteStep getStep(int index)
+    {
+        return steps.get(index);
+    }
+
+    public PlanStepType getType(int index)
+    {
+        final int o = typeOrdinal[index];
+        return o < 0 ? null : TYPES[o];
+    }
+
+    public int getTypeOrdinal(int index)
+    {
+        return typeOrdinal[index];
+    }
+
+    public Quest getQuest(int index)
+    {
+        final int o = questOrdinal[index];
+        return o < 0 ? null : QUESTS[o];
+    }
+
+    public int getQuestOrdinal(int index)
+    {
+        return questOrdinal[index];
+    }
+
+    public Skill getSkill(int index)
+    {
+        final int o = skillOrdinal[index];
+        return o < 0 ? null : SKILLS[o];
+    }
+
+    public int getSkillOrdinal(int index)
+    {
+        return skillOrdinal[index];
+    }
+
+    public int getTargetLevel(int index)
+    {
+        return targetLevel[index];
+    }
+
+    public int getRuleId(int index)
+    {
+        return ruleId[index];
+    }
+
+    public int getVarId(int index)
+    {
+        return varId[index];
+    }
+
+    public int getThreshold(int index)
+    {
+        return threshold[index];
+    }
+
+    /**
+     * Number of steps that can never be verified from client state and are always shown until passed.
+     */
+    public int countUnverifiable()
+    {
+        int n = 0;
+        for (int i = 0; i < size; i++)
+        {
+            if (ruleId[i] == RULE_NONE)
+            {
+                n++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,60 @@
+package com.ironpath.model;
+
+/**
+ * A pre-resolved completion predicate for a non-quest route step.
+ *
+ * Resolved once at spine load, so runtime evaluation is a single varp/varbit read compared
+ * against {@link #getThreshold()}. Steps that cannot be verified from client state use {@link #NEVER}.
+ */
+public final class CompletionCheck
+{
+    public enum Kind
+    {
+        NEVER,
+        VARP,
+        VARBIT
+    }
+
+    public static final CompletionCheck NEVER = new CompletionCheck(Kind.NEVER, -1, 0);
+
+    private final Kind kind;
+    private final int id;
+    private final int threshold;
+
+    private CompletionCheck(Kind kind, int id, int threshold)
+    {
+        this.kind = kind;
+        this.id = id;
+        this.threshold = threshold;
+    }
+
+    public static CompletionCheck varp(int varpId, int threshold)
+    {
+        return new CompletionCheck(Kind.VARP, varpId, threshold);
+    }
+
+    public static CompletionCheck varbit(int varbitId, int threshold)
+    {
+        return new CompletionCheck(Kind.VARBIT, varbitId, threshold);
+    }
+
+    public Kind getKind()
+    {
+        return kind;
+    }
+
+    public int getId()
+    {
+        return id;
+    }
+
+    public int getThreshold()
+    {
+        return threshold;
+    }
+
+    public boolean isVerifiable()
+    {
+        return kind != Kind.NEVER;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ironpath.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import net.runelite.api.Skill;
+
+/**
+ * Facts about one quest from the quest database: readiness gates, XP rewards, tags and a "why" blurb.
+ */
+public final class QuestMeta
+{
+    private final Map<Skill, Integer> minSkills;
+    private final Map<Skill, Integer> xpRewards;
+    private final Set<String> tags;
+    private final String why;
+
+    public QuestMeta(Map<Skill, Integer> minSkills, Map<Skill, Integer> xpRewards, Set<String> tags, String why)
+    {
+        this.minSkills = minSkills == null ? Map.of() : Collections.unmodifiableMap(minSkills);
+        this.xpRewards = xpRewards == null ? Map.of() : Collections.unmodifiableMap(xpRewards);
+        this.tags = tags == null ? Set.of() : Collections.unmodifiableSet(tags);
+        this.why = why;
+    }
+
+    public Map<Skill, Integer> getMinSkills()
+    {
+        return minSkills;
+    }
+
+    public Map<Skill, Integer> getXpRewards()
+    {
+        return xpRewards;
+    }
+
+    public Set<String> getTags()
+    {
+        return tags;
+    }
+
+    public String getWhy()
+    {
+        return why;
+    }
+}
@@ -0,0 +1,133 @@
+package com.ironpath.model;
+
+import java.util.Map;
+import java.util.TreeMap;
+import net.runelite.api.Skill;
+
+/**
+ * Per-skill sorted index of the levels some spine step depends on.
+ *
+ * Covers TRAIN target levels, the only levels the planner compares real levels against. A real level
+ * change only matters to the plan when it crosses one of these thresholds; XP drops inside a level
+ * never do.
+ */
+public final class SkillThresholdIndex
+{
+    private static final int[] NONE = new int[0];
+    private static final int SKILL_COUNT = Skill.values().length;
+
+    // Indexed by Skill ordinal. thresholds[s] is sorted ascending; lowestIndex[s][k] is the
+    // lowest spine index that depends on thresholds[s][k].
+    private final int[][] thresholds = new int[SKILL_COUNT][];
+    private final int[][] lowestIndex = new int[SKILL_COUNT][];
+
+    private SkillThresholdIndex()
+    {
+    }
+
+    public static SkillThresholdIndex build(CompiledSpine spine)
+    {
+        final SkillThresholdIndex idx = new SkillThresholdIndex();
+
+        // level -> lowest spine index, per skill
+        final Map<Integer, Integer>[] bySkill = newMaps();
+
+        for (int i = 0; i < spine.size(); i++)
+        {
+            if (spine.getRuleId(i) == CompiledSpine.RULE_LEVEL)
+            {
+                bySkill[spine.getSkillOrdinal(i)].putIfAbsent(spine.getTargetLevel(i), i);
+            }
+        }
+
+        for (int s = 0; s < SKILL_COUNT; s++)
+        {
+            final Map<Integer, Integer> m = bySkill[s];
+            if (m.isEmpty())
+            {
+                idx.thresholds[s] = NONE;
+                idx.lowestIndex[s] = NONE;
+                continue;
+            }
+
+            final int[] t = new int[m.size()];
+            final int[] low = new int[m.size()];
+            int k = 0;
+            for (Map.Entry<Integer, Integer> en : m.entrySet())
+            {
+                t[k] = en.getKey();
+                low[k] = en.getValue();
+                k++;
+            }
+            idx.thresholds[s] = t;
+            idx.lowestIndex[s] = low;
+        }
+
+        return idx;
+    }
+
+    /**
+     * Sorted threshold levels for a skill.
+     */
+    public int[] getThresholds(Skill skill)
+    {
+        return thresholds[skill.ordinal()].clone();
+    }
+
+    /**
+     * Lowest spine index depending on a threshold crossed by moving between the two levels,
+     * or -1 if no threshold lies in (min(from, to), max(from, to)].
+     */
+    public int lowestCrossed(Skill skill, int fromLevel, int toLevel)
+    {
+        if (skill == null || fromLevel == toLevel)
+        {
+            return -1;
+        }
+
+        final int lo = Math.min(fromLevel, toLevel);
+        final int hi = Math.max(fromLevel, toLevel);
+        final int[] t = thresholds[skill.ordinal()];
+        final int[] low = lowestIndex[skill.ordinal()];
+
+        int best = -1;
+        for (int k = firstAbove(t, lo); k < t.length && t[k] <= hi; k++)
+        {
+            if (best < 0 || low[k] < best)
+            {
+                best = low[k];
+            }
+        }
+        return best;
+    }
+
+    private static int firstAbove(int[] sorted, int value)
+    {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi)
+        {
+            final int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value)
+            {
+                lo = mid + 1;
+            }
+            else
+            {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, Integer>[] newMaps()
+    {
+        final Map<Integer, Integer>[] maps = new Map[SKILL_COUNT];
+        for (int s = 0; s < SKILL_COUNT; s++)
+        {
+            maps[s] = new TreeMap<>();
+        }
+        return maps;
+    }
+}
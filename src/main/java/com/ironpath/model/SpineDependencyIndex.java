@@ -0,0 +1,149 @@
+package com.ironpath.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps every varp/varbit id the plan reads to the spine indices that read it.
+ *
+ * Built once at spine load from the {@link CompiledSpine} rules. Lookups are binary searches over
+ * sorted primitive arrays so the VarbitChanged handler can reject unrelated churn (run energy,
+ * timers, prayer) without allocating.
+ *
+ * QUEST steps are indexed under a single stand-in varp rather than their own progress varps and
+ * varbits. The RuneLite API reads quest state through a client script and does not expose the
+ * per-quest ids, and the route data does not carry them. The stand-in is the quest points varp, which
+ * changes exactly when a quest completes, so completions are never missed. The cost is staleness
+ * between completions: a quest moving from not started to in progress, or between stages, does not
+ * touch it, and a card keeps its old state until the next quest completes, the completion chat
+ * message arrives or the player logs in again.
+ */
+public final class SpineDependencyIndex
+{
+    private static final int[] NONE = new int[0];
+
+    private final int[] varpIds;
+    private final int[][] varpDependents;
+    private final int[] varbitIds;
+    private final int[][] varbitDependents;
+
+    private SpineDependencyIndex(Map<Integer, List<Integer>> varps, Map<Integer, List<Integer>> varbits)
+    {
+        this.varpIds = keys(varps);
+        this.varpDependents = values(varps);
+        this.varbitIds = keys(varbits);
+        this.varbitDependents = values(varbits);
+    }
+
+    /**
+     * @param questVarpId varp that changes whenever a quest completes; every QUEST step depends on it in
+     *                    place of its own progress varps (see the class comment)
+     */
+    public static SpineDependencyIndex build(CompiledSpine spine, int questVarpId)
+    {
+        final Map<Integer, List<Integer>> varps = new TreeMap<>();
+        final Map<Integer, List<Integer>> varbits = new TreeMap<>();
+
+        for (int i = 0; i < spine.size(); i++)
+        {
+            switch (spine.getRuleId(i))
+            {
+                case CompiledSpine.RULE_QUEST:
+                    varps.computeIfAbsent(questVarpId, k -> new ArrayList<>()).add(i);
+                    break;
+                case CompiledSpine.RULE_VARP:
+                    varps.computeIfAbsent(spine.getVarId(i), k -> new ArrayList<>()).add(i);
+                    break;
+                case CompiledSpine.RULE_VARBIT:
+                    varbits.computeIfAbsent(spine.getVarId(i), k -> new ArrayList<>()).add(i);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return new SpineDependencyIndex(varps, varbits);
+    }
+
+    /**
+     * Sorted spine indices that read the varp, or an empty array.
+     */
+    public int[] getVarpDependents(int varpId)
+    {
+        final int k = Arrays.binarySearch(varpIds, varpId);
+        return k < 0 ? NONE : varpDependents[k];
+    }
+
+    /**
+     * Sorted spine indices that read the varbit, or an empty array.
+     */
+    public int[] getVarbitDependents(int varbitId)
+    {
+        final int k = Arrays.binarySearch(varbitIds, varbitId);
+        return k < 0 ? NONE : varbitDependents[k];
+    }
+
+    /**
+     * Lowest spine index affected by a varp change, or -1 if the plan does not read it.
+     */
+    public int lowestVarpDependent(int varpId)
+    {
+        final int[] d = getVarpDependents(varpId);
+        return d.length == 0 ? -1 : d[0];
+    }
+
+    /**
+     * Lowest spine index affected by a varbit change, or -1 if the plan does not read it.
+     */
+    public int lowestVarbitDependent(int varbitId)
+    {
+        final int[] d = getVarbitDependents(varbitId);
+        return d.length == 0 ? -1 : d[0];
+    }
+
+    /**
+     * Sorted varp ids read by the plan.
+     */
+    public int[] getVarpIds()
+    {
+        return varpIds.clone();
+    }
+
+    /**
+     * Sorted varbit ids read by the plan.
+     */
+    public int[] getVarbitIds()
+    {
+        return varbitIds.clone();
+    }
+
+    private static int[] keys(Map<Integer, List<Integer>> map)
+    {
+        final int[] out = new int[map.size()];
+        int i = 0;
+        for (Integer k : map.keySet())
+        {
+            out[i++] = k;
+        }
+        return out;
+    }
+
+    private static int[][] values(Map<Integer, List<Integer>> map)
+    {
+        final int[][] out = new int[map.size()][];
+        int i = 0;
+        for (List<Integer> list : map.values())
+        {
+            final int[] arr = new int[list.size()];
+            for (int j = 0; j < arr.length; j++)
+            {
+                arr[j] = list.get(j);
+            }
+            out[i++] = arr;
+        }
+        return out;
+    }
+}
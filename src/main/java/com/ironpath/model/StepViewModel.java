@@ -0,0 +1,73 @@
+package com.ironpath.model;
+
+import net.runelite.api.QuestState;
+
+/**
+ * Player-independent presentation data for one spine index.
+ *
+ * Built once per spine so the planner does no string, URL-encoding or regex work on refresh.
+ * Quest steps carry one prebuilt view per {@link QuestState}; the planner only picks the one
+ * matching the current journal state. TRAIN steps still build their view at refresh time because
+ * the "from" level is dynamic.
+ */
+public final class StepViewModel
+{
+    private final QuestEntry questEntry;
+    private final String why;
+    private final String wikiUrl;
+    private final String lampInstruction;
+
+    // Quest steps: indexed by QuestState ordinal.
+    private final SpineStepView[] questViews;
+
+    // Informational steps: the step itself and an optional follow-up lamp step.
+    private final SpineStepView infoView;
+    private final SpineStepView lampView;
+
+    public StepViewModel(QuestEntry questEntry, String why, String wikiUrl, String lampInstruction,
+                         SpineStepView[] questViews, SpineStepView infoView, SpineStepView lampView)
+    {
+        this.questEntry = questEntry;
+        this.why = why;
+        this.wikiUrl = wikiUrl;
+        this.lampInstruction = lampInstruction;
+        this.questViews = questViews;
+        this.infoView = infoView;
+        this.lampView = lampView;
+    }
+
+    public QuestEntry getQuestEntry()
+    {
+        return questEntry;
+    }
+
+    public String getWhy()
+    {
+        return why;
+    }
+
+    public String getWikiUrl()
+    {
+        return wikiUrl;
+    }
+
+    public String getLampInstruction()
+    {
+        return lampInstruction;
+    }
+
+    public SpineStepView getQuestView(QuestState state)
+    {
+        return questViews == null || state == null ? null : questViews[state.ordinal()];
+    }
+
+    public SpineStepView getInfoView()
+    {
+        return infoView;
+    }
+
+    public SpineStepView getLampView()
+    {
+        return lampView;
+    }
+}
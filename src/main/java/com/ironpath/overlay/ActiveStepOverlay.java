@@ -7,8 +7,10 @@ import com.ironpath.model.SpineStepView;
 import com.ironpath.model.PlanStepType;
 import com.ironpath.model.QuestPlanStep;
 import com.ironpath.model.TrainPlanStep;
-import com.ironpath.service.ProgressionPlanService;
-import com.ironpath.service.QuestRouteService;
+import com.ironpath.service.PluginMetrics;
+import com.ironpath.ui.SpriteIconCache;
+import com.ironpath.util.TextWrap;
+import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
@@ -16,67 +18,63 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.GameState;
-import net.runelite.api.QuestState;
-import net.runelite.api.SpriteID;
-import net.runelite.client.callback.ClientThread;
-import net.runelite.client.game.SpriteManager;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPanel;
 import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.components.PanelComponent;
 
-import java.util.ArrayList;
-
 /**
  * Displays the current active step (first step in the Next N list) in the game view.
  *
  * This intentionally reuses the same PlanStep fields that the sidebar cards render
  * (QuestEntry.shortWhy, TrainPlanStep.reason, InfoPlanStep.detail). No new model accessors.
+ *
+ * The step itself is pushed in by the plugin via {@link #setActiveStep(SpineStepView)} whenever the
+ * plan is invalidated. render() never walks the spine, so frame time does not depend on route progress.
+ *
+ * The card is laid out and painted once into a translucent image whenever the step, the overlay
+ * font or the icon availability changes. Every other frame is a single drawImage.
  */
 public class ActiveStepOverlay extends OverlayPanel
 {
     private static final int MAX_WIDTH = 240;
-    private static final int WRAP_CHARS = 44;
 
     private static final int PAD = 8;
     private static final int ICON_SIZE = 16;
     private static final int ICON_GAP = 6;
     private static final int LINE_GAP = 3;
-
-    // Cache OSRS sprites for overlay rendering to avoid flicker on refresh.
-    private static final Map<Integer, BufferedImage> SPRITE_CACHE = new ConcurrentHashMap<>();
-    private static final Set<Integer> SPRITE_IN_FLIGHT = ConcurrentHashMap.newKeySet();
+    private static final int CORNER_ARC = 10;
 
     private final Client client;
     private final IronmanPathConfig config;
-    private final QuestRouteService routeService;
-    private final ProgressionPlanService planService;
+    private final SpriteIconCache sprites;
+    private final PluginMetrics metrics;
+
+    // Latest active step computed by the plugin; null hides the overlay.
+    private volatile SpineStepView activeStep;
 
-    private final ClientThread clientThread;
-    private final SpriteManager spriteManager;
+    // Render cache. Only touched from render(), which always runs on the client thread.
+    private SpineStepView renderedView;
+    private Font renderedFont;
+    private boolean renderedWithIcon;
+    private BufferedImage renderedImage;
+    private Dimension renderedSize;
 
     @Inject
     public ActiveStepOverlay(
             Client client,
             IronmanPathConfig config,
-            QuestRouteService routeService,
-            ProgressionPlanService planService,
-            ClientThread clientThread,
-            SpriteManager spriteManager)
+            SpriteIconCache sprites,
+            PluginMetrics metrics)
     {
         this.client = client;
         this.config = config;
-        this.routeService = routeService;
-        this.planService = planService;
-        this.clientThread = clientThread;
-        this.spriteManager = spriteManager;
+        this.sprites = sprites;
+        this.metrics = metrics;
 
         setPosition(OverlayPosition.TOP_RIGHT);
         setLayer(OverlayLayer.ABOVE_WIDGETS);
@@ -86,8 +84,34 @@ public class ActiveStepOverlay extends OverlayPanel
         pc.setPreferredSize(new Dimension(MAX_WIDTH, 0));
     }
 
+    /**
+     * Replace the step shown by the overlay. Called whenever the plan is rebuilt.
+     */
+    public void setActiveStep(SpineStepView view)
+    {
+        this.activeStep = view;
+        if (view != null && view.getStep() instanceof QuestPlanStep)
+        {
+            // Usually already cached by the plan prefetch; otherwise it loads before the next frames.
+            sprites.request(SpriteIconCache.iconSpriteFor(view.getStep()), ICON_SIZE, null);
+        }
+    }
+
     @Override
     public Dimension render(Graphics2D graphics)
+    {
+        final long started = metrics.start();
+        try
+        {
+            return renderStep(graphics);
+        }
+        finally
+        {
+            metrics.recordOverlayRender(started);
+        }
+    }
+
+    private Dimension renderStep(Graphics2D graphics)
     {
         if (!config.showActiveStepOverlay())
         {
@@ -99,34 +123,51 @@ public class ActiveStepOverlay extends OverlayPanel
             return null;
         }
 
-        final List<SpineStepView> next = planService.buildNextStepViews(routeService.getSpine(), 1);
-        if (next.isEmpty())
+        final SpineStepView view = activeStep;
+        if (view == null || view.getStep() == null)
         {
             return null;
         }
 
-        final SpineStepView view = next.get(0);
-        final PlanStep step = view.getStep();
-        final PanelComponent pc = getPanelComponent();
-        // We draw a custom overlay that mirrors the quest card layout:
-        // Row 1: [icon] Title
-        // Row 2: "Step X of Y" (left) and "Quest Guide" (right)
-        // Body: why text wrapped
-        pc.getChildren().clear();
+        final boolean wantsIcon = view.getStep() instanceof QuestPlanStep;
+        final BufferedImage questIcon = wantsIcon ? sprites.get(SpriteIconCache.iconSpriteFor(view.getStep()), ICON_SIZE) : null;
+        final boolean withIcon = questIcon != null;
 
-        final int stepNum = view.getSpineIndex() + 1;
-        final int total = view.getSpineTotal();
+        final Font font = graphics.getFont();
+        if (renderedImage == null
+                || view != renderedView
+                || withIcon != renderedWithIcon
+                || (font != renderedFont && !font.equals(renderedFont)))
+        {
+            renderedImage = paintCard(graphics, view, font, withIcon ? questIcon : null, wantsIcon);
+            renderedSize = new Dimension(renderedImage.getWidth(), renderedImage.getHeight());
+            renderedView = view;
+            renderedFont = font;
+            renderedWithIcon = withIcon;
+        }
+
+        graphics.drawImage(renderedImage, 0, 0, null);
+        return renderedSize;
+    }
+
+    /**
+     * Lays out and paints the card that mirrors the quest card layout:
+     * Row 1: [icon] Title
+     * Row 2: "Step X of Y" (left) and "Quest Guide" (right)
+     * Body: why text wrapped to the card width
+     */
+    private static BufferedImage paintCard(Graphics2D target, SpineStepView view, Font base, BufferedImage icon, boolean questStep)
+    {
+        final PlanStep step = view.getStep();
 
         String title;
         String why = null;
-        boolean showQuestIcon = false;
 
         if (step instanceof QuestPlanStep)
         {
             QuestPlanStep q = (QuestPlanStep) step;
             title = q.getEntry().getQuestName();
             why = q.getEntry().getShortWhy();
-            showQuestIcon = true;
         }
         else if (step instanceof TrainPlanStep)
         {
@@ -147,118 +188,83 @@ public class ActiveStepOverlay extends OverlayPanel
             title = step.getType().name();
         }
 
-        // Render
-        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-        final Font base = graphics.getFont();
         final Font titleFont = base.deriveFont(Font.BOLD, base.getSize2D());
         final Font bodyFont = base.deriveFont(Font.PLAIN, base.getSize2D());
+        final FontMetrics titleFm = target.getFontMetrics(titleFont);
+        final FontMetrics bodyFm = target.getFontMetrics(bodyFont);
 
         final int width = MAX_WIDTH;
-        int x = PAD;
-        int y = PAD;
-
-        // Pre-wrap body
-        final List<String> wrapped = (why == null || why.isBlank()) ? new ArrayList<>() : wrap(why);
-
-        // Measure
-        graphics.setFont(titleFont);
-        FontMetrics titleFm = graphics.getFontMetrics();
-        int titleLineH = titleFm.getHeight();
-
-        graphics.setFont(bodyFont);
-        FontMetrics bodyFm = graphics.getFontMetrics();
-        int bodyLineH = bodyFm.getHeight();
-
-        int headerH = titleLineH + LINE_GAP + bodyLineH;
-        int bodyH = wrapped.size() * bodyLineH;
-        int height = PAD + headerH + (wrapped.isEmpty() ? 0 : (LINE_GAP + bodyH)) + PAD;
-
-        // Background box (match sidebar card feel)
-        graphics.setColor(ColorScheme.DARKER_GRAY_COLOR);
-        graphics.fillRoundRect(0, 0, width, height, 10, 10);
+        final int innerW = width - PAD * 2;
+        final int titleX = PAD + (questStep ? ICON_SIZE + ICON_GAP : 0);
 
-        // Icon
-        BufferedImage icon = null;
-        if (showQuestIcon)
-        {
-            icon = getOrRequestSprite(SpriteID.QUESTS_PAGE_ICON_BLUE_QUESTS);
-        }
+        final List<String> titleLines = TextWrap.wrap(title, titleFm, width - PAD - titleX);
+        final List<String> bodyLines = (why == null || why.isBlank()) ? List.of() : TextWrap.wrap(why, bodyFm, innerW);
 
-        graphics.setColor(java.awt.Color.WHITE);
+        final int titleLineH = titleFm.getHeight();
+        final int bodyLineH = bodyFm.getHeight();
+        final int headerH = titleLines.size() * titleLineH + LINE_GAP + bodyLineH;
+        final int bodyH = bodyLines.size() * bodyLineH;
+        final int height = PAD + headerH + (bodyLines.isEmpty() ? 0 : (LINE_GAP + bodyH)) + PAD;
 
-        // Row 1: icon + title
-        int titleBaseline = y + titleFm.getAscent();
-        int titleX = x;
-        if (icon != null)
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g = image.createGraphics();
+        try
         {
-            // Nudge icon up to match the card alignment
-            int iconY = y - 4;
-            graphics.drawImage(icon, x, iconY, ICON_SIZE, ICON_SIZE, null);
-            titleX += ICON_SIZE + ICON_GAP;
-        }
-
-        graphics.setFont(titleFont);
-        graphics.drawString(title, titleX, titleBaseline);
-
-        // Row 2: Step X of Y (left) and Quest Guide (right)
-        y += titleLineH + LINE_GAP;
-        graphics.setFont(bodyFont);
-        int row2Baseline = y + bodyFm.getAscent();
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        String stepText = "Step " + stepNum + " of " + total;
-        graphics.drawString(stepText, x, row2Baseline);
+            // Background box (match sidebar card feel)
+            g.setColor(ColorScheme.DARKER_GRAY_COLOR);
+            g.fillRoundRect(0, 0, width, height, CORNER_ARC, CORNER_ARC);
 
-        // Mirror the card's right-side "Quest Guide" affordance for quest steps.
-        if (showQuestIcon)
-        {
-            String guide = "Quest Guide";
-            int guideW = bodyFm.stringWidth(guide);
-            graphics.drawString(guide, width - PAD - guideW, row2Baseline);
-        }
+            int y = PAD;
 
-        // Body why text
-        if (!wrapped.isEmpty())
-        {
-            y += bodyLineH + LINE_GAP;
-            int lineY = y + bodyFm.getAscent();
-            for (String line : wrapped)
+            // Row 1: icon + title
+            if (icon != null)
             {
-                graphics.drawString(line, x, lineY);
-                lineY += bodyLineH;
+                // Nudge icon up to match the card alignment
+                g.drawImage(icon, PAD, y - 4, null);
             }
-        }
 
-        return new Dimension(width, height);
-    }
+            g.setColor(Color.WHITE);
+            g.setFont(titleFont);
+            for (String line : titleLines)
+            {
+                g.drawString(line, titleX, y + titleFm.getAscent());
+                y += titleLineH;
+            }
 
-    private static List<String> wrap(String text)
-    {
-        final ArrayList<String> lines = new ArrayList<>();
-        if (text == null)
-        {
-            return lines;
-        }
+            // Row 2: Step X of Y (left) and Quest Guide (right)
+            y += LINE_GAP;
+            g.setFont(bodyFont);
+            final int row2Baseline = y + bodyFm.getAscent();
+            g.drawString("Step " + (view.getSpineIndex() + 1) + " of " + view.getSpineTotal(), PAD, row2Baseline);
 
-        String remaining = text.trim();
-        while (remaining.length() > WRAP_CHARS)
-        {
-            int split = remaining.lastIndexOf(' ', WRAP_CHARS);
-            if (split <= 0)
+            // Mirror the card's right-side "Quest Guide" affordance for quest steps.
+            if (questStep)
             {
-                split = WRAP_CHARS;
+                final String guide = "Quest Guide";
+                g.drawString(guide, width - PAD - bodyFm.stringWidth(guide), row2Baseline);
             }
+            y += bodyLineH;
 
-            lines.add(remaining.substring(0, split).trim());
-            remaining = remaining.substring(split).trim();
+            // Body why text
+            if (!bodyLines.isEmpty())
+            {
+                y += LINE_GAP;
+                for (String line : bodyLines)
+                {
+                    g.drawString(line, PAD, y + bodyFm.getAscent());
+                    y += bodyLineH;
+                }
+            }
         }
-
-        if (!remaining.isEmpty())
+        finally
         {
-            lines.add(remaining);
+            g.dispose();
         }
-        return lines;
+
+        return image;
     }
 
     private static String labelFor(PlanStepType t)
@@ -286,54 +292,4 @@ public class ActiveStepOverlay extends OverlayPanel
                 return "";
         }
     }
-
-    private BufferedImage getOrRequestSprite(int spriteId)
-    {
-        BufferedImage cached = SPRITE_CACHE.get(spriteId);
-        if (cached != null)
-        {
-            return cached;
-        }
-
-        if (spriteManager == null)
-        {
-            return null;
-        }
-
-        if (!SPRITE_IN_FLIGHT.add(spriteId))
-        {
-            return null;
-        }
-
-        Runnable request = () ->
-        {
-            BufferedImage img = spriteManager.getSprite(spriteId, 0);
-            if (img != null)
-            {
-                SPRITE_CACHE.put(spriteId, img);
-                SPRITE_IN_FLIGHT.remove(spriteId);
-                return;
-            }
-
-            spriteManager.getSpriteAsync(spriteId, 0, sprite ->
-            {
-                if (sprite != null)
-                {
-                    SPRITE_CACHE.put(spriteId, sprite);
-                }
-                SPRITE_IN_FLIGHT.remove(spriteId);
-            });
-        };
-
-        if (clientThread != null)
-        {
-            clientThread.invokeLater(request);
-        }
-        else
-        {
-            request.run();
-        }
-
-        return null;
-    }
 }
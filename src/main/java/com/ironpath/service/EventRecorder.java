@@ -0,0 +1,475 @@
+package com.ironpath.service;
+
+import com.google.inject.Singleton;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import net.runelite.client.RuneLite;
+
+/**
+ * Developer tool that writes the plugin's event stream, plus every client value the refresh pipeline
+ * read, to a compact binary log so a play session can be replayed offline.
+ *
+ * Off unless the client is started with {@code -Dironpath.recordEvents=true}; there is no config option,
+ * so normal installs never touch the disk.
+ *
+ * A log is a header followed by records. The header is the magic {@code IPEL}, a format version byte,
+ * the number of {@link Quest} and {@link Skill} constants (quest and skill references are ordinals, so a
+ * log only replays against the same RuneLite API) and the start time in epoch millis. Each record is a
+ * tag byte, the microseconds since the previous record and a tag-specific payload. Integers are
+ * LEB128 varints, zigzag-encoded where they may be negative; strings are a varint length and UTF-8.
+ *
+ * Client values are only recorded when {@link PlanPipeline} captures them, and only those that differ
+ * from the previous capture, so a replay that applies each {@link #CAPTURE} before the event that caused
+ * it reproduces every value the plugin read. Values of other plugins' config keys are never written.
+ *
+ * Callers only encode records into memory; a single background thread writes them, fed by a bounded
+ * queue. Recording stops, leaving a log that ends on a whole record, when the writer falls behind by
+ * more than the queue holds or the log reaches {@link #MAX_BYTES}. All methods are cheap no-ops while
+ * not recording, and may be called from any thread.
+ */
+@Slf4j
+@Singleton
+public class EventRecorder
+{
+    public static final byte[] MAGIC = {'I', 'P', 'E', 'L'};
+    public static final int VERSION = 2;
+
+    public static final File DIRECTORY = new File(RuneLite.RUNELITE_DIR, "ironpath-recordings");
+
+    /** System property that turns recording on. */
+    public static final String PROPERTY = "ironpath.recordEvents";
+
+    /** Size cap of one log. */
+    public static final long MAX_BYTES = 64L << 20;
+
+    // Records waiting for the writer thread.
+    private static final int QUEUE_CAPACITY = 4096;
+
+    /** {@code GameState.getState()}. */
+    public static final int GAME_STATE = 1;
+    /** No payload. */
+    public static final int GAME_TICK = 2;
+    /** Zigzag varp id, varbit id and value. */
+    public static final int VARBIT_CHANGED = 3;
+    /** Skill ordinal, XP, level and boosted level. */
+    public static final int STAT_CHANGED = 4;
+    /** Message text; only game messages are recorded. */
+    public static final int CHAT_MESSAGE = 5;
+    /** Group, key, and a presence byte followed by the new value for this plugin's group only. */
+    public static final int CONFIG_CHANGED = 6;
+    /**
+     * Changed quest states (count, then quest ordinal and state ordinal pairs), changed skills (count,
+     * then ordinal and XP) and changed varps and varbits (count, then zigzag id and value).
+     */
+    public static final int CAPTURE = 7;
+
+    private static final Quest[] QUESTS = Quest.values();
+    private static final Skill[] SKILLS = Skill.values();
+
+    // The record being encoded. Guarded by this, like the rest of the state below.
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+
+    private Writer writer;
+    private long bytes;
+    private long lastNanos;
+
+    // Values as of the last recorded capture. -1 / null mean nothing recorded yet.
+    private final byte[] questStates = new byte[QUESTS.length];
+    private final int[] xp = new int[SKILLS.length];
+    private int[] varpIds;
+    private int[] varpValues;
+    private int[] varbitIds;
+    private int[] varbitValues;
+
+    /**
+     * Whether the client was started with recording turned on.
+     */
+    public static boolean isEnabled()
+    {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    public synchronized boolean isRecording()
+    {
+        return writer != null;
+    }
+
+    /**
+     * Start a new log in {@link #DIRECTORY}. The first record is the current game state, so the replay
+     * starts from it; starting at the login screen gives the most faithful replay. The file is created
+     * by the writer thread, which stops recording if that fails.
+     *
+     * @return the log file
+     */
+    public File start(GameState current)
+    {
+        return start(DIRECTORY, current);
+    }
+
+    /**
+     * Start a new log in {@code directory} instead of {@link #DIRECTORY}.
+     */
+    public synchronized File start(File directory, GameState current)
+    {
+        if (writer != null)
+        {
+            return writer.file;
+        }
+
+        final File f = new File(directory, new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".iplog");
+        writer = new Writer(f);
+        bytes = 0;
+
+        record.write(MAGIC, 0, MAGIC.length);
+        record.write(VERSION);
+        writeVarint(QUESTS.length);
+        writeVarint(SKILLS.length);
+        writeLong(System.currentTimeMillis());
+        end();
+
+        Arrays.fill(questStates, (byte) -1);
+        Arrays.fill(xp, -1);
+        varpIds = null;
+        varpValues = null;
+        varbitIds = null;
+        varbitValues = null;
+        lastNanos = System.nanoTime();
+
+        final Thread t = new Thread(writer, "ironpath-recorder");
+        t.setDaemon(true);
+        t.start();
+
+        gameStateChanged(current);
+        log.info("Recording plugin events to {}", f);
+        return f;
+    }
+
+    /**
+     * Stop recording. Records already queued are still written.
+     */
+    public synchronized void stop()
+    {
+        if (writer != null)
+        {
+            log.info("Stopped recording plugin events to {}", writer.file);
+            writer.close();
+            writer = null;
+        }
+    }
+
+    public synchronized void gameStateChanged(GameState state)
+    {
+        if (begin(GAME_STATE))
+        {
+            writeSigned(state.getState());
+            end();
+        }
+    }
+
+    public synchronized void gameTick()
+    {
+        if (begin(GAME_TICK))
+        {
+            end();
+        }
+    }
+
+    public synchronized void varbitChanged(int varpId, int varbitId, int value)
+    {
+        if (begin(VARBIT_CHANGED))
+        {
+            writeSigned(varpId);
+            writeSigned(varbitId);
+            writeSigned(value);
+            end();
+        }
+    }
+
+    public synchronized void statChanged(Skill skill, int experience, int level, int boostedLevel)
+    {
+        if (begin(STAT_CHANGED))
+        {
+            writeVarint(skill.ordinal());
+            writeVarint(experience);
+            writeVarint(level);
+            writeVarint(boostedLevel);
+            end();
+        }
+    }
+
+    public synchronized void chatMessage(String message)
+    {
+        if (begin(CHAT_MESSAGE))
+        {
+            writeString(message == null ? "" : message);
+            end();
+        }
+    }
+
+    public synchronized void configChanged(String group, String key, String newValue, boolean ownGroup)
+    {
+        if (begin(CONFIG_CHANGED))
+        {
+            writeString(group == null ? "" : group);
+            writeString(key == null ? "" : key);
+            record.write(ownGroup && newValue != null ? 1 : 0);
+            if (ownGroup && newValue != null)
+            {
+                writeString(newValue);
+            }
+            end();
+        }
+    }
+
+    /**
+     * Values read by one {@link PlanPipeline} capture. Quest states of -1 were not read. Arrays are not
+     * retained.
+     */
+    public synchronized void capture(byte[] states, int[] skillXp,
+                                     int[] capturedVarpIds, int[] capturedVarpValues,
+                                     int[] capturedVarbitIds, int[] capturedVarbitValues)
+    {
+        if (writer == null)
+        {
+            return;
+        }
+
+        int questChanges = 0;
+        for (int q = 0; q < states.length; q++)
+        {
+            if (states[q] >= 0 && states[q] != questStates[q])
+            {
+                questChanges++;
+            }
+        }
+        int skillChanges = 0;
+        for (int s = 0; s < skillXp.length; s++)
+        {
+            if (skillXp[s] != xp[s])
+            {
+                skillChanges++;
+            }
+        }
+
+        // The dependency index is fixed per route, so ids only change if the route was reloaded.
+        final boolean varpIdsSame = Arrays.equals(capturedVarpIds, varpIds);
+        final boolean varbitIdsSame = Arrays.equals(capturedVarbitIds, varbitIds);
+        final int varpChanges = countChanged(capturedVarpValues, varpIdsSame ? varpValues : null);
+        final int varbitChanges = countChanged(capturedVarbitValues, varbitIdsSame ? varbitValues : null);
+
+        if (questChanges + skillChanges + varpChanges + varbitChanges == 0 || !begin(CAPTURE))
+        {
+            return;
+        }
+
+        writeVarint(questChanges);
+        for (int q = 0; q < states.length; q++)
+        {
+            if (states[q] >= 0 && states[q] != questStates[q])
+            {
+                writeVarint(q);
+                writeVarint(states[q]);
+                questStates[q] = states[q];
+            }
+        }
+
+        writeVarint(skillChanges);
+        for (int s = 0; s < skillXp.length; s++)
+        {
+            if (skillXp[s] != xp[s])
+            {
+                writeVarint(s);
+                writeVarint(skillXp[s]);
+                xp[s] = skillXp[s];
+            }
+        }
+
+        writeChanged(capturedVarpIds, capturedVarpValues, varpIdsSame ? varpValues : null, varpChanges);
+        writeChanged(capturedVarbitIds, capturedVarbitValues, varbitIdsSame ? varbitValues : null, varbitChanges);
+        end();
+
+        varpIds = capturedVarpIds.clone();
+        varpValues = capturedVarpValues.clone();
+        varbitIds = capturedVarbitIds.clone();
+        varbitValues = capturedVarbitValues.clone();
+    }
+
+    private static int countChanged(int[] values, int[] previous)
+    {
+        int n = 0;
+        for (int k = 0; k < values.length; k++)
+        {
+            if (previous == null || values[k] != previous[k])
+            {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    private void writeChanged(int[] ids, int[] values, int[] previous, int changes)
+    {
+        writeVarint(changes);
+        for (int k = 0; k < ids.length; k++)
+        {
+            if (previous == null || values[k] != previous[k])
+            {
+                writeSigned(ids[k]);
+                writeSigned(values[k]);
+            }
+        }
+    }
+
+    /**
+     * Encode the tag and time delta of a new record; {@link #end()} hands it to the writer.
+     *
+     * @return false if not recording
+     */
+    private boolean begin(int tag)
+    {
+        if (writer == null)
+        {
+            return false;
+        }
+        if (writer.failed)
+        {
+            stop();
+            return false;
+        }
+
+        final long now = System.nanoTime();
+        final long micros = Math.max(0, (now - lastNanos) / 1000);
+        lastNanos = now;
+        record.write(tag);
+        writeVarint(micros);
+        return true;
+    }
+
+    private void end()
+    {
+        final byte[] encoded = record.toByteArray();
+        record.reset();
+
+        bytes += encoded.length;
+        if (bytes > MAX_BYTES)
+        {
+            log.warn("Event recording reached {} bytes; stopping", MAX_BYTES);
+            stop();
+        }
+        else if (!writer.queue.offer(encoded))
+        {
+            log.warn("Event recording fell behind; stopping");
+            stop();
+        }
+    }
+
+    private void writeVarint(long value)
+    {
+        long v = value;
+        while ((v & ~0x7FL) != 0)
+        {
+            record.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        record.write((int) v);
+    }
+
+    private void writeSigned(int value)
+    {
+        writeVarint(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    private void writeLong(long value)
+    {
+        for (int shift = 56; shift >= 0; shift -= 8)
+        {
+            record.write((int) (value >>> shift));
+        }
+    }
+
+    private void writeString(String s)
+    {
+        final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(b.length);
+        record.write(b, 0, b.length);
+    }
+
+    /**
+     * Drains the queue to the log file on its own thread, flushing whenever it runs dry.
+     */
+    private static final class Writer implements Runnable
+    {
+        private final File file;
+        private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean closed;
+        private volatile boolean failed;
+
+        Writer(File file)
+        {
+            this.file = file;
+        }
+
+        void close()
+        {
+            closed = true;
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                final File directory = file.getParentFile();
+                if (!directory.isDirectory() && !directory.mkdirs())
+                {
+                    throw new IOException("Cannot create " + directory);
+                }
+
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 1 << 16))
+                {
+                    while (true)
+                    {
+                        final byte[] r = queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (r != null)
+                        {
+                            out.write(r);
+                        }
+                        else if (closed)
+                        {
+                            return;
+                        }
+                        else
+                        {
+                            out.flush();
+                        }
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                log.warn("Event recording to {} failed; stopping", file, e);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            failed = true;
+            queue.clear();
+        }
+    }
+}
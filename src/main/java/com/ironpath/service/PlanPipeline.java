@@ -0,0 +1,368 @@
+package com.ironpath.service;
+
+import com.google.inject.Singleton;
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.SpineDependencyIndex;
+import com.ironpath.model.SpineStepView;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+
+/**
+ * Two-phase plan pipeline shared by the sidebar and the overlay.
+ *
+ * {@link #request()} runs on the client thread and only copies an {@link AccountSnapshot}; the plan is
+ * computed from that snapshot on a dedicated background thread. Every request bumps a generation
+ * counter, and a computation superseded by a newer request is dropped before it starts and again
+ * before it is published, so consumers only ever see the latest state.
+ */
+@Slf4j
+@Singleton
+public class PlanPipeline
+{
+    public static final int PLAN_STEPS = 10;
+
+    private static final Skill[] SKILLS = Skill.values();
+    private static final Quest[] QUESTS = Quest.values();
+
+    private final Client client;
+    private final QuestStatusService statusService;
+    private final QuestRouteService routeService;
+    private final ProgressionPlanService planService;
+    private final PluginMetrics metrics;
+    private final EventRecorder recorder;
+
+    // Guards generation and the publish step so a stale result can never overwrite a pending marker.
+    private final Object lock = new Object();
+    private long generation;
+
+    private volatile ExecutorService executor;
+    private volatile Consumer<List<SpineStepView>> listener;
+    private volatile Consumer<BitSet> routeListener;
+    private volatile boolean routeTracking;
+
+    // Client thread only. Quest states are re-read only after QuestStatusService drops its cache, and
+    // then only for the window a build can reach, unless the whole route is being tracked.
+    private int accountEpoch;
+    private byte[] questStates;
+    private long questStatesGeneration = -1;
+    private boolean questStatesWholeRoute;
+
+    // Client thread only. Spine index of the first QUEST step of questSpine not known to be finished.
+    private CompiledSpine questSpine;
+    private int questCursor;
+
+    @Inject
+    public PlanPipeline(Client client, QuestStatusService statusService, QuestRouteService routeService,
+                        ProgressionPlanService planService, PluginMetrics metrics, EventRecorder recorder)
+    {
+        this.client = client;
+        this.statusService = statusService;
+        this.routeService = routeService;
+        this.planService = planService;
+        this.metrics = metrics;
+        this.recorder = recorder;
+    }
+
+    public void start()
+    {
+        if (executor != null)
+        {
+            return;
+        }
+
+        start(Executors.newSingleThreadExecutor(r ->
+        {
+            final Thread t = new Thread(r, "ironpath-planner");
+            t.setDaemon(true);
+            return t;
+        }));
+    }
+
+    /**
+     * Build plans on the given executor instead of a dedicated planner thread. Event replay uses this to
+     * run builds at a deterministic point; {@link #stop()} shuts the executor down.
+     */
+    public void start(ExecutorService planner)
+    {
+        if (executor == null)
+        {
+            executor = planner;
+        }
+    }
+
+    public void stop()
+    {
+        cancel();
+        final ExecutorService ex = executor;
+        executor = null;
+        if (ex != null)
+        {
+            ex.shutdownNow();
+        }
+    }
+
+    /**
+     * Receives every published plan, on the planner thread.
+     */
+    public void setListener(Consumer<List<SpineStepView>> listener)
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * Receives whole-route completion after each published plan while route tracking is on, on the planner thread.
+     */
+    public void setRouteListener(Consumer<BitSet> routeListener)
+    {
+        this.routeListener = routeListener;
+    }
+
+    /**
+     * Whether builds should also evaluate completion of the whole route. Only worth it while it is displayed.
+     */
+    public void setRouteTracking(boolean routeTracking)
+    {
+        this.routeTracking = routeTracking;
+    }
+
+    /**
+     * Drop any computation in flight without starting a new one.
+     */
+    public void cancel()
+    {
+        synchronized (lock)
+        {
+            generation++;
+        }
+    }
+
+    /**
+     * Forget everything known about the account. Client thread only.
+     */
+    public void resetAccount()
+    {
+        accountEpoch++;
+        questStates = null;
+        questStatesGeneration = -1;
+        questStatesWholeRoute = false;
+        questSpine = null;
+        cancel();
+    }
+
+    /**
+     * Capture the account state and schedule a plan build. Client thread only; does nothing when logged
+     * out or while route data is still loading.
+     */
+    public void request()
+    {
+        final ExecutorService ex = executor;
+        if (ex == null || client.getGameState() != GameState.LOGGED_IN || !routeService.isLoaded())
+        {
+            return;
+        }
+
+        metrics.refreshRequested();
+        final long started = metrics.start();
+        final long readsBefore = statusService.getReadCount();
+
+        final CompiledSpine spine = routeService.getCompiledSpine();
+        final AccountSnapshot snapshot = capture(spine, routeService.getDependencyIndex());
+        metrics.recordPlanCapture(started, (int) (statusService.getReadCount() - readsBefore));
+
+        final long gen;
+        synchronized (lock)
+        {
+            gen = ++generation;
+            planService.markPending();
+        }
+
+        try
+        {
+            ex.execute(() -> compute(gen, spine, snapshot));
+        }
+        catch (RejectedExecutionException e)
+        {
+            // stop() shut the executor down after it was read above; the plugin is going away.
+            log.debug("Plan build rejected, pipeline stopped");
+        }
+    }
+
+    private void compute(long gen, CompiledSpine spine, AccountSnapshot snapshot)
+    {
+        if (!isCurrent(gen))
+        {
+            metrics.refreshCoalesced();
+            return;
+        }
+
+        final PlanResult result;
+        try
+        {
+            result = planService.plan(spine, snapshot, PLAN_STEPS);
+        }
+        catch (RuntimeException e)
+        {
+            log.warn("Plan build failed", e);
+            return;
+        }
+
+        synchronized (lock)
+        {
+            if (gen != generation)
+            {
+                metrics.refreshCoalesced();
+                return;
+            }
+            planService.publish(result);
+        }
+
+        final Consumer<List<SpineStepView>> l = listener;
+        if (l != null)
+        {
+            l.accept(result.getViews());
+        }
+
+        final Consumer<BitSet> rl = routeListener;
+        if (routeTracking && rl != null)
+        {
+            try
+            {
+                final BitSet done = planService.routeCompletion(spine, snapshot);
+                if (isCurrent(gen))
+                {
+                    rl.accept(done);
+                }
+            }
+            catch (RuntimeException e)
+            {
+                log.warn("Route completion failed", e);
+            }
+        }
+    }
+
+    private boolean isCurrent(long gen)
+    {
+        synchronized (lock)
+        {
+            return gen == generation;
+        }
+    }
+
+    private AccountSnapshot capture(CompiledSpine spine, SpineDependencyIndex deps)
+    {
+        final int[] xp = new int[SKILLS.length];
+        for (Skill skill : SKILLS)
+        {
+            xp[skill.ordinal()] = Math.max(0, client.getSkillExperience(skill));
+        }
+
+        final int[] varpIds = deps.getVarpIds();
+        final int[] varpValues = new int[varpIds.length];
+        for (int k = 0; k < varpIds.length; k++)
+        {
+            varpValues[k] = client.getVarpValue(varpIds[k]);
+        }
+
+        final int[] varbitIds = deps.getVarbitIds();
+        final int[] varbitValues = new int[varbitIds.length];
+        for (int k = 0; k < varbitIds.length; k++)
+        {
+            varbitValues[k] = client.getVarbitValue(varbitIds[k]);
+        }
+
+        captureQuestStates(spine);
+        recorder.capture(questStates, xp, varpIds, varpValues, varbitIds, varbitValues);
+        return new AccountSnapshot(accountEpoch, questStates, xp, varpIds, varpValues, varbitIds, varbitValues);
+    }
+
+    /**
+     * Refresh the shared quest state array if the journal cache was invalidated since the last capture.
+     * Snapshots never see the array change: a refresh always writes a new copy.
+     *
+     * A build visits unfinished steps in spine order and stops after {@link #PLAN_STEPS} steps, so it
+     * cannot reach past the {@link #PLAN_STEPS}th quest that is not finished. Only quests up to there
+     * are read, and a quest is never read again once it is finished. While the route browser tracks
+     * the whole route, every unfinished quest is read instead.
+     */
+    private void captureQuestStates(CompiledSpine spine)
+    {
+        if (spine != questSpine)
+        {
+            questSpine = spine;
+            questCursor = 0;
+            questStatesGeneration = -1;
+        }
+
+        final long statusGeneration = statusService.getGeneration();
+        if (questStates != null && statusGeneration == questStatesGeneration
+            && (questStatesWholeRoute || !routeTracking))
+        {
+            return;
+        }
+
+        final byte[] prev = questStates;
+        final byte[] next;
+        if (prev == null)
+        {
+            next = new byte[QUESTS.length];
+            Arrays.fill(next, (byte) -1);
+        }
+        else
+        {
+            next = prev.clone();
+        }
+
+        final boolean wholeRoute = routeTracking;
+        final byte finished = (byte) QuestState.FINISHED.ordinal();
+        int unfinished = 0;
+        for (int i = questCursor; i < spine.size() && (wholeRoute || unfinished < PLAN_STEPS); i++)
+        {
+            if (spine.getRuleId(i) != CompiledSpine.RULE_QUEST)
+            {
+                continue;
+            }
+
+            final int q = spine.getQuestOrdinal(i);
+            if (next[q] != finished)
+            {
+                next[q] = (byte) statusService.getState(QUESTS[q]).ordinal();
+            }
+
+            if (next[q] != finished)
+            {
+                unfinished++;
+            }
+            else if (unfinished == 0 && i == questCursor)
+            {
+                questCursor = nextQuest(spine, i + 1);
+            }
+        }
+
+        questStates = next;
+        questStatesGeneration = statusGeneration;
+        questStatesWholeRoute = wholeRoute;
+    }
+
+    private static int nextQuest(CompiledSpine spine, int from)
+    {
+        int i = from;
+        while (i < spine.size() && spine.getRuleId(i) != CompiledSpine.RULE_QUEST)
+        {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ironpath.service;
+
+import com.ironpath.model.SpineStepView;
+import java.util.List;
+
+/**
+ * One computed plan plus what the client thread needs to decide whether later events can change it.
+ */
+final class PlanResult
+{
+    private final List<SpineStepView> views;
+    private final int scanHorizon;
+
+    // Indexed by Skill ordinal. A skill's projected TRAIN levels cannot change until its XP grows by
+    // at least xpSlack over xpBase; Integer.MAX_VALUE when no examined TRAIN step uses the skill.
+    private final int[] xpBase;
+    private final int[] xpSlack;
+
+    PlanResult(List<SpineStepView> views, int scanHorizon, int[] xpBase, int[] xpSlack)
+    {
+        this.views = views;
+        this.scanHorizon = scanHorizon;
+        this.xpBase = xpBase;
+        this.xpSlack = xpSlack;
+    }
+
+    List<SpineStepView> getViews()
+    {
+        return views;
+    }
+
+    /**
+     * Highest spine index the build examined; later indices cannot change the result.
+     */
+    int getScanHorizon()
+    {
+        return scanHorizon;
+    }
+
+    boolean isXpSignificant(int skillOrdinal, int xp)
+    {
+        return (long) xp - xpBase[skillOrdinal] >= xpSlack[skillOrdinal];
+    }
+}
@@ -0,0 +1,246 @@
+package com.ironpath.service;
+
+import com.google.inject.Singleton;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime cost of the refresh pipeline, for the sidebar's debug section.
+ *
+ * Nothing is recorded until {@link #setEnabled(boolean)} turns collection on, so the only cost while the
+ * debug section is off is a volatile read per call site. Counters are {@link LongAdder}s and latencies
+ * go into fixed power-of-two buckets, so recording never allocates or locks and is safe from the client
+ * thread, the EDT and the planner thread at once.
+ */
+@Singleton
+public class PluginMetrics
+{
+    private volatile boolean enabled;
+
+    private final LongAdder refreshRequests = new LongAdder();
+    private final LongAdder refreshesCoalesced = new LongAdder();
+    private final LongAdder panelRefreshesDebounced = new LongAdder();
+
+    private final Histogram planCaptureNanos = new Histogram();
+    private final Histogram questReadsPerRefresh = new Histogram();
+    private final Histogram panelRebuildNanos = new Histogram();
+    private final Histogram overlayRenderNanos = new Histogram();
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Start or stop collecting. Values already recorded are kept until {@link #reset()}.
+     */
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start time for one of the timed sections, or 0 when collection is off. Pass the result to the
+     * matching {@code record*} method, which ignores 0.
+     */
+    public long start()
+    {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * {@link PlanPipeline#request()} was called with route data loaded while logged in.
+     */
+    public void refreshRequested()
+    {
+        if (enabled)
+        {
+            refreshRequests.increment();
+        }
+    }
+
+    /**
+     * A requested plan was dropped because a newer request superseded it, or the pipeline was cancelled.
+     */
+    public void refreshCoalesced()
+    {
+        if (enabled)
+        {
+            refreshesCoalesced.increment();
+        }
+    }
+
+    /**
+     * The sidebar's debounce timer was restarted before it fired.
+     */
+    public void panelRefreshDebounced()
+    {
+        if (enabled)
+        {
+            panelRefreshesDebounced.increment();
+        }
+    }
+
+    /**
+     * Client thread time spent capturing the snapshot for one plan.
+     */
+    public void recordPlanCapture(long start, int questReads)
+    {
+        if (start != 0)
+        {
+            planCaptureNanos.record(System.nanoTime() - start);
+            questReadsPerRefresh.record(questReads);
+        }
+    }
+
+    /**
+     * EDT time spent applying one plan to the sidebar cards.
+     */
+    public void recordPanelRebuild(long start)
+    {
+        if (start != 0)
+        {
+            panelRebuildNanos.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Client thread time spent rendering one overlay frame.
+     */
+    public void recordOverlayRender(long start)
+    {
+        if (start != 0)
+        {
+            overlayRenderNanos.record(System.nanoTime() - start);
+        }
+    }
+
+    public void reset()
+    {
+        refreshRequests.reset();
+        refreshesCoalesced.reset();
+        panelRefreshesDebounced.reset();
+        planCaptureNanos.reset();
+        questReadsPerRefresh.reset();
+        panelRebuildNanos.reset();
+        overlayRenderNanos.reset();
+    }
+
+    public long getRefreshRequests()
+    {
+        return refreshRequests.sum();
+    }
+
+    public long getRefreshesCoalesced()
+    {
+        return refreshesCoalesced.sum();
+    }
+
+    public long getPanelRefreshesDebounced()
+    {
+        return panelRefreshesDebounced.sum();
+    }
+
+    public Histogram getPlanCaptureNanos()
+    {
+        return planCaptureNanos;
+    }
+
+    public Histogram getQuestReadsPerRefresh()
+    {
+        return questReadsPerRefresh;
+    }
+
+    public Histogram getPanelRebuildNanos()
+    {
+        return panelRebuildNanos;
+    }
+
+    public Histogram getOverlayRenderNanos()
+    {
+        return overlayRenderNanos;
+    }
+
+    /**
+     * Non-negative values counted in power-of-two buckets: bucket 0 holds 0, bucket b holds
+     * [2^(b-1), 2^b). Percentiles are reported as the upper bound of their bucket, so they are within a
+     * factor of two of the true value; the maximum is exact.
+     */
+    public static final class Histogram
+    {
+        private static final int BUCKETS = 64;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        void record(long value)
+        {
+            final long v = Math.max(0, value);
+            buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(v)));
+            count.increment();
+            sum.add(v);
+            max.accumulate(v);
+        }
+
+        void reset()
+        {
+            for (int b = 0; b < BUCKETS; b++)
+            {
+                buckets.set(b, 0);
+            }
+            count.reset();
+            sum.reset();
+            max.reset();
+        }
+
+        public long getCount()
+        {
+            return count.sum();
+        }
+
+        public double getMean()
+        {
+            final long n = count.sum();
+            return n == 0 ? 0 : (double) sum.sum() / n;
+        }
+
+        public long getMax()
+        {
+            return max.get();
+        }
+
+        /**
+         * Upper bound of the bucket holding the given quantile (0..1), or 0 when nothing was recorded.
+         * Buckets are read without a lock, so values recorded meanwhile may or may not be included.
+         */
+        public long getPercentile(double quantile)
+        {
+            final long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int b = 0; b < BUCKETS; b++)
+            {
+                counts[b] = buckets.get(b);
+                total += counts[b];
+            }
+            if (total == 0)
+            {
+                return 0;
+            }
+
+            final long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++)
+            {
+                seen += counts[b];
+                if (seen >= rank)
+                {
+                    return b == 0 ? 0 : Math.min(getMax(), (1L << b) - 1);
+                }
+            }
+            return getMax();
+        }
+    }
+}
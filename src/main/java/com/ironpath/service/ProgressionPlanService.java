@@ -1,6 +1,8 @@
 package com.ironpath.service;
 
 import com.google.inject.Singleton;
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
 import com.ironpath.model.InfoPlanStep;
 import com.ironpath.model.PlanStep;
 import com.ironpath.model.SpineStepView;
@@ -8,22 +10,19 @@ import com.ironpath.model.PlanStepType;
 import com.ironpath.model.QuestEntry;
 import com.ironpath.model.QuestPlanStep;
 import com.ironpath.model.RouteStep;
+import com.ironpath.model.StepViewModel;
 import com.ironpath.model.TrainPlanStep;
+import com.ironpath.util.XpTable;
 import java.util.ArrayList;
-import java.util.EnumMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
-import net.runelite.api.Client;
 import net.runelite.api.Quest;
 import net.runelite.api.QuestState;
 import net.runelite.api.Skill;
-import com.ironpath.service.QuestDatabase;
 
 /**
  * Builds an actionable "next steps" plan from the canonical route spine.
@@ -34,41 +33,76 @@ import com.ironpath.service.QuestDatabase;
  * - Simulates completion in sequence to produce a coherent list.
  *
  * Simulation details:
- * - Finished quests are detected via {@link QuestStatusService}.
+ * - Plans are computed from an {@link AccountSnapshot} captured on the client thread, so builds run on
+ *   the {@link PlanPipeline} executor. Finished quests come from the journal states in the snapshot.
  * - Non-quest steps are not verifiable; the planner assumes completion once shown.
- * - Quest XP rewards (from {@link QuestDatabase}) are applied to simulated levels so that
- *   later requirements can be satisfied by earlier quest rewards.
+ * - Quest XP rewards (from {@link QuestDatabase}) are projected forward from the player's exact XP
+ *   by {@link XpProjection}, so TRAIN steps that earlier quest rewards will satisfy are suppressed,
+ *   and the rest start from the projected level.
+ * - Indices found complete are remembered in {@link SpineProgress}, so each build starts at the
+ *   first unfinished index and its cost depends on N rather than on how far along the route the player is.
  */
 @Singleton
 public class ProgressionPlanService
 {
-    /**
-     * When a user is behind the spine's expected skill levels, avoid inserting a single massive training wall.
-     * Instead, emit catch-up training in small chunks so the plan stays readable and motivational.
-     */
-    private static final int CATCH_UP_MAX_LEVEL_DELTA_PER_STEP = 5;
+    private static final Skill[] SKILLS = Skill.values();
 
     private static final Pattern LAMP_ON_PATTERN = Pattern.compile("(?i)\\blamp\\s+on\\s+([a-z ]+)\\b");
 
-    private final Client client;
-    private final QuestStatusService statusService;
     private final QuestDatabase questDatabase;
     private final StepCompletionService completionService;
 
+    // Last published build. Null while a build is pending, which makes every change look relevant.
+    private volatile PlanResult published;
+
+    private volatile ViewModelCache viewModelCache;
+
+    // Planner thread only.
+    private SpineProgress progress;
 
     @Inject
-    public ProgressionPlanService(Client client, QuestStatusService statusService, QuestDatabase questDatabase, StepCompletionService completionService)
+    public ProgressionPlanService(QuestDatabase questDatabase, StepCompletionService completionService)
     {
-        this.client = client;
-        this.statusService = statusService;
         this.questDatabase = questDatabase;
         this.completionService = completionService;
     }
 
-    
-    public List<PlanStep> buildNextSteps(List<RouteStep> spine, int maxSteps)
+    /**
+     * True if a change to the given spine index can alter the published plan. Steps past the deepest
+     * index the planner examined cannot. Always true while a build is pending.
+     */
+    public boolean affectsBuiltPlans(int spineIndex)
+    {
+        final PlanResult r = published;
+        return spineIndex >= 0 && (r == null || spineIndex <= r.getScanHorizon());
+    }
+
+    /**
+     * True if the skill's XP reaching {@code xp} can change a projected TRAIN level in the published plan.
+     * XP drops inside a level usually cannot, even with later quest rewards projected on top.
+     */
+    public boolean isXpSignificant(Skill skill, int xp)
+    {
+        final PlanResult r = published;
+        return skill != null && (r == null || r.isXpSignificant(skill.ordinal(), xp));
+    }
+
+    /**
+     * A new build was requested; treat every change as relevant until it is published.
+     */
+    void markPending()
+    {
+        published = null;
+    }
+
+    void publish(PlanResult result)
     {
-        List<SpineStepView> views = buildNextStepViews(spine, maxSteps);
+        published = result;
+    }
+
+    public List<PlanStep> buildNextSteps(CompiledSpine spine, AccountSnapshot snapshot, int maxSteps)
+    {
+        List<SpineStepView> views = buildNextStepViews(spine, snapshot, maxSteps);
         List<PlanStep> steps = new ArrayList<>(views.size());
         for (SpineStepView v : views)
         {
@@ -77,225 +111,254 @@ public class ProgressionPlanService
         return steps;
     }
 
-    public List<SpineStepView> buildNextStepViews(List<RouteStep> spine, int maxSteps)
+    /**
+     * Compute the next steps from captured account state. Planner thread only.
+     */
+    public List<SpineStepView> buildNextStepViews(CompiledSpine spine, AccountSnapshot snapshot, int maxSteps)
+    {
+        return plan(spine, snapshot, maxSteps).getViews();
+    }
+
+    PlanResult plan(CompiledSpine spine, AccountSnapshot snapshot, int maxSteps)
     {
         final List<SpineStepView> steps = new ArrayList<>();
-        if (spine == null || spine.isEmpty() || maxSteps <= 0)
+        final int[] xpBase = new int[SKILLS.length];
+        final int[] xpSlack = new int[SKILLS.length];
+        Arrays.fill(xpSlack, Integer.MAX_VALUE);
+        if (spine == null || spine.size() == 0 || maxSteps <= 0)
         {
-            return steps;
+            return new PlanResult(steps, -1, xpBase, xpSlack);
         }
 
-        for (int i = 0; i < spine.size() && steps.size() < maxSteps; i++)
+        final int total = spine.size();
+        final StepViewModel[] models = viewModels(spine);
+        final SpineProgress p = updateProgress(spine, snapshot);
+        final XpProjection xp = p.getProjection();
+
+        // Hop over indices already known complete; only unfinished ones are evaluated.
+        int last = -1;
+        for (int i = p.nextUnfinished(0); i < total && steps.size() < maxSteps; i = p.nextUnfinished(i + 1))
         {
-            final RouteStep step = spine.get(i);
-            if (step == null)
+            last = i;
+            switch (spine.getRuleId(i))
             {
-                continue;
-            }
-
-            final PlanStepType type = step.getType();
+                case CompiledSpine.RULE_QUEST:
+                {
+                    // QUEST steps: only skip if the journal says finished.
+                    final QuestState state = snapshot.getQuestState(spine.getQuest(i));
+                    if (state == QuestState.FINISHED)
+                    {
+                        p.markComplete(i);
+                        continue;
+                    }
+
+                    steps.add(models[i].getQuestView(state));
+                    continue;
+                }
 
-            // QUEST steps: only skip if the journal says finished.
-            if (type == PlanStepType.QUEST && step.getQuest() != null)
-            {
-                final Quest q = step.getQuest();
-                final QuestState state = statusService.getState(new QuestEntry(q, mergedWhy(step), resolveWikiUrl(step, q.getName())));
-                if (state == QuestState.FINISHED)
+                case CompiledSpine.RULE_LEVEL:
                 {
+                    // TRAIN steps: skip if the projected level on reaching this step meets the target.
+                    // Projection starts from exact XP (real, never boosted) plus rewards of earlier unfinished quests.
+                    final Skill skill = spine.getSkill(i);
+                    final int s = spine.getSkillOrdinal(i);
+                    final int have = xp.getProjectedLevel(i, s);
+                    final int target = spine.getTargetLevel(i);
+                    if (have >= target)
+                    {
+                        p.markComplete(i);
+                        continue;
+                    }
+
+                    // XP the skill can still gain before this step's projected level (shown as "from") changes.
+                    xpSlack[s] = Math.min(xpSlack[s], XpTable.xpForLevel(have + 1) - xp.getProjectedXp(i, s));
+
+                    steps.add(new SpineStepView(new TrainPlanStep(skill, have, target, models[i].getWhy()), i, total));
                     continue;
                 }
 
-                final QuestEntry qe = new QuestEntry(q, mergedWhy(step), resolveWikiUrl(step, q.getName()));
-                steps.add(new SpineStepView(new QuestPlanStep(qe, state), i, spine.size()));
-                continue;
+                case CompiledSpine.RULE_VARP:
+                case CompiledSpine.RULE_VARBIT:
+                    // Non-quest steps: use the pre-resolved completion check where available.
+                    if (completionService.isComplete(spine, i, snapshot))
+                    {
+                        p.markComplete(i);
+                        continue;
+                    }
+                    break;
+
+                default:
+                    break;
             }
 
-            // Non-quest steps: use explicit completion checks where available.
-            if (completionService.isComplete(step))
+            // Generic informational step, plus an explicit lamp step when the text includes lamp instructions.
+            final StepViewModel model = models[i];
+            if (model == null || model.getInfoView() == null)
             {
                 continue;
             }
 
-            // TRAIN steps: skip if current level meets the target.
-            if (type == PlanStepType.TRAIN && step.getSkill() != null)
+            steps.add(model.getInfoView());
+            if (model.getLampView() != null)
             {
-                final Skill skill = step.getSkill();
-                // Use real levels only; temporary boosts should not suppress TRAIN steps.
-                final int have = safeRealLevel(skill);
-                final int target = step.getToLevel();
-                if (have >= target)
-                {
-                    continue;
-                }
-
-                steps.add(new SpineStepView(new TrainPlanStep(skill, have, target, mergedWhy(step)), i, spine.size()));
-                continue;
+                steps.add(model.getLampView());
             }
+        }
 
-            // Generic informational step.
-            final String why = mergedWhy(step);
-            steps.add(new SpineStepView(InfoPlanStep.builder(type)
-                .title(step.getDisplayName())
-                .detail(why)
-                .wikiUrl(step.getWikiUrl())
-                .build(), i, spine.size()));
-
-            // If the step text includes lamp instructions, surface them explicitly.
-            final String lamp = extractLampInstruction(why);
-            if (lamp != null)
-            {
-                steps.add(new SpineStepView(InfoPlanStep.builder(PlanStepType.LAMP)
-                    .title("Use lamp")
-                    .detail(lamp)
-                    .build(), i, spine.size()));
-            }
+        for (Skill skill : SKILLS)
+        {
+            xpBase[skill.ordinal()] = snapshot.getSkillXp(skill.ordinal());
         }
 
-        return steps;
+        // Skipped indices are complete and cannot change, so the last visited one bounds the scan.
+        return new PlanResult(steps, last, xpBase, xpSlack);
     }
 
 
-    private static String safeTitle(RouteStep s)
+    /**
+     * Completion of every spine index, for browsing the whole route. Unlike {@link #plan} this evaluates
+     * every unfinished index, so it is only run while the route browser is open. Planner thread only.
+     */
+    BitSet routeCompletion(CompiledSpine spine, AccountSnapshot snapshot)
     {
-        if (s.getDisplayName() != null && !s.getDisplayName().trim().isEmpty())
+        if (spine == null || spine.size() == 0)
         {
-            return s.getDisplayName().trim();
+            return new BitSet();
         }
-        if (s.getType() == PlanStepType.QUEST && s.getQuest() != null)
-        {
-            return s.getQuest().getName();
-        }
-        if (s.getType() == PlanStepType.TRAIN && s.getSkill() != null && s.getToLevel() != null)
+
+        final SpineProgress p = updateProgress(spine, snapshot);
+        final XpProjection xp = p.getProjection();
+        for (int i = p.nextUnfinished(0); i < spine.size(); i = p.nextUnfinished(i + 1))
         {
-            return "Train " + s.getSkill().getName() + " to " + s.getToLevel();
+            final boolean done;
+            switch (spine.getRuleId(i))
+            {
+                case CompiledSpine.RULE_QUEST:
+                    done = snapshot.getQuestState(spine.getQuest(i)) == QuestState.FINISHED;
+                    break;
+                case CompiledSpine.RULE_LEVEL:
+                    done = xp.getProjectedLevel(i, spine.getSkillOrdinal(i)) >= spine.getTargetLevel(i);
+                    break;
+                case CompiledSpine.RULE_VARP:
+                case CompiledSpine.RULE_VARBIT:
+                    done = completionService.isComplete(spine, i, snapshot);
+                    break;
+                default:
+                    done = false;
+                    break;
+            }
+
+            if (done)
+            {
+                p.markComplete(i);
+            }
         }
-        return s.getType().name();
+        return p.copyComplete();
     }
 
-    private int safeRealLevel(Skill skill)
+    /**
+     * Player-independent view models for every spine index, built once per compiled spine.
+     */
+    public StepViewModel[] viewModels(CompiledSpine spine)
     {
-        if (skill == null)
+        final ViewModelCache cache = viewModelCache;
+        if (cache != null && cache.spine == spine)
         {
-            return 1;
+            return cache.models;
         }
 
-        try
-        {
-            return Math.max(1, client.getRealSkillLevel(skill));
-        }
-        catch (Exception e)
-        {
-            return 1;
-        }
+        final StepViewModel[] models = buildViewModels(spine);
+        viewModelCache = new ViewModelCache(spine, models);
+        return models;
     }
 
-
-    private RouteStep nextUnfinished(List<RouteStep> spine, int startIdx,
-                                     Set<Quest> simulatedFinished,
-                                     Map<Skill, Integer> simulatedLevels)
+    private StepViewModel[] buildViewModels(CompiledSpine spine)
     {
-        for (int i = startIdx; i < spine.size(); i++)
+        final int total = spine.size();
+        final StepViewModel[] out = new StepViewModel[total];
+
+        for (int i = 0; i < total; i++)
         {
-            RouteStep s = spine.get(i);
-            if (s == null)
+            final RouteStep step = spine.getStep(i);
+            if (step == null)
             {
                 continue;
             }
 
-            if (s.getType() == PlanStepType.QUEST && s.getQuest() != null)
-            {
-                if (!simulatedFinished.contains(s.getQuest()))
-                {
-                    return s;
-                }
-            }
-            else if (s.getType() == PlanStepType.TRAIN && s.getSkill() != null && s.getToLevel() != null)
-            {
-                int have = simulatedLevels.getOrDefault(s.getSkill(), 1);
-                if (have < s.getToLevel())
-                {
-                    return s;
-                }
-                // else already done
-            }
-            else
+            final String why = mergedWhy(step);
+
+            if (spine.getRuleId(i) == CompiledSpine.RULE_QUEST)
             {
-                // Non-quest steps are not verifiable, but a small subset can be inferred from account state.
-                // If inferred complete, skip it so the quest spine remains clean.
-                if (completionService.isComplete(s))
+                final Quest q = spine.getQuest(i);
+                final String url = resolveWikiUrl(step, q.getName());
+                final QuestEntry qe = new QuestEntry(q, why, url);
+
+                final QuestState[] states = QuestState.values();
+                final SpineStepView[] views = new SpineStepView[states.length];
+                for (QuestState st : states)
                 {
-                    continue;
+                    views[st.ordinal()] = new SpineStepView(new QuestPlanStep(qe, st), i, total);
                 }
 
-                // Otherwise treat as unfinished until shown.
-                return s;
+                out[i] = new StepViewModel(qe, why, url, null, views, null, null);
+                continue;
             }
-        }
-        return null;
-    }
 
-    private static int indexOf(List<RouteStep> spine, RouteStep step)
-    {
-        // RouteStep is immutable and small; linear search is OK at plugin scale.
-        for (int i = 0; i < spine.size(); i++)
-        {
-            if (spine.get(i) == step)
+            if (spine.getRuleId(i) == CompiledSpine.RULE_LEVEL)
             {
-                return i;
+                out[i] = new StepViewModel(null, why, step.getWikiUrl(), null, null, null, null);
+                continue;
             }
+
+            final SpineStepView info = new SpineStepView(InfoPlanStep.builder(step.getType())
+                .title(step.getDisplayName())
+                .detail(why)
+                .wikiUrl(step.getWikiUrl())
+                .build(), i, total);
+
+            final String lamp = extractLampInstruction(why);
+            final SpineStepView lampView = lamp == null ? null : new SpineStepView(InfoPlanStep.builder(PlanStepType.LAMP)
+                .title("Use lamp")
+                .detail(lamp)
+                .build(), i, total);
+
+            out[i] = new StepViewModel(null, why, step.getWikiUrl(), lamp, null, info, lampView);
         }
-        return 0;
-    }
 
-    private QuestState stateFor(Quest q, Set<Quest> simulatedFinished)
-    {
-        return simulatedFinished.contains(q) ? QuestState.FINISHED : QuestState.NOT_STARTED;
+        return out;
     }
 
-    private void applyQuestXp(Quest q, Map<Skill, Integer> simulatedLevels)
+    /**
+     * Bring the per-account progress up to date: start over if the account may have changed, then feed
+     * the projection the current exact XP from the first unfinished index on.
+     *
+     * Quest states are not synced here. Callers visit unfinished indices in ascending order and mark
+     * finished quests as they meet them, and projection rows are computed lazily when read, so a row is
+     * never read before every quest ahead of it has been checked against this snapshot. The cost is
+     * bounded by the indices a build visits, not by the length of the spine.
+     */
+    private SpineProgress updateProgress(CompiledSpine spine, AccountSnapshot snapshot)
     {
-        Map<Skill, Integer> xp = questDatabase.getXpRewards(q);
-        if (xp == null || xp.isEmpty())
-        {
-            return;
-        }
-
-        // MVP: approximate XP -> level by assuming reward is enough to reach at least the requirement gate
-        // if the level delta is small. Exact XP tables can be added later.
-        for (Map.Entry<Skill, Integer> en : xp.entrySet())
+        SpineProgress p = progress;
+        if (p == null || p.getSpine() != spine)
         {
-            Skill s = en.getKey();
-            int addXp = en.getValue() == null ? 0 : en.getValue();
-            if (s == null || addXp <= 0)
-            {
-                continue;
-            }
-
-            int curLevel = simulatedLevels.getOrDefault(s, 1);
-            int baseXp = com.ironpath.util.XpTable.xpForLevel(curLevel);
-            int bumped = com.ironpath.util.XpTable.levelForXp(baseXp + addXp);
-            if (bumped > curLevel)
-            {
-                simulatedLevels.put(s, bumped);
-            }
+            p = new SpineProgress(spine, questDatabase);
+            progress = p;
         }
-    }
 
-    private Map<Skill, Integer> mergedMinSkills(RouteStep step)
-    {
-        Map<Skill, Integer> base = questDatabase.getMinSkills(step.getQuest());
-        if (step.getMinSkillsOverride() == null || step.getMinSkillsOverride().isEmpty())
+        if (p.getAccountEpoch() != snapshot.getAccountEpoch())
         {
-            return base == null ? Map.of() : base;
+            p.reset();
+            p.setAccountEpoch(snapshot.getAccountEpoch());
         }
 
-        Map<Skill, Integer> out = new EnumMap<>(Skill.class);
-        if (base != null)
+        final XpProjection xp = p.getProjection();
+        xp.setOrigin(p.getFirstUnfinished());
+        for (Skill skill : SKILLS)
         {
-            out.putAll(base);
+            xp.setBaseXp(skill.ordinal(), snapshot.getSkillXp(skill.ordinal()));
         }
-        out.putAll(step.getMinSkillsOverride());
-        return out;
+        return p;
     }
 
     private String mergedWhy(RouteStep step)
@@ -364,48 +427,6 @@ public class ProgressionPlanService
         }
     }
 
-    private static List<TrainPlanStep> missingSkills(RouteStep target, Map<Skill, Integer> req, Map<Skill, Integer> simulatedLevels, int maxDeltaPerStep)
-    {
-        final List<TrainPlanStep> out = new ArrayList<>();
-        if (req == null || req.isEmpty())
-        {
-            return out;
-        }
-
-        String title = target.getDisplayName();
-        if (title == null || title.isEmpty())
-        {
-            title = target.getQuest() != null ? target.getQuest().getName() : "next quest";
-        }
-
-        for (Map.Entry<Skill, Integer> en : req.entrySet())
-        {
-            final Skill s = en.getKey();
-            final int need = en.getValue() == null ? 1 : en.getValue();
-            final int have = simulatedLevels.getOrDefault(s, 1);
-            if (have < need)
-            {
-                final int to = maxDeltaPerStep > 0 ? Math.min(need, have + maxDeltaPerStep) : need;
-                out.add(new TrainPlanStep(s, have, to, "Required for " + title + "."));
-            }
-        }
-
-        // Stable ordering: biggest deficit first, then skill name.
-        out.sort((a, b) ->
-        {
-            int da = a.getToLevel() - a.getFromLevel();
-            int db = b.getToLevel() - b.getFromLevel();
-            if (da != db)
-            {
-                return Integer.compare(db, da);
-            }
-            return a.getSkill().name().compareToIgnoreCase(b.getSkill().name());
-        });
-
-        return out;
-    }
-
-
     private static String extractLampInstruction(String why)
     {
         if (why == null || why.isBlank())
@@ -422,28 +443,15 @@ public class ProgressionPlanService
         return why.substring(m.start()).trim();
     }
 
-    private boolean shouldSkip(RouteStep step)
+    private static final class ViewModelCache
     {
-        if (step == null || step.getType() == null)
-        {
-            return true;
-        }
+        private final CompiledSpine spine;
+        private final StepViewModel[] models;
 
-        switch (step.getType())
+        private ViewModelCache(CompiledSpine spine, StepViewModel[] models)
         {
-            case QUEST:
-            case MINIQUEST:
-                return step.getQuest() == null;
-
-            case TRAIN:
-                return step.getSkill() == null || step.getToLevel() == null;
-
-            case DIARY:
-            case NOTE:
-                return step.getDisplayName() == null || step.getDisplayName().trim().isEmpty();
-
-            default:
-                return false;
+            this.spine = spine;
+            this.models = models;
         }
     }
 }
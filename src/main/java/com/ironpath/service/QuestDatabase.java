@@ -1,16 +1,13 @@
 package com.ironpath.service;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.google.inject.Singleton;
+import com.ironpath.model.QuestMeta;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.EnumMap;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import javax.inject.Inject;
@@ -27,7 +24,8 @@ import net.runelite.api.Skill;
  * - tags (e.g., filler/capstone/unlock)
  * - "why" blurbs
  *
- * All data is loaded from resources so it can evolve without code changes.
+ * All data is loaded from resources so it can evolve without code changes. Packaged builds read the
+ * precompiled {@link RouteBundle}; quest_db.json is only parsed when the bundle is missing (e.g. IDE runs).
  */
 @Slf4j
 @Singleton
@@ -35,210 +33,68 @@ public class QuestDatabase
 {
     private static final String RESOURCE_PATH = "/com/ironpath/quest_db.json";
 
-    private final Gson gson;
+    private final QuestNameResolver nameResolver;
 
-    private final Map<Quest, QuestMeta> metaByQuest;
+    // Empty until loadMetadata() has run; see QuestRouteService#load(Executor).
+    private volatile Map<Quest, QuestMeta> metaByQuest = Map.of();
 
     @Inject
-    public QuestDatabase(final Gson gson)
+    public QuestDatabase(final QuestNameResolver nameResolver)
     {
-        this.gson = gson;
-        this.metaByQuest = Collections.unmodifiableMap(load());
+        this.nameResolver = nameResolver;
+    }
+
+    /**
+     * Take the metadata from the bundle, or read the JSON resource if there is none. Blocking; run in the
+     * background by {@link QuestRouteService#load(java.util.concurrent.Executor)}.
+     */
+    void loadMetadata(RouteBundle bundle)
+    {
+        this.metaByQuest = Collections.unmodifiableMap(bundle != null ? bundle.getQuestMeta() : load());
     }
 
     public Map<Skill, Integer> getMinSkills(Quest quest)
     {
         QuestMeta m = metaByQuest.get(quest);
-        return m == null ? Map.of() : m.minSkills;
+        return m == null ? Map.of() : m.getMinSkills();
     }
 
     public Map<Skill, Integer> getXpRewards(Quest quest)
     {
         QuestMeta m = metaByQuest.get(quest);
-        return m == null ? Map.of() : m.xpRewards;
+        return m == null ? Map.of() : m.getXpRewards();
     }
 
     public Set<String> getTags(Quest quest)
     {
         QuestMeta m = metaByQuest.get(quest);
-        return m == null ? Set.of() : m.tags;
+        return m == null ? Set.of() : m.getTags();
     }
 
     public String getWhy(Quest quest)
     {
         QuestMeta m = metaByQuest.get(quest);
-        return m == null ? null : m.why;
+        return m == null ? null : m.getWhy();
     }
 
     private Map<Quest, QuestMeta> load()
     {
-        InputStream in = QuestDatabase.class.getResourceAsStream(RESOURCE_PATH);
-        if (in == null)
-        {
-            log.warn("Quest DB resource not found at {}. Using empty metadata.", RESOURCE_PATH);
-            return Map.of();
-        }
-
-        try (InputStreamReader r = new InputStreamReader(in, StandardCharsets.UTF_8))
+        try (InputStream in = QuestDatabase.class.getResourceAsStream(RESOURCE_PATH))
         {
-            Type t = new TypeToken<Map<String, QuestMetaJson>>() {}.getType();
-            Map<String, QuestMetaJson> raw = gson.fromJson(r, t);
-            if (raw == null || raw.isEmpty())
+            if (in == null)
             {
+                log.warn("Quest DB resource not found at {}. Using empty metadata.", RESOURCE_PATH);
                 return Map.of();
             }
 
-            Map<Quest, QuestMeta> out = new EnumMap<>(Quest.class);
-            int unresolved = 0;
-
-            for (Map.Entry<String, QuestMetaJson> en : raw.entrySet())
-            {
-                Quest q = resolveQuestEnum(en.getKey());
-                if (q == null)
-                {
-                    unresolved++;
-                    continue;
-                }
-
-                QuestMetaJson j = en.getValue();
-                QuestMeta meta = new QuestMeta();
-                meta.why = j.why;
-
-                meta.tags = j.tags == null ? Set.of() : Collections.unmodifiableSet(new HashSet<>(j.tags));
-
-                // minSkills
-                Map<Skill, Integer> req = new EnumMap<>(Skill.class);
-                if (j.minSkills != null)
-                {
-                    for (Map.Entry<String, Number> rs : j.minSkills.entrySet())
-                    {
-                        Skill s = resolveSkillEnum(rs.getKey());
-                        if (s != null && rs.getValue() != null)
-                        {
-                            req.put(s, rs.getValue().intValue());
-                        }
-                    }
-                }
-                meta.minSkills = Collections.unmodifiableMap(req);
-
-                // xpRewards
-                Map<Skill, Integer> xp = new EnumMap<>(Skill.class);
-                if (j.xpRewards != null)
-                {
-                    for (Map.Entry<String, Number> xs : j.xpRewards.entrySet())
-                    {
-                        Skill s = resolveSkillEnum(xs.getKey());
-                        if (s != null && xs.getValue() != null)
-                        {
-                            xp.put(s, xs.getValue().intValue());
-                        }
-                    }
-                }
-                meta.xpRewards = Collections.unmodifiableMap(xp);
-
-                out.put(q, meta);
-            }
-
-            if (unresolved > 0)
-            {
-                log.warn("Quest DB had {} entries that did not map to a RuneLite Quest enum.", unresolved);
-            }
-
-            return out;
+            return RouteJsonReader.readQuestDb(
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                    nameResolver, RouteJsonReader.logTo(RESOURCE_PATH));
         }
-        catch (Exception e)
+        catch (IOException | RuntimeException e)
         {
             log.warn("Failed to load quest metadata; using empty metadata.", e);
             return Map.of();
         }
     }
-
-    private static Quest resolveQuestEnum(String s)
-    {
-        if (s == null)
-        {
-            return null;
-        }
-        String key = s.trim();
-        if (key.isEmpty())
-        {
-            return null;
-        }
-
-        try
-        {
-            return Quest.valueOf(key);
-        }
-        catch (IllegalArgumentException ignored)
-        {
-            // Not an enum constant name.
-        }
-
-        // Best-effort: match by Quest.getName()
-        String norm = normalizeName(key);
-        for (Quest q : Quest.values())
-        {
-            if (normalizeName(q.getName()).equals(norm))
-            {
-                return q;
-            }
-        }
-        return null;
-    }
-
-    private static Skill resolveSkillEnum(String s)
-    {
-        if (s == null)
-        {
-            return null;
-        }
-        String key = s.trim();
-        if (key.isEmpty())
-        {
-            return null;
-        }
-        try
-        {
-            return Skill.valueOf(key);
-        }
-        catch (IllegalArgumentException ignored)
-        {
-            // not enum name
-        }
-
-        // Best-effort common variants.
-        String upper = key.toUpperCase();
-        upper = upper.replace(' ', '_').replace('-', '_');
-        try
-        {
-            return Skill.valueOf(upper);
-        }
-        catch (IllegalArgumentException ignored)
-        {
-            return null;
-        }
-    }
-
-    private static String normalizeName(String s)
-    {
-        String lower = s == null ? "" : s.toLowerCase();
-        lower = lower.replaceAll("[^a-z0-9]", "");
-        return lower;
-    }
-
-    private static final class QuestMeta
-    {
-        private Map<Skill, Integer> minSkills = Map.of();
-        private Map<Skill, Integer> xpRewards = Map.of();
-        private Set<String> tags = Set.of();
-        private String why;
-    }
-
-    private static final class QuestMetaJson
-    {
-        private Map<String, Number> minSkills;
-        private Map<String, Number> xpRewards;
-        private Set<String> tags;
-        private String why;
-    }
 }
@@ -0,0 +1,210 @@
+package com.ironpath.service;
+
+import com.google.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import net.runelite.api.Quest;
+
+/**
+ * Resolves quest names from route rows, the quest database and legacy prereq strings to {@link Quest}.
+ *
+ * Names are compared on their lower-cased letters and digits only, so punctuation, spacing and case
+ * differences ("Cook's Assistant", "cooks assistant", "COOKS_ASSISTANT") all match. Every quest is
+ * indexed under its display name and, where that differs, its enum constant name; display names win
+ * on collision. {@link #resolveKey} is for explicit quest keys and tries the exact enum constant name
+ * first, so a key always means the constant it spells even when the rule above would pick another.
+ *
+ * The index is an open-addressing table over the normalized keys, built once. Lookups hash and compare
+ * the query in place without normalizing it into a new string, so they do not allocate. Immutable after
+ * construction and safe to share between threads.
+ */
+@Singleton
+public class QuestNameResolver
+{
+    private final String[] keys;
+    private final int[] hashes;
+    private final Quest[] values;
+    private final int mask;
+    private final Map<String, Quest> byEnumName;
+
+    @Inject
+    public QuestNameResolver()
+    {
+        final Quest[] quests = Quest.values();
+
+        int size = 1;
+        while (size < quests.length * 4)
+        {
+            size <<= 1;
+        }
+        keys = new String[size];
+        hashes = new int[size];
+        values = new Quest[size];
+        mask = size - 1;
+
+        for (Quest q : quests)
+        {
+            if (q.getName() != null)
+            {
+                put(q.getName(), q);
+            }
+        }
+        for (Quest q : quests)
+        {
+            put(q.name(), q);
+        }
+
+        byEnumName = new HashMap<>(quests.length * 2);
+        for (Quest q : quests)
+        {
+            byEnumName.put(q.name(), q);
+        }
+    }
+
+    /**
+     * The quest whose enum constant is named exactly {@code key} after trimming, otherwise
+     * {@link #resolve(CharSequence)}.
+     */
+    public Quest resolveKey(String key)
+    {
+        if (key == null)
+        {
+            return null;
+        }
+
+        final Quest q = byEnumName.get(key.trim());
+        return q != null ? q : resolve(key);
+    }
+
+    /**
+     * The quest whose display or enum name matches, ignoring case and anything but letters and digits;
+     * null if none does.
+     */
+    public Quest resolve(CharSequence name)
+    {
+        if (name == null)
+        {
+            return null;
+        }
+
+        final int h = hash(name);
+        for (int i = h & mask; keys[i] != null; i = (i + 1) & mask)
+        {
+            if (hashes[i] == h && matches(keys[i], name))
+            {
+                return values[i];
+            }
+        }
+        return null;
+    }
+
+    // Keeps the first quest indexed under a key.
+    private void put(String name, Quest quest)
+    {
+        if (isBlankKey(name))
+        {
+            // No letters or digits at all; nothing sensible to match against.
+            return;
+        }
+
+        final int h = hash(name);
+        int i = h & mask;
+        while (keys[i] != null)
+        {
+            if (hashes[i] == h && matches(keys[i], name))
+            {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = normalize(name);
+        hashes[i] = h;
+        values[i] = quest;
+    }
+
+    private static int hash(CharSequence s)
+    {
+        int h = 1;
+        for (int i = 0; i < s.length(); i++)
+        {
+            final char c = fold(s.charAt(i));
+            if (c != 0)
+            {
+                h = 31 * h + c;
+            }
+        }
+        // Spread the low bits for the power-of-two table.
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Compares an already-normalized key against a raw query, skipping the query's ignored characters.
+     */
+    private static boolean matches(String key, CharSequence query)
+    {
+        int k = 0;
+        for (int i = 0; i < query.length(); i++)
+        {
+            final char c = fold(query.charAt(i));
+            if (c == 0)
+            {
+                continue;
+            }
+            if (k >= key.length() || key.charAt(k) != c)
+            {
+                return false;
+            }
+            k++;
+        }
+        return k == key.length();
+    }
+
+    private static String normalize(String s)
+    {
+        final StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++)
+        {
+            final char c = fold(s.charAt(i));
+            if (c != 0)
+            {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isBlankKey(String s)
+    {
+        for (int i = 0; i < s.length(); i++)
+        {
+            if (fold(s.charAt(i)) != 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lower-case letter or digit, or 0 for characters that are ignored. ASCII is decided inline; anything
+     * else goes through {@link Character}.
+     */
+    private static char fold(char c)
+    {
+        if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9')
+        {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z')
+        {
+            return (char) (c + ('a' - 'A'));
+        }
+        if (c < 0x80 || !Character.isLetterOrDigit(c))
+        {
+            return 0;
+        }
+        return Character.toLowerCase(c);
+    }
+}
@@ -19,12 +19,14 @@ public class QuestPlannerService
 {
     private final Client client;
     private final QuestStatusService statusService;
+    private final QuestNameResolver nameResolver;
 
     @Inject
-    public QuestPlannerService(Client client, QuestStatusService statusService)
+    public QuestPlannerService(Client client, QuestStatusService statusService, QuestNameResolver nameResolver)
     {
         this.client = client;
         this.statusService = statusService;
+        this.nameResolver = nameResolver;
     }
 
     public PlanSnapshot compute(List<QuestEntry> route)
@@ -107,7 +109,7 @@ public class QuestPlannerService
             {
                 continue;
             }
-            final QuestState st = statusService.getStateByName(prereq);
+            final QuestState st = statusService.getState(nameResolver.resolve(prereq));
             if (st != QuestState.FINISHED)
             {
                 blockers.add(QuestBlocker.prereqQuest(prereq));
@@ -1,35 +1,36 @@
 package com.ironpath.service;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
 import com.google.inject.Singleton;
-import com.ironpath.model.PlanStepType;
+import com.ironpath.model.CompiledSpine;
 import com.ironpath.model.RouteStep;
+import com.ironpath.model.SkillThresholdIndex;
+import com.ironpath.model.SpineDependencyIndex;
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.EnumSet;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import lombok.extern.slf4j.Slf4j;
-import net.runelite.api.Quest;
-import net.runelite.api.Skill;
 
 /**
  * Provides the canonical progression spine.
  *
  * The spine is loaded from a resource file (wiki_route.json) and then completed by appending
- * any missing RuneLite quests so the plugin always remains quest-cape complete.
+ * any missing RuneLite quests so the plugin always remains quest-cape complete. Packaged builds read
+ * the rows from the precompiled {@link RouteBundle} instead, with quests already resolved.
  *
  * Important: this service provides *order*. Facts (requirements, XP rewards, tags, why) come
  * from {@link QuestDatabase}.
+ *
+ * The spine is also compiled once into a {@link CompiledSpine} for the planner's hot loops, and a
+ * {@link SpineDependencyIndex} so varp/varbit changes can be mapped back to the steps they affect.
+ * A {@link SkillThresholdIndex} does the same for real level changes against TRAIN targets.
+ *
+ * Nothing is read at construction; {@link #load(Executor)} does the work off the plugin startup path.
  */
 @Slf4j
 @Singleton
@@ -38,252 +39,136 @@ public class QuestRouteService
     private static final String ROUTE_RESOURCE = "/com/ironpath/wiki_route.json";
     private static final String TAG_FILLER = "filler";
 
-    private final Gson gson;
+    private final StepCompletionService completionService;
+    private final QuestDatabase questDatabase;
+    private final QuestNameResolver nameResolver;
 
-    private final List<RouteStep> spine;
+    // Replaced once when loading completes; an empty route until then.
+    private volatile Route route;
+    private CompletableFuture<Void> loaded;
 
     @Inject
-    public QuestRouteService(final Gson gson)
-    {
-        this.gson = gson;
-        this.spine = buildSpine();
-    }
-
-    public List<RouteStep> getSpine()
+    public QuestRouteService(final StepCompletionService completionService, final QuestDatabase questDatabase,
+                             final QuestNameResolver nameResolver)
     {
-        return spine;
+        this.completionService = completionService;
+        this.questDatabase = questDatabase;
+        this.nameResolver = nameResolver;
+        this.route = compile(List.of());
     }
 
-    private List<RouteStep> buildSpine()
+    /**
+     * Load the route and the quest database as one task on the given executor; only the first call
+     * starts the work. Until the returned future completes, every getter sees an empty route. A failed
+     * load is logged and leaves the route empty; the future itself always completes normally.
+     *
+     * The plugin passes RuneLite's single-thread executor, where two tasks would only run back to back,
+     * so the packaged bundle is read once and feeds both.
+     */
+    public synchronized CompletableFuture<Void> load(Executor executor)
     {
-        final List<RouteStep> out = new ArrayList<>();
-        final Set<Quest> addedQuests = new LinkedHashSet<>();
-
-        // 1) Load route steps from JSON.
-        List<RouteStepJson> raw = loadJson();
-        if (raw != null)
+        if (loaded == null)
         {
-            Map<String, Quest> questIndex = indexByNormalizedName();
-
-            for (RouteStepJson r : raw)
-            {
-                if (r == null || r.type == null)
-                {
-                    continue;
-                }
-
-                PlanStepType type;
-                try
-                {
-                    type = PlanStepType.valueOf(r.type.trim().toUpperCase(Locale.ROOT));
-                }
-                catch (Exception e)
-                {
-                    continue;
-                }
-
-                RouteStep.Builder b = RouteStep.builder(type);
-
-                if (type == PlanStepType.QUEST)
-                {
-                    Quest q = null;
-
-                    // Prefer explicit enum name
-                    if (r.quest != null && !r.quest.trim().isEmpty())
-                    {
-                        try
-                        {
-                            q = Quest.valueOf(r.quest.trim());
-                        }
-                        catch (Exception ignored)
-                        {
-                            // fall through
-                        }
-                    }
-
-                    // Fallback: resolve via normalized display name
-                    if (q == null && r.displayName != null)
-                    {
-                        q = questIndex.get(normalize(r.displayName));
-                    }
-
-                    if (q == null)
-                    {
-                        // If we cannot resolve to a RuneLite quest, degrade it to NOTE
-                        // so the spine order remains visible and deterministic.
-                        out.add(RouteStep.builder(PlanStepType.NOTE)
-                                .displayName(r.displayName == null ? "Unresolved quest" : r.displayName)
-                                .why(r.why == null ? "Unresolved quest row from wiki route." : r.why)
-                                .build());
-                        continue;
-                    }
-
-                    if (addedQuests.contains(q))
+            loaded = CompletableFuture.supplyAsync(this::readRoute, executor)
+                    .exceptionally(e ->
                     {
-                        continue;
-                    }
-
-                    b.quest(q)
-                            .displayName(r.displayName != null ? r.displayName : q.getName())
-                            .why(r.why);
-
-                    if (r.tags != null && !r.tags.isEmpty())
-                    {
-                        b.tagsOverride(Set.copyOf(r.tags));
-                    }
-                    if (r.minSkills != null && !r.minSkills.isEmpty())
-                    {
-                        b.minSkillsOverride(parseSkillMap(r.minSkills));
-                    }
-
-                    out.add(b.build());
-                    addedQuests.add(q);
-                }
-                else if (type == PlanStepType.TRAIN)
-                {
-                    Skill s = parseSkill(r.skill);
-                    if (s == null || r.toLevel == null || r.toLevel < 1)
-                    {
-                        continue;
-                    }
-                    out.add(b.skill(s)
-                            .toLevel(r.toLevel)
-                            .displayName(r.displayName != null ? r.displayName : ("Train " + s.getName()))
-                            .why(r.why)
-                            .wikiUrl(r.wikiUrl)
-                            .build());
-                }
-                else
-                {
-                    out.add(b.displayName(r.displayName).why(r.why).wikiUrl(r.wikiUrl).build());
-                }
-            }
+                        log.warn("Failed to load route data", e);
+                        return List.of();
+                    })
+                    .thenAccept(spine -> route = compile(spine));
         }
-
-                // 2) Option A: Do NOT append non-wiki steps or remaining quests here.
-
-return out;
+        return loaded;
     }
 
-
-    private List<RouteStepJson> loadJson()
+    public boolean isLoaded()
     {
-        try (InputStream in = QuestRouteService.class.getResourceAsStream(ROUTE_RESOURCE))
+        final CompletableFuture<Void> f;
+        synchronized (this)
         {
-            if (in == null)
-            {
-                log.warn("Route resource not found: {}", ROUTE_RESOURCE);
-                return null;
-            }
-
-            Type type = new TypeToken<List<RouteStepJson>>() {}.getType();
-            return gson.fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), type);
-        }
-        catch (Exception e)
-        {
-            log.warn("Failed to load route JSON: {}", ROUTE_RESOURCE, e);
-            return null;
+            f = loaded;
         }
+        return f != null && f.isDone();
     }
 
-    private static Map<String, Quest> indexByNormalizedName()
+    public List<RouteStep> getSpine()
     {
-        // LinkedHashMap to preserve deterministic iteration if ever needed
-        java.util.LinkedHashMap<String, Quest> map = new java.util.LinkedHashMap<>();
-        for (Quest q : Quest.values())
-        {
-            String name = q.getName();
-            if (name != null)
-            {
-                map.put(normalize(name), q);
-            }
-
-            // Also index by enum constant formatting as a fallback.
-            map.putIfAbsent(normalize(q.name().replace('_', ' ')), q);
-            map.putIfAbsent(normalize(q.name()), q);
-        }
-        return map;
+        return route.spine;
     }
 
-    private static String normalize(String s)
+    public CompiledSpine getCompiledSpine()
     {
-        if (s == null)
-        {
-            return "";
-        }
+        return route.compiledSpine;
+    }
 
-        String t = s.trim().toLowerCase(Locale.ROOT);
-        // Keep letters/digits only to be resilient to punctuation differences (e.g., apostrophes, dashes).
-        t = t.replaceAll("[^a-z0-9]+", "");
-        return t;
+    public SpineDependencyIndex getDependencyIndex()
+    {
+        return route.dependencyIndex;
     }
 
-    private static Map<Skill, Integer> parseSkillMap(Map<String, Number> raw)
+    public SkillThresholdIndex getSkillThresholds()
     {
-        java.util.EnumMap<Skill, Integer> out = new java.util.EnumMap<>(Skill.class);
-        if (raw == null)
-        {
-            return out;
-        }
+        return route.skillThresholds;
+    }
 
-        for (Map.Entry<String, Number> e : raw.entrySet())
-        {
-            Skill s = parseSkill(e.getKey());
-            if (s == null || e.getValue() == null)
-            {
-                continue;
-            }
-            out.put(s, e.getValue().intValue());
-        }
-        return out;
+    /**
+     * Fill the quest database and return the spine, from the bundle if there is one.
+     */
+    private List<RouteStep> readRoute()
+    {
+        final RouteBundle bundle = RouteBundle.bundled();
+        questDatabase.loadMetadata(bundle);
+        return bundle != null ? bundle.getSteps() : buildSpine();
     }
 
-    private static Skill parseSkill(String raw)
+    private Route compile(List<RouteStep> spine)
     {
-        if (raw == null)
-        {
-            return null;
-        }
+        final Route r = new Route(spine, CompiledSpine.compile(spine, completionService::compile));
 
-        String key = raw.trim().toUpperCase(Locale.ROOT).replace(' ', '_');
-        // Common aliases found in wiki / JSON exports
-        if ("HP".equals(key))
-        {
-            key = "HITPOINTS";
-        }
-        if ("HITPOINT".equals(key))
-        {
-            key = "HITPOINTS";
-        }
-        if ("RUNECRAFTING".equals(key))
+        if (!spine.isEmpty())
         {
-            key = "RUNECRAFT";
+            log.debug("Compiled route spine: {} steps, {} not verifiable from client state",
+                    r.compiledSpine.size(), r.compiledSpine.countUnverifiable());
         }
+        return r;
+    }
 
-        try
+    private List<RouteStep> buildSpine()
+    {
+        try (InputStream in = QuestRouteService.class.getResourceAsStream(ROUTE_RESOURCE))
         {
-            return Skill.valueOf(key);
+            if (in == null)
+            {
+                log.warn("Route resource not found: {}", ROUTE_RESOURCE);
+                return List.of();
+            }
+
+            return RouteJsonReader.readRoute(
+                    new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                    nameResolver, RouteJsonReader.logTo(ROUTE_RESOURCE));
         }
-        catch (IllegalArgumentException ex)
+        catch (IOException | RuntimeException e)
         {
-            log.debug("Unknown skill in route JSON: {}", raw);
-            return null;
+            log.warn("Failed to load route JSON: {}", ROUTE_RESOURCE, e);
+            return List.of();
         }
     }
 
-
-    private static final class RouteStepJson
+    /**
+     * Everything derived from one loaded spine, published as a unit.
+     */
+    private static final class Route
     {
-        private String type;
-        private String quest;
-        private String displayName;
-        private String why;
-        private String wikiUrl;
-
-        private String skill;
-        private Integer toLevel;
+        private final List<RouteStep> spine;
+        private final CompiledSpine compiledSpine;
+        private final SpineDependencyIndex dependencyIndex;
+        private final SkillThresholdIndex skillThresholds;
 
-        private java.util.Set<String> tags;
-        private Map<String, Number> minSkills;
+        private Route(List<RouteStep> spine, CompiledSpine compiledSpine)
+        {
+            this.spine = spine;
+            this.compiledSpine = compiledSpine;
+            this.dependencyIndex = SpineDependencyIndex.build(compiledSpine, QuestStatusService.QUEST_POINTS_VARP);
+            this.skillThresholds = SkillThresholdIndex.build(compiledSpine);
+        }
     }
 }
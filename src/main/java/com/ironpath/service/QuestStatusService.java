@@ -2,30 +2,48 @@ package com.ironpath.service;
 
 import com.google.inject.Singleton;
 import com.ironpath.model.QuestEntry;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
-import java.util.Map;
 import javax.inject.Inject;
 import net.runelite.api.Client;
 import net.runelite.api.Quest;
 import net.runelite.api.QuestState;
 
+/**
+ * Quest journal state lookups.
+ *
+ * {@link Quest#getState(Client)} runs a client script, so states are cached by {@link Quest} ordinal
+ * and only re-read after {@link #invalidate()}. The plugin invalidates on startup, quest point varp
+ * changes, quest completion messages and login/hop transitions. All access must happen on the client
+ * thread.
+ */
 @Singleton
 public class QuestStatusService
 {
+    /**
+     * Quest points varp. Changes whenever a quest is completed, which is the transition the planner cares about.
+     */
+    public static final int QUEST_POINTS_VARP = 101;
+
+    private static final Quest[] QUESTS = Quest.values();
+
     private final Client client;
-    private final Map<String, Quest> byNormalizedName = new HashMap<>();
+    private final QuestNameResolver nameResolver;
+
+    // Indexed by Quest ordinal; null means "not read since the last invalidation".
+    private final QuestState[] stateCache = new QuestState[QUESTS.length];
+
+    // Bumped by every invalidate(), so callers holding derived state know when to re-read.
+    private long generation;
+
+    // Number of Quest.getState calls made, i.e. cache misses. Only read for the debug metrics.
+    private long reads;
 
     @Inject
-    public QuestStatusService(Client client)
+    public QuestStatusService(Client client, QuestNameResolver nameResolver)
     {
         this.client = client;
-
-        for (Quest q : Quest.values())
-        {
-            byNormalizedName.put(normalize(q.getName()), q);
-        }
+        this.nameResolver = nameResolver;
     }
 
     /**
@@ -34,11 +52,7 @@ public class QuestStatusService
      */
     public Quest resolveQuest(String questName)
     {
-        if (questName == null)
-        {
-            return null;
-        }
-        return byNormalizedName.get(normalize(questName));
+        return nameResolver.resolve(questName);
     }
 
     public QuestState getState(QuestEntry entry)
@@ -51,18 +65,59 @@ public class QuestStatusService
         final Quest direct = entry.getQuest();
         if (direct != null)
         {
-            return direct.getState(client);
+            return getState(direct);
         }
 
         // Legacy fallback only. Route entries should be backed by Quest to avoid localization issues.
-        final Quest q = resolveQuest(entry.getQuestName());
-        return q == null ? QuestState.NOT_STARTED : q.getState(client);
+        return getState(resolveQuest(entry.getQuestName()));
+    }
+
+    public QuestState getState(Quest quest)
+    {
+        if (quest == null)
+        {
+            return QuestState.NOT_STARTED;
+        }
+
+        final int ordinal = quest.ordinal();
+        QuestState state = stateCache[ordinal];
+        if (state == null)
+        {
+            state = quest.getState(client);
+            stateCache[ordinal] = state;
+            reads++;
+        }
+        return state;
     }
 
     public QuestState getStateByName(String questName)
     {
-        final Quest q = resolveQuest(questName);
-        return q == null ? QuestState.NOT_STARTED : q.getState(client);
+        return getState(resolveQuest(questName));
+    }
+
+    /**
+     * Drops every cached quest state so the next lookup re-reads it from the client.
+     */
+    public void invalidate()
+    {
+        Arrays.fill(stateCache, null);
+        generation++;
+    }
+
+    /**
+     * Counter that changes whenever cached states are dropped.
+     */
+    public long getGeneration()
+    {
+        return generation;
+    }
+
+    /**
+     * Total {@link Quest#getState(Client)} calls made so far. Client thread only.
+     */
+    public long getReadCount()
+    {
+        return reads;
     }
 
     public int countCompleted(List<QuestEntry> route)
@@ -90,26 +145,4 @@ public class QuestStatusService
         }
         return null;
     }
-
-    private static String normalize(String s)
-    {
-        if (s == null)
-        {
-            return "";
-        }
-
-        final String lower = s.toLowerCase(Locale.ROOT);
-        final StringBuilder sb = new StringBuilder(lower.length());
-
-        for (int i = 0; i < lower.length(); i++)
-        {
-            final char c = lower.charAt(i);
-            if (Character.isLetterOrDigit(c))
-            {
-                sb.append(c);
-            }
-        }
-
-        return sb.toString();
-    }
 }
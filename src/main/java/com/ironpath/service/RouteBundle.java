@@ -0,0 +1,521 @@
+package com.ironpath.service;
+
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestMeta;
+import com.ironpath.model.RouteStep;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+/**
+ * Precompiled route spine and quest database, produced at build time by the {@code compileRoute}
+ * Gradle task from wiki_route.json and quest_db.json.
+ *
+ * The resource is read in one sequential pass. All strings live in a deduplicated table and every
+ * quest and skill is stored both as an ordinal and as its enum name. Ordinals are used directly when
+ * the running client's enums match the ones the bundle was compiled against (checked by fingerprint);
+ * otherwise each distinct name is resolved once with {@code valueOf}, so a RuneLite update that adds
+ * quests never shifts the route.
+ *
+ * Layout (big-endian, {@link DataOutputStream}):
+ * <pre>
+ * int magic, short version, int stepTypeFingerprint, int questFingerprint, int skillFingerprint
+ * int stringCount, UTF[stringCount]
+ * int stepCount, step[stepCount]
+ *   byte type, quest, skill, int toLevel (-1 = none), str displayName, str why, str wikiUrl,
+ *   tags, byte minSkillCount, (skill, short level)[]
+ * int questCount, meta[questCount]
+ *   quest, str why, tags, byte minSkillCount, (skill, short level)[], byte xpCount, (skill, int xp)[]
+ * quest = short ordinal (-1 = none), str name; skill = byte ordinal (-1 = none), str name
+ * str = int string index (-1 = null); tags = short count, str[count]
+ * </pre>
+ */
+@Slf4j
+public final class RouteBundle
+{
+    public static final String RESOURCE = "/com/ironpath/route.bin";
+
+    private static final int MAGIC = 0x49505242; // "IPRB"
+    private static final int VERSION = 1;
+
+    private static final PlanStepType[] STEP_TYPES = PlanStepType.values();
+    private static final Quest[] QUESTS = Quest.values();
+    private static final Skill[] SKILLS = Skill.values();
+
+    private final List<RouteStep> steps;
+    private final Map<Quest, QuestMeta> questMeta;
+
+    private RouteBundle(List<RouteStep> steps, Map<Quest, QuestMeta> questMeta)
+    {
+        this.steps = steps;
+        this.questMeta = questMeta;
+    }
+
+    /**
+     * The bundle packaged with the plugin, read on first use; null if it is missing or unreadable, in
+     * which case callers fall back to the JSON resources.
+     */
+    public static RouteBundle bundled()
+    {
+        return Holder.BUNDLED;
+    }
+
+    public List<RouteStep> getSteps()
+    {
+        return steps;
+    }
+
+    public Map<Quest, QuestMeta> getQuestMeta()
+    {
+        return questMeta;
+    }
+
+    public static RouteBundle read(InputStream in) throws IOException
+    {
+        final DataInputStream data = new DataInputStream(new ByteArrayInputStream(in.readAllBytes()));
+        if (data.readInt() != MAGIC)
+        {
+            throw new IOException("Not a route bundle");
+        }
+        final int version = data.readShort();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported route bundle version " + version);
+        }
+        if (data.readInt() != fingerprint(STEP_TYPES))
+        {
+            // Step types are ours; a mismatch means the bundle is stale against this build.
+            throw new IOException("Route bundle was compiled against different step types");
+        }
+
+        final Reader r = new Reader(data, data.readInt() == fingerprint(QUESTS), data.readInt() == fingerprint(SKILLS));
+        r.readStrings();
+
+        final int stepCount = data.readInt();
+        final List<RouteStep> steps = new ArrayList<>(stepCount);
+        for (int i = 0; i < stepCount; i++)
+        {
+            final RouteStep step = r.readStep();
+            if (step != null)
+            {
+                steps.add(step);
+            }
+        }
+
+        final int questCount = data.readInt();
+        final Map<Quest, QuestMeta> meta = new EnumMap<>(Quest.class);
+        for (int i = 0; i < questCount; i++)
+        {
+            r.readMeta(meta);
+        }
+
+        return new RouteBundle(steps, meta);
+    }
+
+    public static void write(OutputStream out, List<RouteStep> steps, Map<Quest, QuestMeta> questMeta) throws IOException
+    {
+        final Writer w = new Writer();
+        for (RouteStep s : steps)
+        {
+            w.collect(s);
+        }
+        for (Map.Entry<Quest, QuestMeta> e : questMeta.entrySet())
+        {
+            w.collect(e.getKey(), e.getValue());
+        }
+
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(fingerprint(STEP_TYPES));
+        data.writeInt(fingerprint(QUESTS));
+        data.writeInt(fingerprint(SKILLS));
+
+        data.writeInt(w.strings.size());
+        for (String s : w.strings.keySet())
+        {
+            data.writeUTF(s);
+        }
+
+        data.writeInt(steps.size());
+        for (RouteStep s : steps)
+        {
+            w.writeStep(data, s);
+        }
+
+        data.writeInt(questMeta.size());
+        for (Map.Entry<Quest, QuestMeta> e : questMeta.entrySet())
+        {
+            w.writeMeta(data, e.getKey(), e.getValue());
+        }
+        data.flush();
+    }
+
+    private static int fingerprint(Enum<?>[] values)
+    {
+        int h = values.length;
+        for (Enum<?> v : values)
+        {
+            h = 31 * h + v.name().hashCode();
+        }
+        return h;
+    }
+
+    private static final class Holder
+    {
+        private static final RouteBundle BUNDLED = load();
+
+        private static RouteBundle load()
+        {
+            try (InputStream in = RouteBundle.class.getResourceAsStream(RESOURCE))
+            {
+                if (in == null)
+                {
+                    log.debug("Route bundle not found at {}; loading JSON resources", RESOURCE);
+                    return null;
+                }
+                return read(in);
+            }
+            catch (IOException | RuntimeException e)
+            {
+                log.warn("Failed to read route bundle; loading JSON resources", e);
+                return null;
+            }
+        }
+    }
+
+    private static final class Reader
+    {
+        private final DataInputStream in;
+        private final boolean questOrdinals;
+        private final boolean skillOrdinals;
+
+        private String[] strings;
+
+        // By string index, filled lazily when ordinals cannot be trusted.
+        private Quest[] questByName;
+        private Skill[] skillByName;
+
+        private Reader(DataInputStream in, boolean questOrdinals, boolean skillOrdinals)
+        {
+            this.in = in;
+            this.questOrdinals = questOrdinals;
+            this.skillOrdinals = skillOrdinals;
+        }
+
+        private void readStrings() throws IOException
+        {
+            strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++)
+            {
+                strings[i] = in.readUTF();
+            }
+            if (!questOrdinals)
+            {
+                questByName = new Quest[strings.length];
+            }
+            if (!skillOrdinals)
+            {
+                skillByName = new Skill[strings.length];
+            }
+        }
+
+        /**
+         * @return the step, or null if it refers to a skill the running client does not have
+         */
+        private RouteStep readStep() throws IOException
+        {
+            final PlanStepType type = STEP_TYPES[in.readByte()];
+            final Quest quest = readQuest();
+            final Skill skill = readSkill();
+            final int toLevel = in.readInt();
+            final String displayName = readString();
+            final String why = readString();
+            final String wikiUrl = readString();
+            final Set<String> tags = readTags();
+            final Map<Skill, Integer> minSkills = readLevels();
+
+            if (type == PlanStepType.QUEST && quest == null)
+            {
+                // Same degradation as the JSON loader: keep the row visible in spine order.
+                return RouteStep.builder(PlanStepType.NOTE)
+                    .displayName(displayName == null ? "Unresolved quest" : displayName)
+                    .why(why == null ? "Unresolved quest row from wiki route." : why)
+                    .build();
+            }
+            if (type == PlanStepType.TRAIN && skill == null)
+            {
+                return null;
+            }
+
+            return RouteStep.builder(type)
+                .quest(quest)
+                .skill(skill)
+                .toLevel(toLevel < 0 ? null : toLevel)
+                .displayName(displayName)
+                .why(why)
+                .wikiUrl(wikiUrl)
+                .tagsOverride(tags)
+                .minSkillsOverride(minSkills)
+                .build();
+        }
+
+        private void readMeta(Map<Quest, QuestMeta> out) throws IOException
+        {
+            final Quest quest = readQuest();
+            final String why = readString();
+            final Set<String> tags = readTags();
+            final Map<Skill, Integer> minSkills = readLevels();
+
+            final Map<Skill, Integer> xp = new EnumMap<>(Skill.class);
+            final int xpCount = in.readByte();
+            for (int k = 0; k < xpCount; k++)
+            {
+                final Skill s = readSkill();
+                final int amount = in.readInt();
+                if (s != null)
+                {
+                    xp.put(s, amount);
+                }
+            }
+
+            if (quest != null)
+            {
+                out.put(quest, new QuestMeta(minSkills, xp, tags, why));
+            }
+        }
+
+        private Map<Skill, Integer> readLevels() throws IOException
+        {
+            final int count = in.readByte();
+            if (count == 0)
+            {
+                return null;
+            }
+
+            final Map<Skill, Integer> out = new EnumMap<>(Skill.class);
+            for (int k = 0; k < count; k++)
+            {
+                final Skill s = readSkill();
+                final int level = in.readShort();
+                if (s != null)
+                {
+                    out.put(s, level);
+                }
+            }
+            return out;
+        }
+
+        private Set<String> readTags() throws IOException
+        {
+            final int count = in.readShort();
+            if (count == 0)
+            {
+                return null;
+            }
+
+            final Set<String> out = new LinkedHashSet<>(count * 2);
+            for (int k = 0; k < count; k++)
+            {
+                out.add(readString());
+            }
+            return out;
+        }
+
+        private Quest readQuest() throws IOException
+        {
+            final int ordinal = in.readShort();
+            if (ordinal < 0)
+            {
+                return null;
+            }
+
+            final int name = in.readInt();
+            if (questOrdinals)
+            {
+                return QUESTS[ordinal];
+            }
+            if (questByName[name] == null)
+            {
+                questByName[name] = valueOf(Quest.class, strings[name]);
+            }
+            return questByName[name];
+        }
+
+        private Skill readSkill() throws IOException
+        {
+            final int ordinal = in.readByte();
+            if (ordinal < 0)
+            {
+                return null;
+            }
+
+            final int name = in.readInt();
+            if (skillOrdinals)
+            {
+                return SKILLS[ordinal];
+            }
+            if (skillByName[name] == null)
+            {
+                skillByName[name] = valueOf(Skill.class, strings[name]);
+            }
+            return skillByName[name];
+        }
+
+        private String readString() throws IOException
+        {
+            final int i = in.readInt();
+            return i < 0 ? null : strings[i];
+        }
+
+        private static <E extends Enum<E>> E valueOf(Class<E> type, String name)
+        {
+            try
+            {
+                return Enum.valueOf(type, name);
+            }
+            catch (IllegalArgumentException e)
+            {
+                log.warn("Route bundle refers to {} {} which this client does not have", type.getSimpleName(), name);
+                return null;
+            }
+        }
+    }
+
+    private static final class Writer
+    {
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        private void collect(RouteStep s)
+        {
+            intern(s.getQuest() == null ? null : s.getQuest().name());
+            intern(s.getSkill() == null ? null : s.getSkill().name());
+            intern(s.getDisplayName());
+            intern(s.getWhy());
+            intern(s.getWikiUrl());
+            internAll(s.getTagsOverride());
+            internSkills(s.getMinSkillsOverride());
+        }
+
+        private void collect(Quest quest, QuestMeta m)
+        {
+            intern(quest.name());
+            intern(m.getWhy());
+            internAll(m.getTags());
+            internSkills(m.getMinSkills());
+            internSkills(m.getXpRewards());
+        }
+
+        private void writeStep(DataOutputStream out, RouteStep s) throws IOException
+        {
+            out.writeByte(s.getType().ordinal());
+            writeQuest(out, s.getQuest());
+            writeSkill(out, s.getSkill());
+            out.writeInt(s.getToLevel() == null ? -1 : s.getToLevel());
+            writeString(out, s.getDisplayName());
+            writeString(out, s.getWhy());
+            writeString(out, s.getWikiUrl());
+            writeTags(out, s.getTagsOverride());
+            writeLevels(out, s.getMinSkillsOverride());
+        }
+
+        private void writeMeta(DataOutputStream out, Quest quest, QuestMeta m) throws IOException
+        {
+            writeQuest(out, quest);
+            writeString(out, m.getWhy());
+            writeTags(out, m.getTags());
+            writeLevels(out, m.getMinSkills());
+
+            out.writeByte(m.getXpRewards().size());
+            for (Map.Entry<Skill, Integer> e : m.getXpRewards().entrySet())
+            {
+                writeSkill(out, e.getKey());
+                out.writeInt(e.getValue());
+            }
+        }
+
+        private void writeLevels(DataOutputStream out, Map<Skill, Integer> levels) throws IOException
+        {
+            out.writeByte(levels.size());
+            for (Map.Entry<Skill, Integer> e : levels.entrySet())
+            {
+                writeSkill(out, e.getKey());
+                out.writeShort(e.getValue());
+            }
+        }
+
+        private void writeTags(DataOutputStream out, Set<String> tags) throws IOException
+        {
+            out.writeShort(tags.size());
+            for (String t : tags)
+            {
+                writeString(out, t);
+            }
+        }
+
+        private void writeQuest(DataOutputStream out, Quest q) throws IOException
+        {
+            if (q == null)
+            {
+                out.writeShort(-1);
+                return;
+            }
+            out.writeShort(q.ordinal());
+            writeString(out, q.name());
+        }
+
+        private void writeSkill(DataOutputStream out, Skill s) throws IOException
+        {
+            if (s == null)
+            {
+                out.writeByte(-1);
+                return;
+            }
+            out.writeByte(s.ordinal());
+            writeString(out, s.name());
+        }
+
+        private void writeString(DataOutputStream out, String s) throws IOException
+        {
+            out.writeInt(s == null ? -1 : strings.get(s));
+        }
+
+        private void intern(String s)
+        {
+            if (s != null)
+            {
+                strings.putIfAbsent(s, strings.size());
+            }
+        }
+
+        private void internAll(Collection<String> values)
+        {
+            for (String s : values)
+            {
+                intern(s);
+            }
+        }
+
+        private void internSkills(Map<Skill, Integer> values)
+        {
+            for (Skill s : values.keySet())
+            {
+                intern(s.name());
+            }
+        }
+    }
+}
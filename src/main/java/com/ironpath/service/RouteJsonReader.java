@@ -0,0 +1,502 @@
+package com.ironpath.service;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestMeta;
+import com.ironpath.model.RouteStep;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+/**
+ * Single-pass streaming parsers for wiki_route.json and quest_db.json.
+ *
+ * Rows are read token by token and turned straight into {@link RouteStep} and {@link QuestMeta}; no
+ * intermediate object graph is built. Problems are reported with their line, column and JSON path to a
+ * {@link Problems} sink and the offending row is skipped or degraded the same way every time, so the
+ * runtime fallback can log and carry on while the build-time compiler fails on any error.
+ *
+ * Syntax errors are not recoverable and are thrown, with their location, as {@link IOException}.
+ */
+@Slf4j
+public final class RouteJsonReader
+{
+    /**
+     * Receives everything questionable found while reading. {@code where} is "line L column C path P".
+     */
+    public interface Problems
+    {
+        /**
+         * The data is wrong; the row or value was skipped or degraded.
+         */
+        void error(String where, String message);
+
+        /**
+         * The data is usable but suspicious, e.g. a repeated quest or a
+         * {@link RouteJsonReader#PENDING_QUESTS pending} one this RuneLite API does not know yet.
+         */
+        void warning(String where, String message);
+    }
+
+    /**
+     * Route quests that are out in game but may be missing from the RuneLite API the build resolves
+     * against, which is not pinned. Only these may fail to resolve without an error. Matched against the
+     * row's quest key or display name; remove an entry once RuneLite has the quest.
+     */
+    public static final Set<String> PENDING_QUESTS = Set.of(
+        "Shadows of Custodia",
+        "Troubled Tortugans",
+        "The Final Dawn");
+
+    /**
+     * The runtime sink: the plugin still loads what it can, so errors are logged as warnings and
+     * warnings only at debug.
+     */
+    static Problems logTo(String resource)
+    {
+        return new Problems()
+        {
+            @Override
+            public void error(String where, String message)
+            {
+                log.warn("{} {}: {}", resource, where, message);
+            }
+
+            @Override
+            public void warning(String where, String message)
+            {
+                log.debug("{} {}: {}", resource, where, message);
+            }
+        };
+    }
+
+    private final JsonReader in;
+    private final QuestNameResolver names;
+    private final Problems problems;
+
+    private RouteJsonReader(Reader reader, QuestNameResolver names, Problems problems)
+    {
+        this.in = new JsonReader(reader);
+        this.names = names;
+        this.problems = problems;
+    }
+
+    /**
+     * Parse a route: a JSON array of step objects.
+     *
+     * Rows with an unknown type, TRAIN rows without a valid skill and level, and repeated quests are
+     * skipped. QUEST rows that do not resolve to a RuneLite quest are errors, or warnings for
+     * {@link #PENDING_QUESTS}, and become NOTE rows so the spine order stays visible.
+     */
+    public static List<RouteStep> readRoute(Reader reader, QuestNameResolver names, Problems problems) throws IOException
+    {
+        return new RouteJsonReader(reader, names, problems).route();
+    }
+
+    /**
+     * Parse a quest database: a JSON object from quest key (enum or display name) to metadata.
+     * Keys that do not resolve to a RuneLite quest are skipped.
+     */
+    public static Map<Quest, QuestMeta> readQuestDb(Reader reader, QuestNameResolver names, Problems problems) throws IOException
+    {
+        return new RouteJsonReader(reader, names, problems).questDb();
+    }
+
+    private List<RouteStep> route() throws IOException
+    {
+        final List<RouteStep> out = new ArrayList<>();
+        final Set<Quest> added = EnumSet.noneOf(Quest.class);
+
+        in.beginArray();
+        while (in.hasNext())
+        {
+            if (in.peek() != JsonToken.BEGIN_OBJECT)
+            {
+                problems.error(where(), "route row is not an object");
+                in.skipValue();
+                continue;
+            }
+
+            final RouteStep step = routeRow(added);
+            if (step != null)
+            {
+                out.add(step);
+            }
+        }
+        in.endArray();
+        return out;
+    }
+
+    private RouteStep routeRow(Set<Quest> added) throws IOException
+    {
+        final String row = where();
+
+        String type = null;
+        String quest = null;
+        String displayName = null;
+        String why = null;
+        String wikiUrl = null;
+        String skill = null;
+        Integer toLevel = null;
+        Set<String> tags = null;
+        Map<Skill, Integer> minSkills = null;
+
+        in.beginObject();
+        while (in.hasNext())
+        {
+            switch (in.nextName())
+            {
+                case "type":
+                    type = string();
+                    break;
+                case "quest":
+                    quest = string();
+                    break;
+                case "displayName":
+                    displayName = string();
+                    break;
+                case "why":
+                    why = string();
+                    break;
+                case "wikiUrl":
+                    wikiUrl = string();
+                    break;
+                case "skill":
+                    skill = string();
+                    break;
+                case "toLevel":
+                    toLevel = integer();
+                    break;
+                case "tags":
+                    tags = tags();
+                    break;
+                case "minSkills":
+                    minSkills = skillMap();
+                    break;
+                default:
+                    in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+
+        final PlanStepType stepType = parseType(type);
+        if (stepType == null)
+        {
+            problems.error(row, type == null ? "route row has no type" : "unknown step type '" + type + "'");
+            return null;
+        }
+
+        final RouteStep.Builder b = RouteStep.builder(stepType);
+        if (stepType == PlanStepType.QUEST)
+        {
+            // Prefer the explicit quest key, then the display name.
+            Quest q = names.resolveKey(quest);
+            if (q == null)
+            {
+                q = names.resolve(displayName);
+            }
+
+            if (q == null)
+            {
+                final String name = quest != null ? quest : displayName;
+                if (isPending(quest) || isPending(displayName))
+                {
+                    problems.warning(row, "pending quest '" + name + "' is not in this RuneLite API yet; kept as a NOTE");
+                }
+                else
+                {
+                    problems.error(row, "quest '" + name + "' does not match any RuneLite quest");
+                }
+                return RouteStep.builder(PlanStepType.NOTE)
+                        .displayName(displayName == null ? "Unresolved quest" : displayName)
+                        .why(why == null ? "Unresolved quest row from wiki route." : why)
+                        .build();
+            }
+
+            if (!added.add(q))
+            {
+                problems.warning(row, "duplicate quest " + q.name() + " ignored");
+                return null;
+            }
+
+            return b.quest(q)
+                    .displayName(displayName != null ? displayName : q.getName())
+                    .why(why)
+                    .tagsOverride(tags)
+                    .minSkillsOverride(minSkills)
+                    .build();
+        }
+
+        if (stepType == PlanStepType.TRAIN)
+        {
+            final Skill s = parseSkill(skill);
+            if (s == null)
+            {
+                problems.error(row, "unknown skill '" + skill + "'");
+                return null;
+            }
+            if (toLevel == null || toLevel < 1 || toLevel > 99)
+            {
+                problems.error(row, "TRAIN row needs toLevel between 1 and 99");
+                return null;
+            }
+
+            return b.skill(s)
+                    .toLevel(toLevel)
+                    .displayName(displayName != null ? displayName : ("Train " + s.getName()))
+                    .why(why)
+                    .wikiUrl(wikiUrl)
+                    .build();
+        }
+
+        return b.displayName(displayName).why(why).wikiUrl(wikiUrl).build();
+    }
+
+    private Map<Quest, QuestMeta> questDb() throws IOException
+    {
+        final Map<Quest, QuestMeta> out = new EnumMap<>(Quest.class);
+
+        in.beginObject();
+        while (in.hasNext())
+        {
+            final String key = in.nextName();
+            final String entry = where();
+            final Quest q = names.resolveKey(key);
+            if (q == null)
+            {
+                problems.warning(entry, "'" + key + "' does not match any RuneLite quest; skipped");
+                in.skipValue();
+                continue;
+            }
+            if (in.peek() != JsonToken.BEGIN_OBJECT)
+            {
+                problems.error(entry, "quest entry is not an object");
+                in.skipValue();
+                continue;
+            }
+
+            Map<Skill, Integer> minSkills = null;
+            Map<Skill, Integer> xpRewards = null;
+            Set<String> tags = null;
+            String why = null;
+
+            in.beginObject();
+            while (in.hasNext())
+            {
+                switch (in.nextName())
+                {
+                    case "minSkills":
+                        minSkills = skillMap();
+                        break;
+                    case "xpRewards":
+                        xpRewards = skillMap();
+                        break;
+                    case "tags":
+                        tags = tags();
+                        break;
+                    case "why":
+                        why = string();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+
+            if (out.put(q, new QuestMeta(minSkills, xpRewards, tags, why)) != null)
+            {
+                problems.warning(entry, "duplicate entry for " + q.name() + " replaces the earlier one");
+            }
+        }
+        in.endObject();
+        return out;
+    }
+
+    private String string() throws IOException
+    {
+        final JsonToken t = in.peek();
+        if (t == JsonToken.NULL)
+        {
+            in.nextNull();
+            return null;
+        }
+        if (t != JsonToken.STRING)
+        {
+            problems.error(where(), "expected a string but was " + t);
+            in.skipValue();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    private Integer integer() throws IOException
+    {
+        final JsonToken t = in.peek();
+        if (t == JsonToken.NULL)
+        {
+            in.nextNull();
+            return null;
+        }
+        if (t != JsonToken.NUMBER)
+        {
+            problems.error(where(), "expected a number but was " + t);
+            in.skipValue();
+            return null;
+        }
+
+        final String where = where();
+        final String text = in.nextString();
+        final double d = Double.parseDouble(text);
+        if (d != Math.rint(d) || d < Integer.MIN_VALUE || d > Integer.MAX_VALUE)
+        {
+            problems.error(where, "expected a whole number but was " + text);
+            return null;
+        }
+        return (int) d;
+    }
+
+    /**
+     * @return the tags, or null if there are none
+     */
+    private Set<String> tags() throws IOException
+    {
+        if (in.peek() != JsonToken.BEGIN_ARRAY)
+        {
+            expectedButSkip("an array of tags");
+            return null;
+        }
+
+        final Set<String> out = new LinkedHashSet<>();
+        in.beginArray();
+        while (in.hasNext())
+        {
+            final String tag = string();
+            if (tag != null)
+            {
+                out.add(tag);
+            }
+        }
+        in.endArray();
+        return out.isEmpty() ? null : out;
+    }
+
+    /**
+     * @return skill to number, or null if there are none; unknown skills are reported and dropped
+     */
+    private Map<Skill, Integer> skillMap() throws IOException
+    {
+        if (in.peek() != JsonToken.BEGIN_OBJECT)
+        {
+            expectedButSkip("an object of skills");
+            return null;
+        }
+
+        final Map<Skill, Integer> out = new EnumMap<>(Skill.class);
+        in.beginObject();
+        while (in.hasNext())
+        {
+            final String name = in.nextName();
+            final Skill s = parseSkill(name);
+            if (s == null)
+            {
+                problems.error(where(), "unknown skill '" + name + "'");
+                in.skipValue();
+                continue;
+            }
+
+            final Integer value = integer();
+            if (value != null)
+            {
+                out.put(s, value);
+            }
+        }
+        in.endObject();
+        return out.isEmpty() ? null : out;
+    }
+
+    private void expectedButSkip(String what) throws IOException
+    {
+        final JsonToken t = in.peek();
+        if (t == JsonToken.NULL)
+        {
+            in.nextNull();
+            return;
+        }
+        problems.error(where(), "expected " + what + " but was " + t);
+        in.skipValue();
+    }
+
+    /**
+     * "line L column C path P" of the value the reader is on. JsonReader tracks its position itself and
+     * only exposes it as the tail of its toString(), "JsonReader at line L column C path P".
+     */
+    private String where()
+    {
+        final String location = in.toString();
+        final int at = location.indexOf(" at line ");
+        return at >= 0 ? location.substring(at + " at ".length()) : "path " + in.getPath();
+    }
+
+    private static boolean isPending(String questName)
+    {
+        return questName != null && PENDING_QUESTS.contains(questName);
+    }
+
+    private static PlanStepType parseType(String raw)
+    {
+        if (raw == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return PlanStepType.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        }
+        catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+
+    static Skill parseSkill(String raw)
+    {
+        if (raw == null)
+        {
+            return null;
+        }
+
+        String key = raw.trim().toUpperCase(Locale.ROOT).replace(' ', '_').replace('-', '_');
+        // Common aliases found in wiki / JSON exports
+        if ("HP".equals(key) || "HITPOINT".equals(key))
+        {
+            key = "HITPOINTS";
+        }
+        if ("RUNECRAFTING".equals(key))
+        {
+            key = "RUNECRAFT";
+        }
+
+        try
+        {
+            return Skill.valueOf(key);
+        }
+        catch (IllegalArgumentException e)
+        {
+            return null;
+        }
+    }
+}
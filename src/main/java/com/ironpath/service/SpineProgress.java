@@ -0,0 +1,97 @@
+package com.ironpath.service;
+
+import com.ironpath.model.CompiledSpine;
+import java.util.BitSet;
+
+/**
+ * Incremental per-account completion state over one compiled spine.
+ *
+ * Completion is monotonic within a session (quests do not un-finish, XP does not drop, diary and
+ * achievement tiers only go up), so once an index is marked complete it is never re-evaluated and
+ * next-N lookups hop over finished indices with {@link BitSet#nextClearBit(int)} from a remembered
+ * cursor. Call {@link #reset()} when the account may have changed.
+ *
+ * Not thread-safe; owned by {@link ProgressionPlanService} and only touched on the planner thread.
+ */
+final class SpineProgress
+{
+    private final CompiledSpine spine;
+    private final XpProjection projection;
+    private final BitSet complete = new BitSet();
+
+    // Lowest index not known to be complete.
+    private int firstUnfinished;
+
+    // Account epoch this state belongs to; -1 until the first snapshot.
+    private int accountEpoch = -1;
+
+    SpineProgress(CompiledSpine spine, QuestDatabase questDatabase)
+    {
+        this.spine = spine;
+        this.projection = new XpProjection(spine, questDatabase);
+    }
+
+    CompiledSpine getSpine()
+    {
+        return spine;
+    }
+
+    XpProjection getProjection()
+    {
+        return projection;
+    }
+
+    /**
+     * Forget everything learned about the account.
+     */
+    void reset()
+    {
+        complete.clear();
+        firstUnfinished = 0;
+        projection.reset();
+    }
+
+    int getAccountEpoch()
+    {
+        return accountEpoch;
+    }
+
+    void setAccountEpoch(int epoch)
+    {
+        accountEpoch = epoch;
+    }
+
+    /**
+     * First index at or after {@code from} not known to be complete; {@code size} when none remain.
+     */
+    int nextUnfinished(int from)
+    {
+        return complete.nextClearBit(Math.max(from, firstUnfinished));
+    }
+
+    int getFirstUnfinished()
+    {
+        return firstUnfinished;
+    }
+
+    /**
+     * Copy of the indices known to be complete.
+     */
+    BitSet copyComplete()
+    {
+        return (BitSet) complete.clone();
+    }
+
+    void markComplete(int index)
+    {
+        complete.set(index);
+        if (spine.getRuleId(index) == CompiledSpine.RULE_QUEST)
+        {
+            projection.setQuestFinished(index, true);
+        }
+        if (index == firstUnfinished)
+        {
+            firstUnfinished = complete.nextClearBit(index + 1);
+        }
+    }
+}
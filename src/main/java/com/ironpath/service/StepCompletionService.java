@@ -1,34 +1,45 @@
 package com.ironpath.service;
 
 import com.google.inject.Singleton;
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.CompletionCheck;
 import com.ironpath.model.PlanStepType;
 import com.ironpath.model.RouteStep;
 import java.util.Locale;
 import javax.inject.Inject;
-import net.runelite.api.Client;
 import net.runelite.api.Varbits;
 
 /**
  * Centralized completion checks for non-quest progression steps.
  *
- * Plugin Hub compliance: uses only in-client varps/varbits (no networking, no disk).
+ * Each step is resolved once at spine load into a {@link CompletionCheck} (varp/varbit id plus threshold,
+ * or never verifiable). All name parsing happens in {@link #compile(RouteStep)}; runtime evaluation is a
+ * single varp/varbit read.
+ *
+ * Plugin Hub compliance: checks use only in-client varps/varbits (no networking, no disk). The only disk
+ * writer in the plugin is {@link EventRecorder}, which is off unless enabled by a system property.
  */
 @Singleton
 public class StepCompletionService
 {
-    private final Client client;
+    // Tutorial progress varp is 281 and completion is 1000.
+    private static final int TUTORIAL_PROGRESS_VARP = 281;
+    private static final int TUTORIAL_COMPLETE = 1000;
 
     @Inject
-    public StepCompletionService(Client client)
+    public StepCompletionService()
     {
-        this.client = client;
     }
 
-    public boolean isComplete(RouteStep step)
+    /**
+     * Resolve the completion predicate for a step. Load-time only; does string work.
+     */
+    public CompletionCheck compile(RouteStep step)
     {
         if (step == null)
         {
-            return false;
+            return CompletionCheck.NEVER;
         }
 
         final PlanStepType type = step.getType();
@@ -38,47 +49,57 @@ public class StepCompletionService
         // Tutorial Island is represented as a NOTE/UNLOCK in some spines.
         if (normalized.contains("tutorial island"))
         {
-            return isTutorialIslandComplete();
+            return CompletionCheck.varp(TUTORIAL_PROGRESS_VARP, TUTORIAL_COMPLETE);
         }
 
         if (type == PlanStepType.DIARY)
         {
-            return isAchievementDiaryTierComplete(normalized);
+            return achievementDiaryTierCheck(normalized);
         }
 
         // Optional: combat achievements tier completion (if you add steps for it).
         if (normalized.contains("combat achievements") || normalized.contains("combat achievement"))
         {
-            return isCombatAchievementTierComplete(normalized);
+            return combatAchievementTierCheck(normalized);
         }
 
-        return false;
+        return CompletionCheck.NEVER;
     }
 
-    private boolean isTutorialIslandComplete()
+    /**
+     * Evaluate the pre-resolved predicate of a compiled spine step against captured account state.
+     * Safe off the client thread.
+     */
+    public boolean isComplete(CompiledSpine spine, int index, AccountSnapshot snapshot)
     {
-        // Tutorial progress varp is 281 and completion is 1000.
-        final int tutorialProgress = client.getVarpValue(281);
-        return tutorialProgress >= 1000;
+        switch (spine.getRuleId(index))
+        {
+            case CompiledSpine.RULE_VARP:
+                return snapshot.getVarp(spine.getVarId(index)) >= spine.getThreshold(index);
+            case CompiledSpine.RULE_VARBIT:
+                return snapshot.getVarbit(spine.getVarId(index)) >= spine.getThreshold(index);
+            default:
+                return false;
+        }
     }
 
-    private boolean isAchievementDiaryTierComplete(String normalizedDisplayName)
+    private static CompletionCheck achievementDiaryTierCheck(String normalizedDisplayName)
     {
         final Tier tier = Tier.parse(normalizedDisplayName);
         final Region region = Region.parse(normalizedDisplayName);
         if (tier == null || region == null)
         {
-            return false;
+            return CompletionCheck.NEVER;
         }
 
         final int varbitId = diaryVarbitId(region, tier);
         if (varbitId <= 0)
         {
-            return false;
+            return CompletionCheck.NEVER;
         }
 
         // Diary tier completion varbits are typically 1 when rewards are claimed.
-        return client.getVarbitValue(varbitId) >= 1;
+        return CompletionCheck.varbit(varbitId, 1);
     }
 
     private static int diaryVarbitId(Region region, Tier tier)
@@ -114,12 +135,12 @@ public class StepCompletionService
         }
     }
 
-    private boolean isCombatAchievementTierComplete(String normalizedDisplayName)
+    private static CompletionCheck combatAchievementTierCheck(String normalizedDisplayName)
     {
         final Tier tier = Tier.parse(normalizedDisplayName);
         if (tier == null)
         {
-            return false;
+            return CompletionCheck.NEVER;
         }
 
         final int varbitId;
@@ -144,10 +165,10 @@ public class StepCompletionService
                 varbitId = Varbits.COMBAT_ACHIEVEMENT_TIER_GRANDMASTER;
                 break;
             default:
-                return false;
+                return CompletionCheck.NEVER;
         }
 
-        return client.getVarbitValue(varbitId) >= 1;
+        return CompletionCheck.varbit(varbitId, 1);
     }
 
     private enum Tier
@@ -0,0 +1,248 @@
+package com.ironpath.service;
+
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.util.XpTable;
+import java.util.Arrays;
+import java.util.Map;
+import net.runelite.api.Skill;
+
+/**
+ * Exact-XP forward projection over the route spine.
+ *
+ * Row i holds the XP the player is projected to have on reaching spine index i, assuming every earlier
+ * step is done in order: current XP, plus the rewards of unfinished quests before i, plus every earlier
+ * TRAIN target. Finished quests contribute nothing because their rewards are already in the current XP.
+ *
+ * Each skill column is computed lazily, up to the deepest row read, and keeps its own watermark, so a
+ * change to one skill's XP or to one quest's rewarded skills only recomputes those columns, from the
+ * first index whose inputs changed. Rows before the origin (see {@link #setOrigin(int)}) are never
+ * computed, so a recompute costs the distance from the player's position rather than from the start
+ * of the spine. Not thread-safe; owned by {@link ProgressionPlanService}.
+ */
+final class XpProjection
+{
+    private static final int SKILL_COUNT = Skill.values().length;
+    private static final int MAX_XP = 200_000_000;
+
+    private final CompiledSpine spine;
+    private final int size;
+
+    // Per spine index, per Skill ordinal. Null when the step grants no XP.
+    private final int[][] rewards;
+
+    private final int[] baseXp = new int[SKILL_COUNT];
+    private final boolean[] finished;
+
+    // (size + 1) rows of SKILL_COUNT; the final row is the projected end state.
+    private final int[] rows;
+
+    // Per Skill ordinal, the number of leading rows of that column that are up to date. Never below origin.
+    private final int[] validRows = new int[SKILL_COUNT];
+
+    // Every QUEST step before the origin is finished, so the row at the origin is the base XP raised to
+    // the highest TRAIN target before it; that target's XP is kept per Skill ordinal in originFloor.
+    private int origin;
+    private final int[] originFloor = new int[SKILL_COUNT];
+
+    XpProjection(CompiledSpine spine, QuestDatabase questDatabase)
+    {
+        this.spine = spine;
+        this.size = spine.size();
+        this.rewards = new int[size][];
+        this.finished = new boolean[size];
+        this.rows = new int[(size + 1) * SKILL_COUNT];
+
+        for (int i = 0; i < size; i++)
+        {
+            if (spine.getRuleId(i) != CompiledSpine.RULE_QUEST)
+            {
+                continue;
+            }
+
+            final Map<Skill, Integer> xp = questDatabase.getXpRewards(spine.getQuest(i));
+            if (xp == null || xp.isEmpty())
+            {
+                continue;
+            }
+
+            final int[] r = new int[SKILL_COUNT];
+            for (Map.Entry<Skill, Integer> en : xp.entrySet())
+            {
+                if (en.getKey() != null && en.getValue() != null && en.getValue() > 0)
+                {
+                    r[en.getKey().ordinal()] = en.getValue();
+                }
+            }
+            rewards[i] = r;
+        }
+    }
+
+    CompiledSpine getSpine()
+    {
+        return spine;
+    }
+
+    /**
+     * Forget every quest state and start over from the beginning of the spine.
+     */
+    void reset()
+    {
+        Arrays.fill(finished, false);
+        Arrays.fill(validRows, 0);
+        Arrays.fill(originFloor, 0);
+        origin = 0;
+    }
+
+    /**
+     * Stop maintaining rows before {@code index}. Every QUEST step before it must be finished; moving the
+     * origin back starts over from the beginning of the spine.
+     */
+    void setOrigin(int index)
+    {
+        if (index < origin)
+        {
+            Arrays.fill(validRows, 0);
+            Arrays.fill(originFloor, 0);
+            origin = 0;
+        }
+
+        for (int i = origin; i < index; i++)
+        {
+            if (spine.getRuleId(i) == CompiledSpine.RULE_LEVEL)
+            {
+                final int s = spine.getSkillOrdinal(i);
+                originFloor[s] = Math.max(originFloor[s], XpTable.xpForLevel(spine.getTargetLevel(i)));
+            }
+        }
+        origin = index;
+
+        // Rows at or past the new origin stay valid: the steps it moved over add no XP beyond the floor.
+        for (int s = 0; s < SKILL_COUNT; s++)
+        {
+            validRows[s] = Math.max(validRows[s], origin);
+        }
+    }
+
+    int getOrigin()
+    {
+        return origin;
+    }
+
+    /**
+     * Current exact XP for a skill. A change invalidates that skill's column only.
+     */
+    void setBaseXp(int skillOrdinal, int xp)
+    {
+        if (baseXp[skillOrdinal] != xp)
+        {
+            baseXp[skillOrdinal] = xp;
+            validRows[skillOrdinal] = origin;
+        }
+    }
+
+    /**
+     * Journal state for a QUEST step. A change invalidates the rows after it, in the columns of the
+     * skills the quest rewards.
+     */
+    void setQuestFinished(int index, boolean done)
+    {
+        if (finished[index] == done)
+        {
+            return;
+        }
+
+        finished[index] = done;
+        final int[] r = rewards[index];
+        if (r == null)
+        {
+            return;
+        }
+        for (int s = 0; s < SKILL_COUNT; s++)
+        {
+            if (r[s] > 0)
+            {
+                validRows[s] = Math.max(origin, Math.min(validRows[s], index + 1));
+            }
+        }
+    }
+
+    /**
+     * Number of leading rows of a skill's column that are up to date; rows from here on are recomputed
+     * when read.
+     */
+    int getValidRows(int skillOrdinal)
+    {
+        return validRows[skillOrdinal];
+    }
+
+    /**
+     * Projected XP on reaching {@code index}, which must not be before the origin.
+     */
+    int getProjectedXp(int index, int skillOrdinal)
+    {
+        if (index >= validRows[skillOrdinal])
+        {
+            compute(skillOrdinal, index);
+        }
+        return rows[index * SKILL_COUNT + skillOrdinal];
+    }
+
+    int getProjectedLevel(int index, int skillOrdinal)
+    {
+        return XpTable.levelForXp(getProjectedXp(index, skillOrdinal));
+    }
+
+    /**
+     * Recompute a skill's column from its first stale row through {@code index}.
+     */
+    private void compute(int s, int index)
+    {
+        int r = validRows[s];
+        int value;
+        if (r == origin)
+        {
+            value = Math.max(baseXp[s], originFloor[s]);
+            rows[r * SKILL_COUNT + s] = value;
+            r++;
+        }
+        else
+        {
+            value = rows[(r - 1) * SKILL_COUNT + s];
+        }
+
+        for (; r <= index; r++)
+        {
+            value = applyStep(r - 1, s, value);
+            rows[r * SKILL_COUNT + s] = value;
+        }
+
+        validRows[s] = index + 1;
+    }
+
+    private int applyStep(int index, int s, int value)
+    {
+        switch (spine.getRuleId(index))
+        {
+            case CompiledSpine.RULE_QUEST:
+            {
+                final int[] r = rewards[index];
+                if (r == null || finished[index] || r[s] == 0)
+                {
+                    return value;
+                }
+                return Math.min(MAX_XP, value + r[s]);
+            }
+
+            case CompiledSpine.RULE_LEVEL:
+                // Once a TRAIN step is passed the player has at least its target level.
+                if (spine.getSkillOrdinal(index) != s)
+                {
+                    return value;
+                }
+                return Math.max(value, XpTable.xpForLevel(spine.getTargetLevel(index)));
+
+            default:
+                return value;
+        }
+    }
+}
@@ -2,13 +2,18 @@ package com.ironpath.ui;
 
 import com.ironpath.model.PlanStep;
 import com.ironpath.model.SpineStepView;
-import com.ironpath.model.RouteStep;
-import com.ironpath.service.ProgressionPlanService;
+import com.ironpath.service.PlanPipeline;
+import com.ironpath.service.PluginMetrics;
 import com.ironpath.service.QuestRouteService;
 import java.awt.BorderLayout;
+import java.awt.CardLayout;
 import java.awt.Component;
 import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -19,50 +24,102 @@ import javax.swing.JScrollPane;
 import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import net.runelite.client.callback.ClientThread;
-import net.runelite.client.game.SpriteManager;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
 import net.runelite.client.ui.PluginPanel;
 
 public class IronmanPathPanel extends PluginPanel
 {
-    private static final int NEXT_STEPS = 10;
     private static final int REFRESH_DEBOUNCE_MS = 150;
+    private static final int METRICS_UPDATE_MS = 1000;
+    private static final String NEXT_TITLE = "Next " + PlanPipeline.PLAN_STEPS + " steps";
 
+    private static final String VIEW_NEXT = "next";
+    private static final String VIEW_ROUTE = "route";
+
+    private final PlanPipeline planPipeline;
     private final QuestRouteService routeService;
-    private final ProgressionPlanService planService;
     private final ClientThread clientThread;
-    private final SpriteManager spriteManager;
+    private final SpriteIconCache sprites;
+    private final PluginMetrics metrics;
 
     private final JButton refreshButton = new JButton("Refresh");
+    private final ChipButton nextChip = new ChipButton("Next steps");
+    private final ChipButton routeChip = new ChipButton("Full route");
+
+    private final CardLayout viewLayout = new CardLayout();
+    private final JPanel views = new JPanel(viewLayout);
+    private final RouteBrowser routeBrowser = new RouteBrowser();
 
     private final JPanel content = new ScrollablePanel();
 
+    // Persistent body of the "Next N steps" section. Its children are exactly the cells of the
+    // slots, in plan order, or the single placeholder label. EDT only.
+    private final JPanel stepsBody = new JPanel();
+    private final Map<Long, CardSlot> slots = new HashMap<>();
+    private JLabel placeholder;
+
     // Coalesce refresh requests to avoid layout thrash on login and varbit bursts.
     private final Timer refreshTimer;
 
-    public IronmanPathPanel(QuestRouteService routeService,
-                            ProgressionPlanService planService,
+    // Debug metrics section, hidden unless enabled in the config. EDT only.
+    private final JLabel metricsRefreshes = metricsValue();
+    private final JLabel metricsCapture = metricsValue();
+    private final JLabel metricsQuestReads = metricsValue();
+    private final JLabel metricsRebuild = metricsValue();
+    private final JLabel metricsOverlay = metricsValue();
+    private final JPanel metricsSection;
+    private final Timer metricsTimer;
+
+    public IronmanPathPanel(PlanPipeline planPipeline,
+                            QuestRouteService routeService,
                             ClientThread clientThread,
-                            SpriteManager spriteManager)
+                            SpriteIconCache sprites,
+                            PluginMetrics metrics)
     {
         super();
         setLayout(new BorderLayout());
+        this.planPipeline = planPipeline;
         this.routeService = routeService;
-        this.planService = planService;
         this.clientThread = clientThread;
-        this.spriteManager = spriteManager;
+        this.sprites = sprites;
+        this.metrics = metrics;
 
         setBackground(ColorScheme.DARK_GRAY_COLOR);
 
         add(buildHeader(), BorderLayout.NORTH);
         add(buildBody(), BorderLayout.CENTER);
 
+        stepsBody.setOpaque(false);
+        stepsBody.setLayout(new BoxLayout(stepsBody, BoxLayout.Y_AXIS));
+        stepsBody.setAlignmentX(Component.LEFT_ALIGNMENT);
+        content.add(buildSection(NEXT_TITLE, stepsBody));
+
+        updateMetrics();
+        metricsSection = new CollapsibleSection<Void>("Debug metrics", 5, buildMetricsBody());
+        metricsSection.setVisible(false);
+        content.add(metricsSection);
+
         refreshTimer = new Timer(REFRESH_DEBOUNCE_MS, e -> refreshNow());
         refreshTimer.setRepeats(false);
 
+        metricsTimer = new Timer(METRICS_UPDATE_MS, e ->
+        {
+            if (isShowing())
+            {
+                updateMetrics();
+            }
+        });
+
         refreshButton.addActionListener(e -> requestRefresh());
 
+        // ChipButton toggles itself on click; settle both chips once it has.
+        nextChip.addActionListener(e -> SwingUtilities.invokeLater(() -> showView(VIEW_NEXT)));
+        routeChip.addActionListener(e -> SwingUtilities.invokeLater(() -> showView(VIEW_ROUTE)));
+        nextChip.setSelected(true);
+
+        planPipeline.setRouteListener(done -> SwingUtilities.invokeLater(() -> routeBrowser.setCompletion(done)));
+
         requestRefresh();
     }
 
@@ -77,53 +134,207 @@ public class IronmanPathPanel extends PluginPanel
             return;
         }
 
+        if (refreshTimer.isRunning())
+        {
+            metrics.panelRefreshDebounced();
+        }
         refreshTimer.restart();
     }
 
     /**
-     * Show a stable placeholder while the client state settles (login bursts).
+     * Show or hide the debug metrics section. Callable from any thread.
      */
-    public void showLoading()
+    public void setMetricsVisible(boolean visible)
     {
         SwingUtilities.invokeLater(() ->
         {
-            content.setVisible(false);
-            content.removeAll();
-
-            JPanel body = new JPanel();
-            body.setOpaque(false);
-            body.setLayout(new BoxLayout(body, BoxLayout.Y_AXIS));
-
-            JLabel label = new JLabel("Loading player state...");
-            label.setAlignmentX(Component.LEFT_ALIGNMENT);
-            body.add(label);
-
-            content.add(buildSection("Next 10 steps", body));
-            content.setVisible(true);
+            if (visible)
+            {
+                updateMetrics();
+                metricsTimer.start();
+            }
+            else
+            {
+                metricsTimer.stop();
+            }
+            metricsSection.setVisible(visible);
             content.revalidate();
             content.repaint();
         });
     }
 
-    private void refreshNow()
+    @Override
+    public void onActivate()
+    {
+        planPipeline.setRouteTracking(routeChip.isSelected());
+        // Plan changes are ignored while the sidebar is hidden; catch up when it is opened.
+        requestRefresh();
+    }
+
+    @Override
+    public void onDeactivate()
     {
-        clientThread.invokeLater(() ->
+        // The route view is off screen too; stop evaluating the whole route until the sidebar reopens.
+        planPipeline.setRouteTracking(false);
+    }
+
+    /**
+     * Show a stable placeholder while route data loads or the client state settles (login bursts).
+     */
+    public void showLoading()
+    {
+        SwingUtilities.invokeLater(() ->
         {
-            List<RouteStep> spine = routeService.getSpine();
-            List<SpineStepView> next = planService.buildNextStepViews(spine, NEXT_STEPS);
+            // Next plan may belong to a different account; start from empty.
+            stepsBody.removeAll();
+            slots.clear();
+            placeholder = null;
+            showPlaceholder("Loading player state...");
+            stepsBody.revalidate();
+            stepsBody.repaint();
+        });
+    }
 
-            SwingUtilities.invokeLater(() ->
+    /**
+     * Render a computed plan. Callable from any thread; ignored while the sidebar is hidden, since
+     * {@link #onActivate()} requests a fresh plan when it is opened.
+     *
+     * Cards are keyed by spine index and step type. Cards whose content is unchanged stay in place,
+     * changed ones are repainted with the new step, and only inserted or removed cards touch the container.
+     */
+    public void showSteps(List<SpineStepView> next)
+    {
+        SwingUtilities.invokeLater(() ->
+        {
+            if (isShowing())
             {
-                content.setVisible(false);
-                content.removeAll();
-                content.add(buildSection("Next 10 steps", renderNext(next)));
-                content.setVisible(true);
-                content.revalidate();
-                content.repaint();
-            });
+                applySteps(next);
+            }
         });
     }
 
+    private void applySteps(List<SpineStepView> next)
+    {
+        final long started = metrics.start();
+        try
+        {
+            applyStepsTimed(next);
+        }
+        finally
+        {
+            metrics.recordPanelRebuild(started);
+        }
+    }
+
+    private void applyStepsTimed(List<SpineStepView> next)
+    {
+        boolean changed = false;
+
+        if (placeholder != null)
+        {
+            stepsBody.remove(placeholder);
+            placeholder = null;
+            changed = true;
+        }
+
+        final Map<Long, CardSlot> kept = new HashMap<>();
+        int pos = 0;
+        for (SpineStepView v : next)
+        {
+            final PlanStep s = v == null ? null : v.getStep();
+            if (s == null)
+            {
+                continue;
+            }
+
+            final long key = keyOf(v);
+            if (kept.containsKey(key))
+            {
+                continue;
+            }
+
+            CardSlot slot = slots.remove(key);
+            if (slot == null)
+            {
+                slot = new CardSlot(new StepCard(sprites));
+                slot.card.setView(v);
+            }
+            else if (!PlanStepCard.rendersSame(slot.card.getView(), v))
+            {
+                slot.card.setView(v);
+                changed = true;
+            }
+            kept.put(key, slot);
+
+            // Everything before pos is already in order, so the cell is either missing or further down.
+            if (pos >= stepsBody.getComponentCount() || stepsBody.getComponent(pos) != slot.cell)
+            {
+                if (slot.cell.getParent() == stepsBody)
+                {
+                    stepsBody.remove(slot.cell);
+                }
+                stepsBody.add(slot.cell, pos);
+                changed = true;
+            }
+            pos++;
+        }
+
+        for (CardSlot gone : slots.values())
+        {
+            stepsBody.remove(gone.cell);
+            changed = true;
+        }
+        slots.clear();
+        slots.putAll(kept);
+
+        if (slots.isEmpty())
+        {
+            showPlaceholder("No remaining steps.");
+            changed = true;
+        }
+
+        if (changed)
+        {
+            stepsBody.revalidate();
+            stepsBody.repaint();
+        }
+    }
+
+    private void showPlaceholder(String text)
+    {
+        placeholder = new JLabel(text);
+        placeholder.setAlignmentX(Component.LEFT_ALIGNMENT);
+        stepsBody.add(placeholder);
+    }
+
+    private static long keyOf(SpineStepView v)
+    {
+        return ((long) v.getSpineIndex() << 8) | v.getStep().getType().ordinal();
+    }
+
+    private void showView(String view)
+    {
+        final boolean route = VIEW_ROUTE.equals(view);
+        nextChip.setSelected(!route);
+        routeChip.setSelected(route);
+
+        if (route)
+        {
+            routeBrowser.setSpine(routeService.getCompiledSpine());
+        }
+
+        // Whole-route completion is only evaluated while the route is on screen.
+        planPipeline.setRouteTracking(route);
+        viewLayout.show(views, view);
+        requestRefresh();
+    }
+
+    private void refreshNow()
+    {
+        // Only the snapshot copy runs on the client thread; the result arrives through showSteps.
+        clientThread.invokeLater(planPipeline::request);
+    }
+
     private JPanel buildHeader()
     {
         JPanel header = new JPanel(new BorderLayout());
@@ -150,12 +361,20 @@ public class IronmanPathPanel extends PluginPanel
         left.add(subtitle);
         left.add(Box.createVerticalStrut(6));
         left.add(refreshButton);
+        left.add(Box.createVerticalStrut(6));
+
+        JPanel chips = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        chips.setOpaque(false);
+        chips.setAlignmentX(Component.LEFT_ALIGNMENT);
+        chips.add(nextChip);
+        chips.add(routeChip);
+        left.add(chips);
 
         header.add(left, BorderLayout.WEST);
         return header;
     }
 
-    private JScrollPane buildBody()
+    private JPanel buildBody()
     {
         content.setLayout(new BoxLayout(content, BoxLayout.Y_AXIS));
         content.setOpaque(false);
@@ -165,7 +384,11 @@ public class IronmanPathPanel extends PluginPanel
         scroll.setBorder(null);
         scroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
         scroll.getVerticalScrollBar().setUnitIncrement(16);
-        return scroll;
+
+        views.setOpaque(false);
+        views.add(scroll, VIEW_NEXT);
+        views.add(routeBrowser, VIEW_ROUTE);
+        return views;
     }
 
     private JPanel buildSection(String title, JPanel body)
@@ -185,35 +408,84 @@ public class IronmanPathPanel extends PluginPanel
         return section;
     }
 
-    private JPanel renderNext(List<SpineStepView> steps)
+    private JPanel buildMetricsBody()
     {
         JPanel body = new JPanel();
-        body.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0));
         body.setOpaque(false);
         body.setLayout(new BoxLayout(body, BoxLayout.Y_AXIS));
 
-        for (SpineStepView v : steps)
+        addMetricsRow(body, "Refresh requests", metricsRefreshes);
+        addMetricsRow(body, "Plan capture (client thread)", metricsCapture);
+        addMetricsRow(body, "Quest.getState per refresh", metricsQuestReads);
+        addMetricsRow(body, "Panel rebuild (EDT)", metricsRebuild);
+        addMetricsRow(body, "Overlay render per frame", metricsOverlay);
+
+        JButton reset = new JButton("Reset");
+        reset.setAlignmentX(Component.LEFT_ALIGNMENT);
+        reset.addActionListener(e ->
         {
-            PlanStep s = v.getStep();
-            if (s == null)
-            {
-                continue;
-            }
+            metrics.reset();
+            updateMetrics();
+        });
+        body.add(Box.createVerticalStrut(4));
+        body.add(reset);
+        return body;
+    }
 
-            JPanel card = PlanStepCard.compact(spriteManager, clientThread, v);
-            forceFillWidth(card);
-            body.add(card);
-            body.add(Box.createVerticalStrut(6));
-        }
+    private static void addMetricsRow(JPanel body, String name, JLabel value)
+    {
+        JLabel label = new JLabel(name);
+        label.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
+        label.setAlignmentX(Component.LEFT_ALIGNMENT);
+        body.add(label);
+        body.add(value);
+        body.add(Box.createVerticalStrut(4));
+    }
+
+    private static JLabel metricsValue()
+    {
+        JLabel value = new JLabel();
+        value.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
+        value.setFont(FontManager.getRunescapeSmallFont());
+        value.setAlignmentX(Component.LEFT_ALIGNMENT);
+        return value;
+    }
+
+    private void updateMetrics()
+    {
+        metricsRefreshes.setText(metrics.getRefreshRequests() + " planned, "
+            + metrics.getRefreshesCoalesced() + " coalesced, "
+            + metrics.getPanelRefreshesDebounced() + " debounced");
+        metricsCapture.setText(formatHistogram(metrics.getPlanCaptureNanos(), true));
+        metricsQuestReads.setText(formatHistogram(metrics.getQuestReadsPerRefresh(), false));
+        metricsRebuild.setText(formatHistogram(metrics.getPanelRebuildNanos(), true));
+        metricsOverlay.setText(formatHistogram(metrics.getOverlayRenderNanos(), true));
+    }
 
-        if (steps.isEmpty())
+    private static String formatHistogram(PluginMetrics.Histogram h, boolean nanos)
+    {
+        if (h.getCount() == 0)
         {
-            JLabel none = new JLabel("No remaining steps.");
-            none.setAlignmentX(Component.LEFT_ALIGNMENT);
-            body.add(none);
+            return "no samples";
         }
 
-        return body;
+        return "n " + h.getCount()
+            + "  p50 " + formatValue(h.getPercentile(0.5), nanos)
+            + "  p99 " + formatValue(h.getPercentile(0.99), nanos)
+            + "  max " + formatValue(h.getMax(), nanos);
+    }
+
+    private static String formatValue(long value, boolean nanos)
+    {
+        if (!nanos)
+        {
+            return Long.toString(value);
+        }
+        if (value < 1_000_000)
+        {
+            return (value / 1000) + "us";
+        }
+        return String.format(Locale.ROOT, "%.1fms", value / 1_000_000.0);
     }
 
     private static void forceFillWidth(JPanel panel)
@@ -222,4 +494,23 @@ public class IronmanPathPanel extends PluginPanel
         // Allow BoxLayout to compute height naturally (wrapped text needs a real width before preferred height is correct).
         panel.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
     }
+
+    /**
+     * One keyed card plus the cell that holds it in the section body. The cell carries the gap below
+     * the card, so reordering moves a single component.
+     */
+    private static final class CardSlot
+    {
+        private final JPanel cell = new JPanel(new BorderLayout());
+        private final StepCard card;
+
+        private CardSlot(StepCard card)
+        {
+            this.card = card;
+            cell.setOpaque(false);
+            cell.setBorder(BorderFactory.createEmptyBorder(0, 0, 6, 0));
+            cell.add(card, BorderLayout.CENTER);
+            forceFillWidth(cell);
+        }
+    }
 }
@@ -6,100 +6,69 @@ import com.ironpath.model.SpineStepView;
 import com.ironpath.model.PlanStepType;
 import com.ironpath.model.QuestPlanStep;
 import com.ironpath.model.TrainPlanStep;
-import java.awt.BorderLayout;
-import java.awt.Component;
-import java.awt.Dimension;
-import javax.swing.BorderFactory;
-import javax.swing.JLabel;
-import javax.swing.JPanel;
-import javax.swing.JTextArea;
-import net.runelite.client.callback.ClientThread;
-import net.runelite.client.game.SpriteManager;
-import net.runelite.client.ui.ColorScheme;
-import net.runelite.client.ui.FontManager;
+import java.util.Objects;
 
 /**
- * Renders a {@link PlanStep} as a compact sidebar-safe card.
+ * Text and comparison helpers for the {@link PlanStep} cards drawn by {@link StepCard}.
  */
 public final class PlanStepCard
 {
     private PlanStepCard() {}
 
-    public static JPanel compact(SpriteManager spriteManager, ClientThread clientThread, SpineStepView view)
+    /**
+     * True if both views render to an identical card, so an existing card can be kept as-is.
+     * Compares only the fields the cards actually show; e.g. a TRAIN step's "from" level is not displayed.
+     */
+    public static boolean rendersSame(SpineStepView a, SpineStepView b)
     {
-        if (view == null)
+        if (a == b)
         {
-            return empty("Unknown step", -1, -1);
+            return true;
         }
-
-        return compact(spriteManager, clientThread, view.getStep(), view.getSpineIndex(), view.getSpineTotal());
-    }
-
-    public static JPanel compact(SpriteManager spriteManager, ClientThread clientThread, PlanStep step, int spineIndex, int spineTotal)
-    {
-        if (step == null)
+        if (a == null || b == null || a.getSpineIndex() != b.getSpineIndex() || a.getSpineTotal() != b.getSpineTotal())
         {
-            return empty("Unknown step", spineIndex, spineTotal);
+            return false;
         }
 
-        if (step.getType() == PlanStepType.QUEST && step instanceof QuestPlanStep)
+        final PlanStep x = a.getStep();
+        final PlanStep y = b.getStep();
+        if (x == y)
         {
-            QuestPlanStep q = (QuestPlanStep) step;
-            return QuestCard.compact(spriteManager, clientThread, q.getEntry(), q.getState(), spineIndex, spineTotal);
+            return true;
         }
-
-        if (step.getType() == PlanStepType.TRAIN && step instanceof TrainPlanStep)
+        if (x == null || y == null || x.getType() != y.getType() || x.getClass() != y.getClass())
         {
-            return train((TrainPlanStep) step, spineIndex, spineTotal);
+            return false;
         }
 
-        if (step instanceof InfoPlanStep)
+        if (x instanceof QuestPlanStep)
         {
-            return info(spriteManager, clientThread, (InfoPlanStep) step, spineIndex, spineTotal);
+            // Quest cards show the entry only, not the journal state.
+            return ((QuestPlanStep) x).getEntry() == ((QuestPlanStep) y).getEntry();
         }
 
-        return empty(step.getType().name(), spineIndex, spineTotal);
-    }
-
-    private static JPanel train(TrainPlanStep t, int spineIndex, int spineTotal)
-    {
-        JPanel p = base();
-        String title = "Train " + t.getSkill().getName() + " to " + t.getToLevel();
-
-        p.add(buildHeader(title, spineIndex, spineTotal, true), BorderLayout.NORTH);
-
-        JTextArea body = bodyArea(t.getReason());
-        p.add(body, BorderLayout.CENTER);
-        return p;
-    }
-
-    private static JPanel info(SpriteManager spriteManager, ClientThread clientThread, InfoPlanStep s, int spineIndex, int spineTotal)
-    {
-        // Render MINIQUEST with quest-like card styling for consistency.
-        if (s.getType() == PlanStepType.MINIQUEST)
+        if (x instanceof TrainPlanStep)
         {
-            String title = s.getTitle() == null ? "Miniquest" : s.getTitle();
-            String detail = s.getDetail();
-            return MiniquestCard.compact(spriteManager, clientThread, title, detail, s.getWikiUrl(), spineIndex, spineTotal);
+            final TrainPlanStep t = (TrainPlanStep) x;
+            final TrainPlanStep u = (TrainPlanStep) y;
+            return t.getSkill() == u.getSkill()
+                    && t.getToLevel() == u.getToLevel()
+                    && Objects.equals(t.getReason(), u.getReason());
         }
 
-        JPanel p = base();
-
-        String label = labelFor(s.getType());
-        String title = s.getTitle() == null ? label : s.getTitle();
-        String headerTitle = label + ": " + title;
-
-        p.add(buildHeader(headerTitle, spineIndex, spineTotal, true), BorderLayout.NORTH);
+        if (x instanceof InfoPlanStep)
+        {
+            final InfoPlanStep i = (InfoPlanStep) x;
+            final InfoPlanStep j = (InfoPlanStep) y;
+            return Objects.equals(i.getTitle(), j.getTitle())
+                    && Objects.equals(i.getDetail(), j.getDetail())
+                    && Objects.equals(i.getWikiUrl(), j.getWikiUrl());
+        }
 
-        JTextArea body = bodyArea(s.getDetail());
-        body.setFont(FontManager.getRunescapeSmallFont());
-        body.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
-        p.add(body, BorderLayout.CENTER);
-        return p;
+        return false;
     }
 
-
-    private static String labelFor(PlanStepType t)
+    static String labelFor(PlanStepType t)
     {
         if (t == null)
         {
@@ -117,64 +86,7 @@ public final class PlanStepCard
         }
     }
 
-    private static JPanel empty(String title, int spineIndex, int spineTotal)
-    {
-        JPanel p = base();
-        p.add(buildHeader(title, spineIndex, spineTotal, true), BorderLayout.NORTH);
-        return p;
-    }
-
-    private static JPanel base()
-    {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBackground(ColorScheme.DARKER_GRAY_COLOR);
-        panel.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createMatteBorder(1, 1, 1, 1, ColorScheme.DARK_GRAY_COLOR),
-                BorderFactory.createEmptyBorder(8, 8, 8, 8)
-        ));
-        panel.setAlignmentX(Component.LEFT_ALIGNMENT);
-        return panel;
-    }
-
-    
-    private static JPanel buildHeader(String leftTitle, int spineIndex, int spineTotal, boolean showLongLine)
-    {
-        JPanel header = new JPanel();
-        header.setOpaque(false);
-        header.setLayout(new javax.swing.BoxLayout(header, javax.swing.BoxLayout.Y_AXIS));
-
-        // Row 1: title (left) + progress (right)
-        JPanel row1 = new JPanel(new BorderLayout());
-        row1.setOpaque(false);
-
-        JLabel title = new JLabel(leftTitle == null ? "" : leftTitle);
-        title.setAlignmentX(Component.LEFT_ALIGNMENT);
-        title.setFont(FontManager.getRunescapeSmallFont());
-        title.setForeground(ColorScheme.LIGHT_GRAY_COLOR);
-
-        JLabel progress = new JLabel(formatProgressCompact(spineIndex, spineTotal));
-        progress.setFont(FontManager.getRunescapeSmallFont());
-        progress.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
-
-        row1.add(title, BorderLayout.WEST);
-        row1.add(progress, BorderLayout.EAST);
-
-        header.add(row1);
-
-        if (showLongLine)
-        {
-            // Row 2: "Step X of Y"
-            JLabel stepLine = new JLabel(formatProgressLong(spineIndex, spineTotal));
-            stepLine.setFont(FontManager.getRunescapeSmallFont());
-            stepLine.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
-            stepLine.setAlignmentX(Component.LEFT_ALIGNMENT);
-            stepLine.setBorder(BorderFactory.createEmptyBorder(2, 0, 0, 0));
-            header.add(stepLine);
-        }
-        return header;
-    }
-
-    private static String formatProgressCompact(int spineIndex, int spineTotal)
+    static String formatProgressCompact(int spineIndex, int spineTotal)
     {
         if (spineIndex < 0 || spineTotal <= 0)
         {
@@ -183,7 +95,7 @@ public final class PlanStepCard
         return (spineIndex + 1) + " / " + spineTotal;
     }
 
-    private static String formatProgressLong(int spineIndex, int spineTotal)
+    static String formatProgressLong(int spineIndex, int spineTotal)
     {
         if (spineIndex < 0 || spineTotal <= 0)
         {
@@ -191,20 +103,4 @@ public final class PlanStepCard
         }
         return "Step " + (spineIndex + 1) + " of " + spineTotal;
     }
-
-
-private static JTextArea bodyArea(String text)
-    {
-        JTextArea ta = new JTextArea(text == null ? "" : text);
-        ta.setLineWrap(true);
-        ta.setWrapStyleWord(true);
-        ta.setEditable(false);
-        ta.setFocusable(false);
-        ta.setOpaque(false);
-        // Keep preferred width small so the card never exceeds the sidebar.
-        ta.setColumns(1);
-        ta.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 8));
-        ta.setAlignmentX(Component.LEFT_ALIGNMENT);
-        return ta;
-    }
-}
\ No newline at end of file
+}
@@ -8,31 +8,19 @@ import java.awt.Font;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
-import java.awt.Image;
 import javax.swing.BorderFactory;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextArea;
 import net.runelite.api.QuestState;
-import net.runelite.api.SpriteID;
-import net.runelite.client.game.SpriteManager;
-import net.runelite.client.callback.ClientThread;
 import net.runelite.client.ui.ColorScheme;
 import net.runelite.client.ui.FontManager;
 import net.runelite.client.util.LinkBrowser;
-import java.awt.image.BufferedImage;
-import javax.swing.SwingUtilities;
 
 public final class QuestCard
 {
     private static final int PAD = 10;
-    private static final int ICON_SIZE = 16;
-
-    // Fallback icon only. Real icons are pulled from the OSRS cache via SpriteManager.
-    // If the resource is missing, the layout still reserves space and stays stable.
-    private static final ImageIcon FALLBACK_QUEST_ICON = loadIcon("icons/quest.png");
 
     private QuestCard() {}
 
@@ -110,97 +98,6 @@ public final class QuestCard
         return card;
     }
 
-    public static JPanel compact(QuestEntry entry, QuestState state)
-    {
-        return compact(null, entry, state, -1, -1);
-    }
-
-    public static JPanel compact(QuestEntry entry, QuestState state, int spineIndex, int spineTotal)
-    {
-        return compact(null, entry, state, spineIndex, spineTotal);
-    }
-
-    public static JPanel compact(SpriteManager spriteManager, QuestEntry entry, QuestState state, int spineIndex, int spineTotal)
-    {
-        return compact(spriteManager, null, entry, state, spineIndex, spineTotal);
-    }
-
-    public static JPanel compact(SpriteManager spriteManager, ClientThread clientThread, QuestEntry entry, QuestState state, int spineIndex, int spineTotal)
-    {
-        JPanel card = baseCard();
-        card.setLayout(new GridBagLayout());
-
-        GridBagConstraints c = new GridBagConstraints();
-        // Row 1: icon + title (tight)
-        c.gridx = 0;
-        c.gridy = 0;
-        c.gridwidth = 2;
-        c.weightx = 1;
-        c.fill = GridBagConstraints.HORIZONTAL;
-        c.anchor = GridBagConstraints.NORTHWEST;
-        c.insets = new Insets(0, 0, 0, 0);
-        // RuneLite SpriteID doesn't expose a consistent "QUESTS_TAB" constant across versions.
-        // Use the quests page icon sprite, which is stable and matches the in-game quests UI.
-        card.add(iconTitleRow(spriteManager, clientThread, SpriteID.QUESTS_PAGE_ICON_BLUE_QUESTS, FALLBACK_QUEST_ICON, entry.getQuestName()), c);
-
-        // Row 2: "Step X of Y" (left) + Quest Guide (right)
-        String stepLine = formatProgressLong(spineIndex, spineTotal);
-
-        c.gridwidth = 1;
-        c.gridy = 1;
-        c.insets = new Insets(2, 0, 0, 0);
-
-        c.gridx = 0;
-        c.weightx = 1;
-        c.fill = GridBagConstraints.HORIZONTAL;
-        JLabel step = new JLabel(stepLine);
-        step.setFont(step.getFont().deriveFont(Font.PLAIN, 10.5f));
-        step.setForeground(ColorScheme.MEDIUM_GRAY_COLOR);
-        card.add(step, c);
-
-        c.gridx = 1;
-        c.weightx = 0;
-        c.fill = GridBagConstraints.NONE;
-        c.anchor = GridBagConstraints.NORTHEAST;
-        card.add(wikiPill(entry), c);
-
-        // Reason (full width under step line)
-        String why = entry.getShortWhy();
-        if (why != null && !why.isBlank())
-        {
-            c.gridx = 0;
-            c.gridy = 2;
-            c.gridwidth = 2;
-            c.weightx = 1;
-            c.fill = GridBagConstraints.HORIZONTAL;
-            c.anchor = GridBagConstraints.NORTHWEST;
-            c.insets = new Insets(6, 0, 0, 0);
-
-            card.add(wrapTextFlush(why, 11f, false), c);
-        }
-
-        forceFillWidth(card);
-        return card;
-    }
-
-    private static String formatProgressCompact(int spineIndex, int spineTotal)
-    {
-        if (spineIndex < 0 || spineTotal <= 0)
-        {
-            return "";
-        }
-        return (spineIndex + 1) + " / " + spineTotal;
-    }
-
-    private static String formatProgressLong(int spineIndex, int spineTotal)
-    {
-        if (spineIndex < 0 || spineTotal <= 0)
-        {
-            return "";
-        }
-        return "Step " + (spineIndex + 1) + " of " + spineTotal;
-    }
-
     private static JPanel baseCard()
     {
         JPanel p = new JPanel();
@@ -215,7 +112,7 @@ public final class QuestCard
     }
 
 
-    private static String resolveWikiUrl(QuestEntry entry)
+    static String resolveWikiUrl(QuestEntry entry)
     {
         if (entry != null)
         {
@@ -289,135 +186,6 @@ public final class QuestCard
         return wrap;
     }
 
-    private static JPanel iconTitleRow(SpriteManager spriteManager, ClientThread clientThread, int spriteId, ImageIcon fallbackIcon, String titleText)
-    {
-        JPanel row = new JPanel(new GridBagLayout());
-        row.setOpaque(false);
-
-        GridBagConstraints r = new GridBagConstraints();
-        r.gridy = 0;
-        r.anchor = GridBagConstraints.NORTHWEST;
-        r.insets = new Insets(0, 0, 0, 6);
-
-        // Icon (fixed slot, prevents text jitter)
-        JLabel iconLabel = buildSpriteIconLabel(spriteManager, clientThread, spriteId, fallbackIcon);
-        // OSRS cache sprites often include a small amount of transparent padding.
-        // Nudge the icon up slightly so it aligns better with the title text.
-        iconLabel.setBorder(BorderFactory.createEmptyBorder(-2, 0, 0, 0));
-        iconLabel.setPreferredSize(new Dimension(ICON_SIZE, ICON_SIZE));
-        iconLabel.setMinimumSize(new Dimension(ICON_SIZE, ICON_SIZE));
-        iconLabel.setMaximumSize(new Dimension(ICON_SIZE, ICON_SIZE));
-        r.gridx = 0;
-        r.weightx = 0;
-        row.add(iconLabel, r);
-
-        // Title (wrapping)
-        r.gridx = 1;
-        r.weightx = 1;
-        r.fill = GridBagConstraints.HORIZONTAL;
-        r.insets = new Insets(0, 0, 0, 0);
-        JTextArea title = wrapTextFlush(titleText == null ? "" : titleText, 12f, true);
-        // Title row is tight, so no extra right padding.
-        title.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, 0));
-        row.add(title, r);
-
-        return row;
-    }
-
-    private static JLabel buildSpriteIconLabel(SpriteManager spriteManager, ClientThread clientThread, int spriteId, ImageIcon fallbackIcon)
-    {
-        JLabel label = new JLabel();
-        label.setOpaque(false);
-
-        if (spriteManager == null)
-        {
-            if (fallbackIcon != null)
-            {
-                label.setIcon(fallbackIcon);
-            }
-            return label;
-        }
-
-        // Always set fallback first so the layout is stable even if sprite loading is delayed.
-        if (fallbackIcon != null)
-        {
-            label.setIcon(fallbackIcon);
-        }
-
-        // SpriteManager access is safest from the client thread.
-        Runnable request = () ->
-        {
-            BufferedImage img = spriteManager.getSprite(spriteId, 0);
-            if (img != null)
-            {
-                SwingUtilities.invokeLater(() ->
-                {
-                    label.setIcon(new ImageIcon(scale(img)));
-                    label.revalidate();
-                    label.repaint();
-                });
-                return;
-            }
-
-            spriteManager.getSpriteAsync(spriteId, 0, sprite ->
-            {
-                if (sprite == null)
-                {
-                    return;
-                }
-
-                SwingUtilities.invokeLater(() ->
-                {
-                    label.setIcon(new ImageIcon(scale(sprite)));
-                    label.revalidate();
-                    label.repaint();
-                });
-            });
-        };
-
-        if (clientThread != null)
-        {
-            clientThread.invokeLater(request);
-        }
-        else
-        {
-            // Best-effort if clientThread isn't available.
-            request.run();
-        }
-        return label;
-    }
-
-    private static Image scale(java.awt.image.BufferedImage img)
-    {
-        return img.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH);
-    }
-
-    private static ImageIcon loadIcon(String relPath)
-    {
-        try
-        {
-            java.net.URL u = QuestCard.class.getResource(relPath.startsWith("/") ? relPath : "/com/ironpath/ui/" + relPath);
-            if (u == null)
-            {
-                return null;
-            }
-
-            Image img = javax.imageio.ImageIO.read(u);
-            if (img == null)
-            {
-                return null;
-            }
-
-            Image scaled = img.getScaledInstance(ICON_SIZE, ICON_SIZE, Image.SCALE_SMOOTH);
-            return new ImageIcon(scaled);
-        }
-        catch (Exception ignored)
-        {
-            return null;
-        }
-    }
-
-
     private static void forceFillWidth(JPanel panel)
     {
         panel.setAlignmentX(Component.LEFT_ALIGNMENT);
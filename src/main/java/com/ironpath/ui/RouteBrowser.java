@@ -0,0 +1,288 @@
+package com.ironpath.ui;
+
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestEntry;
+import com.ironpath.model.RouteStep;
+import com.ironpath.util.TextWrap;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.BitSet;
+import javax.swing.AbstractListModel;
+import javax.swing.BorderFactory;
+import javax.swing.JComponent;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.ListCellRenderer;
+import javax.swing.ListSelectionModel;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.util.LinkBrowser;
+
+/**
+ * Scrollable view of the whole route spine, including finished steps.
+ *
+ * Backed by a {@link JList} with a fixed row height and a single painted renderer, so only the rows in
+ * the viewport are ever painted and no per-row components exist. Double-click opens the step's wiki page.
+ */
+final class RouteBrowser extends JPanel
+{
+    private static final int ROW_HEIGHT = 22;
+    private static final int VISIBLE_ROWS = 24;
+
+    // With a fixed width JList never asks the renderer for every row to size itself; rows still span the viewport.
+    private static final int MIN_ROW_WIDTH = 100;
+
+    private static final Color DONE_COLOR = new Color(54, 94, 64);
+
+    private final RouteModel model = new RouteModel();
+    private final JList<RouteRow> list = new JList<>(model);
+
+    private CompiledSpine spine;
+    private BitSet complete = new BitSet();
+    private int firstUnfinished = -1;
+    private boolean scrolledToCurrent;
+
+    RouteBrowser()
+    {
+        super(new BorderLayout());
+        setOpaque(false);
+
+        list.setFixedCellHeight(ROW_HEIGHT);
+        list.setFixedCellWidth(MIN_ROW_WIDTH);
+        list.setVisibleRowCount(VISIBLE_ROWS);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setBackground(ColorScheme.DARK_GRAY_COLOR);
+        list.setCellRenderer(new RowRenderer());
+        list.addMouseListener(new MouseAdapter()
+        {
+            @Override
+            public void mouseClicked(MouseEvent e)
+            {
+                if (e.getClickCount() != 2)
+                {
+                    return;
+                }
+
+                final int i = list.locationToIndex(e.getPoint());
+                final RouteRow row = i < 0 ? null : model.getElementAt(i);
+                if (row != null && row.wikiUrl != null)
+                {
+                    LinkBrowser.browse(row.wikiUrl);
+                }
+            }
+        });
+
+        final JScrollPane scroll = new JScrollPane(list);
+        scroll.setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+        scroll.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        scroll.getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT);
+        add(scroll, BorderLayout.CENTER);
+    }
+
+    /**
+     * Show the given spine. Rows are rebuilt only when the spine instance changes. EDT only.
+     */
+    void setSpine(CompiledSpine spine)
+    {
+        if (spine == null || spine == this.spine)
+        {
+            return;
+        }
+
+        this.spine = spine;
+        final RouteRow[] rows = new RouteRow[spine.size()];
+        for (int i = 0; i < rows.length; i++)
+        {
+            rows[i] = RouteRow.of(spine.getStep(i));
+        }
+        model.setRows(rows);
+        complete = new BitSet();
+        firstUnfinished = -1;
+        scrolledToCurrent = false;
+    }
+
+    /**
+     * Apply whole-route completion. The first update after a spine change scrolls to the current step. EDT only.
+     */
+    void setCompletion(BitSet complete)
+    {
+        this.complete = complete;
+        this.firstUnfinished = complete.nextClearBit(0);
+        list.repaint();
+
+        if (!scrolledToCurrent && firstUnfinished < model.getSize())
+        {
+            scrolledToCurrent = true;
+            list.ensureIndexIsVisible(Math.min(model.getSize() - 1, firstUnfinished + VISIBLE_ROWS / 2));
+            list.ensureIndexIsVisible(firstUnfinished);
+        }
+    }
+
+    private static final class RouteRow
+    {
+        private final String title;
+        private final String wikiUrl;
+
+        private RouteRow(String title, String wikiUrl)
+        {
+            this.title = title;
+            this.wikiUrl = wikiUrl;
+        }
+
+        static RouteRow of(RouteStep s)
+        {
+            return new RouteRow(titleOf(s), wikiUrlOf(s));
+        }
+
+        private static String wikiUrlOf(RouteStep s)
+        {
+            if (s == null)
+            {
+                return null;
+            }
+            if (s.getType() == PlanStepType.QUEST && s.getQuest() != null)
+            {
+                // Quest rows usually carry no URL; derive it from the quest name the same way the cards do.
+                return QuestCard.resolveWikiUrl(new QuestEntry(s.getQuest(), null, s.getWikiUrl()));
+            }
+            return s.getWikiUrl();
+        }
+
+        private static String titleOf(RouteStep s)
+        {
+            if (s == null || s.getType() == null)
+            {
+                return "Unknown step";
+            }
+            if (s.getType() == PlanStepType.TRAIN && s.getSkill() != null && s.getToLevel() != null)
+            {
+                return "Train " + s.getSkill().getName() + " to " + s.getToLevel();
+            }
+            if (s.getDisplayName() != null && !s.getDisplayName().isBlank())
+            {
+                return s.getDisplayName().trim();
+            }
+            if (s.getQuest() != null)
+            {
+                return s.getQuest().getName();
+            }
+            return s.getType().name();
+        }
+    }
+
+    private static final class RouteModel extends AbstractListModel<RouteRow>
+    {
+        private RouteRow[] rows = new RouteRow[0];
+
+        void setRows(RouteRow[] rows)
+        {
+            final int old = this.rows.length;
+            this.rows = rows;
+            if (old > 0)
+            {
+                fireIntervalRemoved(this, 0, old - 1);
+            }
+            if (rows.length > 0)
+            {
+                fireIntervalAdded(this, 0, rows.length - 1);
+            }
+        }
+
+        @Override
+        public int getSize()
+        {
+            return rows.length;
+        }
+
+        @Override
+        public RouteRow getElementAt(int index)
+        {
+            return rows[index];
+        }
+    }
+
+    /**
+     * The one component JList stamps for every visible row.
+     */
+    private final class RowRenderer extends JComponent implements ListCellRenderer<RouteRow>
+    {
+        private static final int PAD = 6;
+        private static final int DOT = 6;
+        private static final int NUMBER_WIDTH = 30;
+
+        private RouteRow row;
+        private int index;
+        private boolean selected;
+
+        RowRenderer()
+        {
+            setFont(FontManager.getRunescapeSmallFont());
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends RouteRow> list, RouteRow value, int index,
+                                                      boolean isSelected, boolean cellHasFocus)
+        {
+            this.row = value;
+            this.index = index;
+            this.selected = isSelected;
+            setToolTipText(value == null ? null : value.title);
+            return this;
+        }
+
+        @Override
+        protected void paintComponent(Graphics g)
+        {
+            final Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            final int w = getWidth();
+            final int h = getHeight();
+            final boolean done = complete.get(index);
+            final boolean current = index == firstUnfinished;
+
+            g2.setColor(selected ? ColorScheme.DARKER_GRAY_HOVER_COLOR : (index % 2 == 0 ? ColorScheme.DARK_GRAY_COLOR : ColorScheme.DARKER_GRAY_COLOR));
+            g2.fillRect(0, 0, w, h);
+
+            // Completion dot: filled when done, ring otherwise.
+            final int dy = (h - DOT) / 2;
+            if (done)
+            {
+                g2.setColor(DONE_COLOR);
+                g2.fillOval(PAD, dy, DOT, DOT);
+            }
+            else
+            {
+                g2.setColor(current ? ColorScheme.BRAND_ORANGE : ColorScheme.MEDIUM_GRAY_COLOR);
+                g2.drawOval(PAD, dy, DOT, DOT);
+            }
+
+            g2.setFont(getFont());
+            final FontMetrics fm = g2.getFontMetrics();
+            final int baseline = (h - fm.getHeight()) / 2 + fm.getAscent();
+
+            final int numberX = PAD + DOT + PAD;
+            g2.setColor(ColorScheme.MEDIUM_GRAY_COLOR);
+            g2.drawString(Integer.toString(index + 1), numberX, baseline);
+
+            if (row == null)
+            {
+                return;
+            }
+
+            final int titleX = numberX + NUMBER_WIDTH;
+            g2.setColor(current ? ColorScheme.BRAND_ORANGE : done ? ColorScheme.MEDIUM_GRAY_COLOR : ColorScheme.LIGHT_GRAY_COLOR);
+            g2.drawString(TextWrap.elide(row.title, fm, w - titleX - PAD), titleX, baseline);
+        }
+    }
+}
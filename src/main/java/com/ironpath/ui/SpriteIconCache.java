@@ -1,72 +1,137 @@
 package com.ironpath.ui;
 
-import java.awt.Image;
+import com.google.inject.Singleton;
+import com.ironpath.model.PlanStep;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.SpineStepView;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import javax.swing.ImageIcon;
-import javax.swing.JLabel;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.inject.Inject;
+import javax.swing.JComponent;
 import javax.swing.SwingUtilities;
+import net.runelite.api.SpriteID;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.SpriteManager;
 
 /**
- * Small UI-only cache for OSRS cache sprites (via RuneLite SpriteManager).
+ * Shared cache of OSRS cache sprites (via RuneLite SpriteManager), scaled to the size they are drawn at.
  *
- * Goals:
- * - Avoid repeated fallback->sprite swapping across frequent panel rebuilds.
- * - Ensure sprite requests occur on the client thread.
- * - Update any labels that are currently showing the sprite when it becomes available.
+ * - Entries are keyed by (spriteId, size) and bounded; the least recently used entry is dropped first.
+ * - Sprites are fetched on the client thread, which only hands the raw image on. It is scaled once, on
+ *   RuneLite's background executor, and only the cache insert runs on the EDT, so neither the client
+ *   thread nor the EDT ever scales.
+ * - Components waiting for a sprite are repainted once it is cached. Waiters are weakly held and
+ *   cleared through a reference queue, so abandoned cards do not accumulate.
+ *
+ * Thread-safe. {@link #get(int, int)} never blocks on a load.
  */
-final class SpriteIconCache
+@Singleton
+public class SpriteIconCache
 {
-    private static final Map<Integer, ImageIcon> CACHE = new ConcurrentHashMap<>();
-    private static final Set<Integer> IN_FLIGHT = ConcurrentHashMap.newKeySet();
-    private static final Map<Integer, CopyOnWriteArrayList<WeakReference<JLabel>>> WATCHERS = new ConcurrentHashMap<>();
+    private static final int MAX_ENTRIES = 64;
+
+    private final SpriteManager spriteManager;
+    private final ClientThread clientThread;
+    private final ScheduledExecutorService executor;
 
-    private SpriteIconCache()
+    // Access-ordered; guarded by itself.
+    private final Map<Long, BufferedImage> cache = new LinkedHashMap<Long, BufferedImage>(16, 0.75f, true)
     {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest)
+        {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Guarded by itself.
+    private final Map<Long, List<Watcher>> watchers = new HashMap<>();
+    private final ReferenceQueue<JComponent> deadWatchers = new ReferenceQueue<>();
+
+    @Inject
+    public SpriteIconCache(SpriteManager spriteManager, ClientThread clientThread, ScheduledExecutorService executor)
+    {
+        this.spriteManager = spriteManager;
+        this.clientThread = clientThread;
+        this.executor = executor;
     }
 
-    static void attach(JLabel label, SpriteManager spriteManager, ClientThread clientThread, int spriteId, int size)
+    /**
+     * Sprite shown next to a step's title, or -1 if the step has no icon.
+     */
+    public static int iconSpriteFor(PlanStep step)
     {
-        if (label == null)
+        if (step == null)
         {
-            return;
+            return -1;
         }
 
-        ImageIcon cached = CACHE.get(spriteId);
-        if (cached != null)
+        // RuneLite SpriteID doesn't expose a consistent "QUESTS_TAB" constant across versions.
+        // Use the quests page icon sprite, which is stable and matches the in-game quests UI.
+        return step.getType() == PlanStepType.QUEST || step.getType() == PlanStepType.MINIQUEST
+            ? SpriteID.QUESTS_PAGE_ICON_BLUE_QUESTS
+            : -1;
+    }
+
+    /**
+     * Cached scaled sprite, or null if it is not loaded yet.
+     */
+    public BufferedImage get(int spriteId, int size)
+    {
+        synchronized (cache)
         {
-            label.setIcon(cached);
-            return;
+            return cache.get(key(spriteId, size));
         }
+    }
 
-        if (spriteManager == null)
+    /**
+     * Return the cached sprite, or start loading it and return null. A non-null watcher is repainted on
+     * the EDT once the sprite is available, and can then read it with {@link #get(int, int)}.
+     */
+    public BufferedImage request(int spriteId, int size, JComponent watcher)
+    {
+        final long key = key(spriteId, size);
+        final BufferedImage cached = get(spriteId, size);
+        if (cached != null || spriteManager == null)
         {
-            // No sprite manager available; leave icon empty but preserve slot sizing in the caller.
-            return;
+            return cached;
         }
 
-        // Register the label so it will be updated when the sprite is available.
-        WATCHERS.computeIfAbsent(spriteId, k -> new CopyOnWriteArrayList<>()).add(new WeakReference<>(label));
+        if (watcher != null)
+        {
+            synchronized (watchers)
+            {
+                expungeDeadWatchers();
+                watchers.computeIfAbsent(key, k -> new ArrayList<>()).add(new Watcher(key, watcher, deadWatchers));
+            }
+        }
 
-        // Only one load per spriteId.
-        if (!IN_FLIGHT.add(spriteId))
+        // Only one load per key.
+        if (!inFlight.add(key))
         {
-            return;
+            return null;
         }
 
-        Runnable request = () ->
+        final Runnable load = () ->
         {
-            BufferedImage img = spriteManager.getSprite(spriteId, 0);
+            final BufferedImage img = spriteManager.getSprite(spriteId, 0);
             if (img != null)
             {
-                publish(spriteId, img, size);
+                scaleAndPublish(key, img, size);
                 return;
             }
 
@@ -74,57 +139,155 @@ final class SpriteIconCache
             {
                 if (sprite != null)
                 {
-                    publish(spriteId, sprite, size);
+                    scaleAndPublish(key, sprite, size);
                 }
                 else
                 {
-                    IN_FLIGHT.remove(spriteId);
+                    inFlight.remove(key);
                 }
             });
         };
 
         if (clientThread != null)
         {
-            clientThread.invokeLater(request);
+            clientThread.invokeLater(load);
         }
         else
         {
-            request.run();
+            load.run();
+        }
+        return null;
+    }
+
+    /**
+     * Warm the cache with the icons the given steps will show at {@code size}.
+     */
+    public void prefetch(List<SpineStepView> steps, int size)
+    {
+        for (SpineStepView v : steps)
+        {
+            final int spriteId = iconSpriteFor(v == null ? null : v.getStep());
+            if (spriteId >= 0)
+            {
+                request(spriteId, size, null);
+            }
         }
     }
 
-    private static void publish(int spriteId, BufferedImage img, int size)
+    /**
+     * Scale a loaded sprite on the background executor, then publish it on the EDT.
+     */
+    private void scaleAndPublish(long key, BufferedImage sprite, int size)
     {
-        ImageIcon icon = new ImageIcon(scale(img, size));
-        CACHE.put(spriteId, icon);
-        IN_FLIGHT.remove(spriteId);
+        final Runnable task = () ->
+        {
+            final BufferedImage scaled = scale(sprite, size);
+            SwingUtilities.invokeLater(() -> publish(key, scaled));
+        };
 
-        CopyOnWriteArrayList<WeakReference<JLabel>> list = WATCHERS.get(spriteId);
-        if (list == null)
+        if (executor != null)
+        {
+            executor.execute(task);
+        }
+        else
+        {
+            task.run();
+        }
+    }
+
+    /**
+     * Cache a scaled sprite, then repaint its watchers. EDT only.
+     */
+    private void publish(long key, BufferedImage scaled)
+    {
+        synchronized (cache)
+        {
+            cache.put(key, scaled);
+        }
+        inFlight.remove(key);
+
+        final List<Watcher> waiting;
+        synchronized (watchers)
+        {
+            waiting = watchers.remove(key);
+        }
+        if (waiting == null)
         {
             return;
         }
 
-        SwingUtilities.invokeLater(() ->
+        for (Watcher w : waiting)
         {
-            Iterator<WeakReference<JLabel>> it = list.iterator();
-            while (it.hasNext())
+            final JComponent c = w.get();
+            if (c != null)
             {
-                JLabel l = it.next().get();
-                if (l == null)
-                {
-                    it.remove();
-                    continue;
-                }
-                l.setIcon(icon);
-                l.revalidate();
-                l.repaint();
+                c.repaint();
             }
-        });
+        }
     }
 
-    private static Image scale(BufferedImage img, int size)
+    // Caller holds the watchers lock.
+    private void expungeDeadWatchers()
     {
-        return img.getScaledInstance(size, size, Image.SCALE_SMOOTH);
+        Reference<? extends JComponent> ref;
+        while ((ref = deadWatchers.poll()) != null)
+        {
+            final Watcher w = (Watcher) ref;
+            final List<Watcher> list = watchers.get(w.key);
+            if (list != null && list.remove(w) && list.isEmpty())
+            {
+                watchers.remove(w.key);
+            }
+        }
+    }
+
+    /**
+     * Downscale by repeated halving with bilinear filtering, then one final step to the exact size.
+     * Matches SCALE_SMOOTH quality for small icons without an AreaAveraging pass per paint.
+     */
+    private static BufferedImage scale(BufferedImage src, int size)
+    {
+        BufferedImage img = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+
+        do
+        {
+            w = w / 2 >= size ? w / 2 : size;
+            h = h / 2 >= size ? h / 2 : size;
+
+            final BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g = next.createGraphics();
+            try
+            {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(img, 0, 0, w, h, null);
+            }
+            finally
+            {
+                g.dispose();
+            }
+            img = next;
+        }
+        while (w != size || h != size);
+
+        return img;
+    }
+
+    private static long key(int spriteId, int size)
+    {
+        return ((long) spriteId << 32) | (size & 0xFFFFFFFFL);
+    }
+
+    private static final class Watcher extends WeakReference<JComponent>
+    {
+        private final long key;
+
+        private Watcher(long key, JComponent component, ReferenceQueue<JComponent> queue)
+        {
+            super(component, queue);
+            this.key = key;
+        }
     }
 }
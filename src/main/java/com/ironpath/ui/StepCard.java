@@ -0,0 +1,491 @@
+package com.ironpath.ui;
+
+import com.ironpath.model.InfoPlanStep;
+import com.ironpath.model.PlanStep;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestEntry;
+import com.ironpath.model.QuestPlanStep;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.model.TrainPlanStep;
+import com.ironpath.util.TextWrap;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.UIManager;
+import net.runelite.client.ui.ColorScheme;
+import net.runelite.client.ui.FontManager;
+import net.runelite.client.ui.PluginPanel;
+import net.runelite.client.util.LinkBrowser;
+
+/**
+ * Sidebar card for one {@link SpineStepView}, painted by a single component.
+ *
+ * Keeps the look of the Swing-component cards it replaced but has no children: the icon, wrapped text
+ * and the Quest Guide pill are painted directly, the pill is hit-tested on click, and text is wrapped
+ * once per width and reused until the view or the width changes.
+ *
+ * Height depends on width, so the first layout at a new width is followed by one more pass.
+ * EDT only.
+ */
+public final class StepCard extends JComponent
+{
+    private static final int QUEST_PAD = 10;
+    private static final int PLAIN_PAD = 8;
+    private static final int BORDER = 1;
+    public static final int ICON_SIZE = 16;
+    private static final int ICON_GAP = 6;
+    // Cache sprites carry some transparent padding; nudge the icon up to sit on the title.
+    private static final int ICON_NUDGE = 2;
+    private static final int TEXT_RIGHT_INSET = 8;
+    private static final int PILL_PAD_X = 6;
+    private static final int PILL_PAD_Y = 2;
+    private static final int GAP = 8;
+
+    // Content width of the sidebar minus the section padding; only used before the first layout.
+    private static final int DEFAULT_WIDTH = PluginPanel.PANEL_WIDTH - 16;
+
+    private static final String PILL_TEXT = "Quest Guide";
+
+    private static final Font BASE_FONT = UIManager.getFont("Label.font");
+    private static final Font TITLE_FONT = BASE_FONT.deriveFont(Font.BOLD, 12f);
+    private static final Font STEP_FONT = BASE_FONT.deriveFont(Font.PLAIN, 10.5f);
+    private static final Font BODY_FONT = BASE_FONT.deriveFont(Font.PLAIN, 11f);
+    private static final Font SMALL_FONT = FontManager.getRunescapeSmallFont();
+
+    private static final Image FALLBACK_QUEST_ICON = loadIcon("icons/quest.png");
+    private static final Image FALLBACK_MINIQUEST_ICON = loadIcon("icons/miniquest.png");
+
+    private final SpriteIconCache sprites;
+
+    private SpineStepView view;
+
+    // Content derived from the view.
+    private boolean questStyle;
+    private int iconSprite;
+    private Image fallbackIcon;
+    private String title;
+    private String compactProgress;
+    private String stepLine;
+    private String body;
+    private Font bodyFont;
+    private String wikiUrl;
+
+    // Text layout for one width; dropped whenever the content changes.
+    private Layout layout;
+    private int preferredForWidth = -1;
+    private boolean pillHover;
+
+    public StepCard(SpriteIconCache sprites)
+    {
+        this.sprites = sprites;
+
+        setOpaque(true);
+        setAlignmentX(LEFT_ALIGNMENT);
+
+        final MouseAdapter mouse = new MouseAdapter()
+        {
+            @Override
+            public void mouseClicked(MouseEvent e)
+            {
+                if (wikiUrl != null && overPill(e))
+                {
+                    LinkBrowser.browse(wikiUrl);
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e)
+            {
+                setPillHover(wikiUrl != null && overPill(e));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e)
+            {
+                setPillHover(false);
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+    }
+
+    public SpineStepView getView()
+    {
+        return view;
+    }
+
+    /**
+     * Show a step. The card is re-laid out and repainted in place.
+     */
+    public void setView(SpineStepView view)
+    {
+        this.view = view;
+
+        final PlanStep step = view == null ? null : view.getStep();
+        final int index = view == null ? -1 : view.getSpineIndex();
+        final int total = view == null ? -1 : view.getSpineTotal();
+
+        questStyle = false;
+        fallbackIcon = null;
+        body = null;
+        bodyFont = BODY_FONT;
+        wikiUrl = null;
+        compactProgress = PlanStepCard.formatProgressCompact(index, total);
+        stepLine = PlanStepCard.formatProgressLong(index, total);
+
+        if (step instanceof QuestPlanStep && step.getType() == PlanStepType.QUEST)
+        {
+            final QuestEntry entry = ((QuestPlanStep) step).getEntry();
+            questStyle = true;
+            fallbackIcon = FALLBACK_QUEST_ICON;
+            title = entry.getQuestName();
+            body = entry.getShortWhy();
+            wikiUrl = QuestCard.resolveWikiUrl(entry);
+        }
+        else if (step instanceof TrainPlanStep && step.getType() == PlanStepType.TRAIN)
+        {
+            final TrainPlanStep t = (TrainPlanStep) step;
+            title = "Train " + t.getSkill().getName() + " to " + t.getToLevel();
+            body = t.getReason();
+        }
+        else if (step instanceof InfoPlanStep && step.getType() == PlanStepType.MINIQUEST)
+        {
+            final InfoPlanStep s = (InfoPlanStep) step;
+            questStyle = true;
+            fallbackIcon = FALLBACK_MINIQUEST_ICON;
+            title = s.getTitle() == null ? "Miniquest" : s.getTitle();
+            body = s.getDetail();
+            wikiUrl = s.getWikiUrl() == null || s.getWikiUrl().trim().isEmpty() ? null : s.getWikiUrl().trim();
+        }
+        else if (step instanceof InfoPlanStep)
+        {
+            final InfoPlanStep s = (InfoPlanStep) step;
+            final String label = PlanStepCard.labelFor(s.getType());
+            final String name = s.getTitle() == null ? label : s.getTitle();
+            title = label.isEmpty() ? name : label + ": " + name;
+            body = s.getDetail();
+            bodyFont = SMALL_FONT;
+        }
+        else
+        {
+            title = step == null ? "Unknown step" : step.getType().name();
+        }
+
+        if (title == null)
+        {
+            title = "";
+        }
+
+        iconSprite = questStyle ? SpriteIconCache.iconSpriteFor(step) : -1;
+        if (iconSprite >= 0)
+        {
+            sprites.request(iconSprite, ICON_SIZE, this);
+        }
+
+        layout = null;
+        preferredForWidth = -1;
+        pillHover = false;
+        setCursor(Cursor.getDefaultCursor());
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize()
+    {
+        if (isPreferredSizeSet())
+        {
+            return super.getPreferredSize();
+        }
+
+        final int w = getWidth() > 0 ? getWidth() : DEFAULT_WIDTH;
+        preferredForWidth = w;
+        return new Dimension(w, layoutFor(w).height);
+    }
+
+    @Override
+    public Dimension getMinimumSize()
+    {
+        return new Dimension(0, getPreferredSize().height);
+    }
+
+    @Override
+    public Dimension getMaximumSize()
+    {
+        return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height)
+    {
+        super.setBounds(x, y, width, height);
+
+        // Preferred height was measured at another width; lay out once more at the real one.
+        if (width > 0 && width != preferredForWidth)
+        {
+            preferredForWidth = width;
+            if (layoutFor(width).height != height)
+            {
+                revalidate();
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g)
+    {
+        final Graphics2D g2 = (Graphics2D) g;
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+        final int w = getWidth();
+        final int h = getHeight();
+        final Layout l = layoutFor(w);
+
+        g2.setColor(ColorScheme.DARKER_GRAY_COLOR);
+        g2.fillRect(0, 0, w, h);
+        g2.setColor(ColorScheme.DARK_GRAY_COLOR);
+        g2.drawRect(0, 0, w - 1, h - 1);
+
+        if (l.iconX >= 0)
+        {
+            final Image sprite = iconSprite >= 0 ? sprites.get(iconSprite, ICON_SIZE) : null;
+            if (sprite != null)
+            {
+                g2.drawImage(sprite, l.iconX, l.iconY, null);
+            }
+            else if (fallbackIcon != null)
+            {
+                g2.drawImage(fallbackIcon, l.iconX, l.iconY, ICON_SIZE, ICON_SIZE, null);
+            }
+        }
+
+        g2.setColor(ColorScheme.LIGHT_GRAY_COLOR);
+        drawLines(g2, l.titleFont, l.titleLines, l.titleX, l.titleY);
+
+        if (l.compactProgress != null)
+        {
+            g2.setFont(SMALL_FONT);
+            g2.setColor(ColorScheme.MEDIUM_GRAY_COLOR);
+            g2.drawString(l.compactProgress, l.compactX, l.titleY + g2.getFontMetrics().getAscent());
+        }
+
+        if (!stepLine.isEmpty())
+        {
+            g2.setFont(l.stepFont);
+            g2.setColor(ColorScheme.MEDIUM_GRAY_COLOR);
+            g2.drawString(stepLine, l.contentX, l.stepY + g2.getFontMetrics().getAscent());
+        }
+
+        if (l.pill != null)
+        {
+            final Rectangle p = l.pill;
+            g2.setColor(pillHover ? ColorScheme.DARKER_GRAY_HOVER_COLOR : ColorScheme.DARKER_GRAY_COLOR);
+            g2.fillRect(p.x, p.y, p.width, p.height);
+            g2.setColor(ColorScheme.MEDIUM_GRAY_COLOR);
+            g2.drawRect(p.x, p.y, p.width - 1, p.height - 1);
+
+            g2.setFont(SMALL_FONT);
+            g2.setColor(ColorScheme.LIGHT_GRAY_COLOR);
+            final FontMetrics fm = g2.getFontMetrics();
+            g2.drawString(PILL_TEXT, p.x + BORDER + PILL_PAD_X, p.y + BORDER + PILL_PAD_Y + fm.getAscent());
+        }
+
+        g2.setColor(ColorScheme.LIGHT_GRAY_COLOR);
+        drawLines(g2, bodyFont, l.bodyLines, l.contentX, l.bodyY);
+    }
+
+    private static void drawLines(Graphics2D g2, Font font, List<String> lines, int x, int y)
+    {
+        g2.setFont(font);
+        final FontMetrics fm = g2.getFontMetrics();
+        int baseline = y + fm.getAscent();
+        for (String line : lines)
+        {
+            g2.drawString(line, x, baseline);
+            baseline += fm.getHeight();
+        }
+    }
+
+    private Layout layoutFor(int width)
+    {
+        if (layout == null || layout.width != width)
+        {
+            layout = questStyle ? layoutQuest(width) : layoutPlain(width);
+        }
+        return layout;
+    }
+
+    /**
+     * Icon and wrapped bold title; "Step X of Y" with the pill on the right; wrapped reason.
+     */
+    private Layout layoutQuest(int width)
+    {
+        final Layout l = new Layout(width);
+        final int inset = BORDER + QUEST_PAD;
+        final int innerW = Math.max(1, width - 2 * inset);
+
+        final FontMetrics titleFm = getFontMetrics(TITLE_FONT);
+        final FontMetrics stepFm = getFontMetrics(STEP_FONT);
+        final FontMetrics smallFm = getFontMetrics(SMALL_FONT);
+
+        int y = inset;
+        l.contentX = inset;
+        l.iconX = inset;
+        l.iconY = Math.max(BORDER, y - ICON_NUDGE);
+        l.titleFont = TITLE_FONT;
+        l.titleX = inset + ICON_SIZE + ICON_GAP;
+        l.titleY = y;
+        l.titleLines = TextWrap.wrap(title, titleFm, innerW - ICON_SIZE - ICON_GAP);
+        y += Math.max(ICON_SIZE, l.titleLines.size() * titleFm.getHeight());
+
+        y += 2;
+        l.stepFont = STEP_FONT;
+        l.stepY = y;
+        int rowH = stepFm.getHeight();
+        if (wikiUrl != null)
+        {
+            final int pw = smallFm.stringWidth(PILL_TEXT) + 2 * (BORDER + PILL_PAD_X);
+            final int ph = smallFm.getHeight() + 2 * (BORDER + PILL_PAD_Y);
+            l.pill = new Rectangle(width - inset - pw, y, pw, ph);
+            rowH = Math.max(rowH, ph);
+        }
+        y += rowH;
+
+        if (body != null && !body.isBlank())
+        {
+            y += 6;
+            l.bodyY = y;
+            l.bodyLines = TextWrap.wrap(body, getFontMetrics(bodyFont), innerW - TEXT_RIGHT_INSET);
+            y += l.bodyLines.size() * getFontMetrics(bodyFont).getHeight();
+        }
+
+        l.height = y + inset;
+        return l;
+    }
+
+    /**
+     * Small title with "X / Y" on the right; "Step X of Y"; wrapped body.
+     */
+    private Layout layoutPlain(int width)
+    {
+        final Layout l = new Layout(width);
+        final int inset = BORDER + PLAIN_PAD;
+        final int innerW = Math.max(1, width - 2 * inset);
+
+        final FontMetrics smallFm = getFontMetrics(SMALL_FONT);
+
+        int y = inset;
+        l.contentX = inset;
+        l.titleFont = SMALL_FONT;
+        l.titleX = inset;
+        l.titleY = y;
+
+        int titleW = innerW;
+        if (!compactProgress.isEmpty())
+        {
+            final int cw = smallFm.stringWidth(compactProgress);
+            l.compactProgress = compactProgress;
+            l.compactX = width - inset - cw;
+            titleW -= cw + GAP;
+        }
+        l.titleLines = List.of(TextWrap.elide(title, smallFm, titleW));
+        y += smallFm.getHeight();
+
+        l.stepFont = SMALL_FONT;
+        if (!stepLine.isEmpty())
+        {
+            y += 2;
+            l.stepY = y;
+            y += smallFm.getHeight();
+        }
+
+        if (body != null && !body.isBlank())
+        {
+            final FontMetrics bodyFm = getFontMetrics(bodyFont);
+            l.bodyY = y;
+            l.bodyLines = TextWrap.wrap(body, bodyFm, innerW - TEXT_RIGHT_INSET);
+            y += l.bodyLines.size() * bodyFm.getHeight();
+        }
+
+        l.height = y + inset;
+        return l;
+    }
+
+    private boolean overPill(MouseEvent e)
+    {
+        final Layout l = layout;
+        return l != null && l.pill != null && l.pill.contains(e.getPoint());
+    }
+
+    private void setPillHover(boolean hover)
+    {
+        if (hover == pillHover)
+        {
+            return;
+        }
+        pillHover = hover;
+        setCursor(hover ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+        if (layout != null && layout.pill != null)
+        {
+            repaint(layout.pill);
+        }
+    }
+
+    private static Image loadIcon(String relPath)
+    {
+        try
+        {
+            java.net.URL u = StepCard.class.getResource("/com/ironpath/ui/" + relPath);
+            return u == null ? null : javax.imageio.ImageIO.read(u);
+        }
+        catch (Exception ignored)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Positions of everything painted at one width. Coordinates are tops of text blocks, not baselines.
+     */
+    private static final class Layout
+    {
+        private final int width;
+        private int height;
+
+        private int contentX;
+        private int iconX = -1;
+        private int iconY;
+
+        private Font titleFont;
+        private int titleX;
+        private int titleY;
+        private List<String> titleLines = List.of();
+
+        private String compactProgress;
+        private int compactX;
+
+        private Font stepFont;
+        private int stepY;
+
+        private Rectangle pill;
+
+        private int bodyY;
+        private List<String> bodyLines = List.of();
+
+        private Layout(int width)
+        {
+            this.width = width;
+        }
+    }
+}
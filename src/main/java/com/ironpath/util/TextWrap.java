@@ -0,0 +1,84 @@
+package com.ironpath.util;
+
+import java.awt.FontMetrics;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text layout helpers shared by the painted overlay and sidebar cards.
+ */
+public final class TextWrap
+{
+    private TextWrap() {}
+
+    /**
+     * Greedy word wrap against the real glyph widths. Words wider than the line are broken by character.
+     */
+    public static List<String> wrap(String text, FontMetrics fm, int maxWidth)
+    {
+        final List<String> lines = new ArrayList<>();
+        if (text == null || text.isBlank())
+        {
+            return lines;
+        }
+
+        final String[] words = text.trim().split("\\s+");
+        final StringBuilder line = new StringBuilder();
+
+        for (String word : words)
+        {
+            final String candidate = line.length() == 0 ? word : line + " " + word;
+            if (fm.stringWidth(candidate) <= maxWidth)
+            {
+                line.setLength(0);
+                line.append(candidate);
+                continue;
+            }
+
+            if (line.length() > 0)
+            {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+
+            // Break a single over-long word across lines.
+            String rest = word;
+            while (fm.stringWidth(rest) > maxWidth && rest.length() > 1)
+            {
+                int cut = rest.length() - 1;
+                while (cut > 1 && fm.stringWidth(rest.substring(0, cut)) > maxWidth)
+                {
+                    cut--;
+                }
+                lines.add(rest.substring(0, cut));
+                rest = rest.substring(cut);
+            }
+            line.append(rest);
+        }
+
+        if (line.length() > 0)
+        {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Cut text to fit on one line, ending it with "..." when anything was cut.
+     */
+    public static String elide(String text, FontMetrics fm, int maxWidth)
+    {
+        if (text == null || fm.stringWidth(text) <= maxWidth)
+        {
+            return text;
+        }
+
+        final String dots = "...";
+        int end = text.length();
+        while (end > 0 && fm.stringWidth(text.substring(0, end)) + fm.stringWidth(dots) > maxWidth)
+        {
+            end--;
+        }
+        return text.substring(0, end) + dots;
+    }
+}
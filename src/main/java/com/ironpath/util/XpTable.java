@@ -3,10 +3,8 @@ package com.ironpath.util;
 /**
  * OSRS experience table helpers.
  *
- * RuneLite's API does not expose exact per-skill XP for an Ironman plan simulation,
- * so we convert from a conservative baseline: the minimum XP for the current real level.
- *
- * This still improves correctness over heuristics when applying quest XP rewards.
+ * Used by the planner's XP projection, which starts from the player's exact skill XP and
+ * converts projected XP back to levels after applying quest rewards and TRAIN targets.
  */
 public final class XpTable
 {
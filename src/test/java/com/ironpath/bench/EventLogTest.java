@@ -0,0 +1,147 @@
+package com.ironpath.bench;
+
+import com.ironpath.service.EventRecorder;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import net.runelite.api.GameState;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventLogTest
+{
+    private static final int QUESTS = Quest.values().length;
+    private static final int SKILLS = Skill.values().length;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final EventRecorder recorder = new EventRecorder();
+
+    @Test
+    public void readsBackEveryRecordType() throws Exception
+    {
+        final long before = System.currentTimeMillis();
+        final File file = recorder.start(folder.getRoot(), GameState.LOGGED_IN);
+        assertNotNull(file);
+
+        recorder.gameTick();
+        recorder.varbitChanged(-1, 4458, 1);
+        recorder.statChanged(Skill.COOKING, 1_154, 10, 12);
+        recorder.chatMessage("Congratulations, you've completed a quest");
+        recorder.configChanged("ironpath", "planSize", "8", true);
+        recorder.configChanged("other", "secret", "hunter2", false);
+        recorder.stop();
+        assertFalse(recorder.isRecording());
+        awaitWriter();
+
+        final EventLog log = EventLog.read(file.toPath());
+        final List<EventLog.Record> records = log.getRecords();
+        assertEquals(7, records.size());
+        assertTrue(log.getStartMillis() >= before);
+
+        assertRecord(records.get(0), EventRecorder.GAME_STATE, GameState.LOGGED_IN.getState());
+        assertRecord(records.get(1), EventRecorder.GAME_TICK);
+        assertRecord(records.get(2), EventRecorder.VARBIT_CHANGED, -1, 4458, 1);
+        assertRecord(records.get(3), EventRecorder.STAT_CHANGED, Skill.COOKING.ordinal(), 1_154, 10, 12);
+
+        assertEquals(EventRecorder.CHAT_MESSAGE, records.get(4).tag);
+        assertArrayEquals(new Object[]{"Congratulations, you've completed a quest"}, records.get(4).strings);
+        assertArrayEquals(new Object[]{"ironpath", "planSize", "8"}, records.get(5).strings);
+        // Other plugins' values are never written.
+        assertArrayEquals(new Object[]{"other", "secret", null}, records.get(6).strings);
+    }
+
+    @Test
+    public void capturesRecordOnlyWhatChanged() throws Exception
+    {
+        final byte[] states = new byte[QUESTS];
+        Arrays.fill(states, (byte) -1);
+        states[1] = 2;
+        final int[] xp = new int[SKILLS];
+        xp[Skill.ATTACK.ordinal()] = 83;
+        final int[] varpIds = {281};
+        final int[] varbitIds = {4458, -7};
+
+        // The first capture has nothing to compare against, so every value read is written.
+        final int[] first = new int[3 + 1 + 2 * SKILLS + 3 + 5];
+        int i = 0;
+        first[i++] = 1;
+        first[i++] = 1;
+        first[i++] = 2;
+        first[i++] = SKILLS;
+        for (int s = 0; s < SKILLS; s++)
+        {
+            first[i++] = s;
+            first[i++] = xp[s];
+        }
+        first[i++] = 1;
+        first[i++] = 281;
+        first[i++] = 1000;
+        first[i++] = 2;
+        first[i++] = 4458;
+        first[i++] = 0;
+        first[i++] = -7;
+        first[i] = -3;
+
+        final File file = recorder.start(folder.getRoot(), GameState.LOGIN_SCREEN);
+        recorder.capture(states, xp, varpIds, new int[]{1000}, varbitIds, new int[]{0, -3});
+        recorder.capture(states, xp, varpIds, new int[]{1000}, varbitIds, new int[]{0, -3});
+        states[1] = 1;
+        xp[Skill.ATTACK.ordinal()] = 90;
+        recorder.capture(states, xp, varpIds, new int[]{1000}, varbitIds, new int[]{1, -3});
+        recorder.stop();
+        awaitWriter();
+
+        // The repeated capture changed nothing, so it wrote nothing.
+        final List<EventLog.Record> records = EventLog.read(file.toPath()).getRecords();
+        assertEquals(3, records.size());
+        assertRecord(records.get(1), EventRecorder.CAPTURE, first);
+
+        assertRecord(records.get(2), EventRecorder.CAPTURE,
+            1, 1, 1,
+            1, Skill.ATTACK.ordinal(), 90,
+            0,
+            1, 4458, 1);
+    }
+
+    @Test
+    public void isANoOpWhileNotRecording()
+    {
+        recorder.gameTick();
+        recorder.chatMessage("Hello");
+        recorder.stop();
+
+        assertFalse(recorder.isRecording());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    /**
+     * stop() only tells the writer thread to finish; the log is complete once the thread has exited.
+     */
+    private static void awaitWriter() throws InterruptedException
+    {
+        for (Thread t : Thread.getAllStackTraces().keySet())
+        {
+            if ("ironpath-recorder".equals(t.getName()))
+            {
+                t.join(5_000);
+            }
+        }
+    }
+
+    private static void assertRecord(EventLog.Record record, int tag, int... ints)
+    {
+        assertEquals(tag, record.tag);
+        assertArrayEquals(ints, record.ints);
+    }
+}
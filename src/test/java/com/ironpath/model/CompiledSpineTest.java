@@ -0,0 +1,124 @@
+package com.ironpath.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.diary;
+import static com.ironpath.model.TestSteps.note;
+import static com.ironpath.model.TestSteps.quest;
+import static com.ironpath.model.TestSteps.train;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledSpineTest
+{
+    @Test
+    public void compilesEachStepIntoItsRule()
+    {
+        final CompiledSpine spine = CompiledSpine.compile(Arrays.asList(
+            quest(Quest.COOKS_ASSISTANT),
+            train(Skill.ATTACK, 20),
+            diary("Ardougne Easy"),
+            note("Bank run")));
+
+        assertEquals(4, spine.size());
+
+        assertEquals(CompiledSpine.RULE_QUEST, spine.getRuleId(0));
+        assertEquals(PlanStepType.QUEST, spine.getType(0));
+        assertEquals(Quest.COOKS_ASSISTANT, spine.getQuest(0));
+        assertEquals(Quest.COOKS_ASSISTANT.ordinal(), spine.getQuestOrdinal(0));
+        assertEquals(-1, spine.getSkillOrdinal(0));
+
+        assertEquals(CompiledSpine.RULE_LEVEL, spine.getRuleId(1));
+        assertEquals(Skill.ATTACK, spine.getSkill(1));
+        assertEquals(20, spine.getTargetLevel(1));
+        assertEquals(-1, spine.getQuestOrdinal(1));
+
+        // Without completion checks nothing else can be verified.
+        assertEquals(CompiledSpine.RULE_NONE, spine.getRuleId(2));
+        assertEquals(PlanStepType.DIARY.ordinal(), spine.getTypeOrdinal(2));
+        assertEquals(-1, spine.getVarId(2));
+        assertEquals(CompiledSpine.RULE_NONE, spine.getRuleId(3));
+        assertEquals(0, spine.getTargetLevel(3));
+        assertEquals(2, spine.countUnverifiable());
+    }
+
+    @Test
+    public void otherStepsTakeTheirCompletionCheck()
+    {
+        final Map<String, CompletionCheck> checks = new HashMap<>();
+        checks.put("Ardougne Easy", CompletionCheck.varbit(4458, 1));
+        checks.put("Tutorial Island", CompletionCheck.varp(281, 1000));
+
+        final CompiledSpine spine = CompiledSpine.compile(Arrays.asList(
+            diary("Ardougne Easy"),
+            note("Tutorial Island"),
+            note("Bank run"),
+            quest(Quest.COOKS_ASSISTANT),
+            train(Skill.ATTACK, 20)),
+            s ->
+            {
+                // Quests and training gates never need a check.
+                assertTrue(s.getType() != PlanStepType.QUEST && s.getType() != PlanStepType.TRAIN);
+                return checks.getOrDefault(s.getDisplayName(), CompletionCheck.NEVER);
+            });
+
+        assertEquals(CompiledSpine.RULE_VARBIT, spine.getRuleId(0));
+        assertEquals(4458, spine.getVarId(0));
+        assertEquals(1, spine.getThreshold(0));
+        assertEquals(CompiledSpine.RULE_VARP, spine.getRuleId(1));
+        assertEquals(281, spine.getVarId(1));
+        assertEquals(1000, spine.getThreshold(1));
+        assertEquals(CompiledSpine.RULE_NONE, spine.getRuleId(2));
+        assertEquals(-1, spine.getVarId(2));
+        assertEquals(1, spine.countUnverifiable());
+    }
+
+    @Test
+    public void incompleteQuestAndTrainRowsAreLeftToTheStepCheck()
+    {
+        final CompiledSpine spine = CompiledSpine.compile(Arrays.asList(
+            RouteStep.builder(PlanStepType.QUEST).displayName("Unresolved quest").build(),
+            RouteStep.builder(PlanStepType.TRAIN).skill(Skill.ATTACK).build(),
+            RouteStep.builder(PlanStepType.TRAIN).toLevel(30).build()),
+            s -> CompletionCheck.varp(1, 1));
+
+        assertEquals(CompiledSpine.RULE_VARP, spine.getRuleId(0));
+        assertNull(spine.getQuest(0));
+        assertEquals(CompiledSpine.RULE_VARP, spine.getRuleId(1));
+        assertEquals(0, spine.getTargetLevel(1));
+        assertEquals(CompiledSpine.RULE_VARP, spine.getRuleId(2));
+        assertNull(spine.getSkill(2));
+    }
+
+    @Test
+    public void nullStepsHaveNoRule()
+    {
+        final CompiledSpine spine = CompiledSpine.compile(Arrays.asList(quest(Quest.COOKS_ASSISTANT), null));
+
+        assertEquals(2, spine.size());
+        assertEquals(CompiledSpine.RULE_NONE, spine.getRuleId(1));
+        assertEquals(-1, spine.getTypeOrdinal(1));
+        assertNull(spine.getType(1));
+        assertEquals(0, CompiledSpine.compile(null).size());
+        assertEquals(0, CompiledSpine.EMPTY.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void keepsTheStepsReadOnly()
+    {
+        final List<RouteStep> steps = new ArrayList<>(Arrays.asList(quest(Quest.COOKS_ASSISTANT)));
+        final CompiledSpine spine = CompiledSpine.compile(steps);
+        assertSame(steps.get(0), spine.getStep(0));
+
+        spine.getSteps().add(note("Bank run"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.ironpath.model;
+
+import java.util.Arrays;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.quest;
+import static com.ironpath.model.TestSteps.train;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SkillThresholdIndexTest
+{
+    // 0: train Attack 20, 1: quest, 2: train Attack 40, 3: quest, 4: train Attack 10
+    private final SkillThresholdIndex index = SkillThresholdIndex.build(CompiledSpine.compile(Arrays.asList(
+        train(Skill.ATTACK, 20),
+        quest(Quest.COOKS_ASSISTANT),
+        train(Skill.ATTACK, 40),
+        quest(Quest.DRAGON_SLAYER_I),
+        train(Skill.ATTACK, 10))));
+
+    @Test
+    public void collectsTrainTargets()
+    {
+        assertArrayEquals(new int[]{10, 20, 40}, index.getThresholds(Skill.ATTACK));
+        assertArrayEquals(new int[0], index.getThresholds(Skill.COOKING));
+        assertArrayEquals(new int[0], index.getThresholds(Skill.MAGIC));
+    }
+
+    @Test
+    public void reportsTheLowestStepBehindACrossedThreshold()
+    {
+        // Level 10 is only a target of the TRAIN step at 4, level 20 of the one at 0.
+        assertEquals(4, index.lowestCrossed(Skill.ATTACK, 9, 10));
+        assertEquals(0, index.lowestCrossed(Skill.ATTACK, 19, 20));
+        assertEquals(2, index.lowestCrossed(Skill.ATTACK, 39, 45));
+        assertEquals(0, index.lowestCrossed(Skill.ATTACK, 1, 99));
+    }
+
+    @Test
+    public void levelsInsideAGapCrossNothing()
+    {
+        assertEquals(-1, index.lowestCrossed(Skill.ATTACK, 10, 19));
+        assertEquals(-1, index.lowestCrossed(Skill.ATTACK, 40, 99));
+        assertEquals(-1, index.lowestCrossed(Skill.ATTACK, 20, 20));
+        assertEquals(-1, index.lowestCrossed(Skill.MAGIC, 1, 99));
+        assertEquals(-1, index.lowestCrossed(null, 1, 99));
+    }
+
+    @Test
+    public void levelDropsCrossTheSameThresholds()
+    {
+        assertEquals(2, index.lowestCrossed(Skill.ATTACK, 45, 39));
+        assertEquals(0, index.lowestCrossed(Skill.ATTACK, 20, 19));
+        assertEquals(4, index.lowestCrossed(Skill.ATTACK, 10, 9));
+    }
+}
@@ -0,0 +1,87 @@
+package com.ironpath.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.diary;
+import static com.ironpath.model.TestSteps.quest;
+import static com.ironpath.model.TestSteps.train;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class SpineDependencyIndexTest
+{
+    private static final int QUEST_VARP = 101;
+
+    @Test
+    public void indexesEachRuleUnderItsVar()
+    {
+        final Map<String, CompletionCheck> checks = new HashMap<>();
+        checks.put("Diary A", CompletionCheck.varbit(4000, 1));
+        checks.put("Diary B", CompletionCheck.varbit(3000, 1));
+        checks.put("Diary C", CompletionCheck.varbit(4000, 2));
+        checks.put("Miniquest", CompletionCheck.varp(2000, 5));
+
+        final List<RouteStep> steps = Arrays.asList(
+            quest(Quest.COOKS_ASSISTANT),
+            diary("Diary A"),
+            train(Skill.ATTACK, 20),
+            diary("Miniquest"),
+            quest(Quest.DRAGON_SLAYER_I),
+            diary("Diary B"),
+            diary("Unverifiable"),
+            diary("Diary C"));
+        final CompiledSpine spine = CompiledSpine.compile(steps, s -> checks.getOrDefault(s.getDisplayName(), CompletionCheck.NEVER));
+
+        final SpineDependencyIndex index = SpineDependencyIndex.build(spine, QUEST_VARP);
+
+        assertArrayEquals(new int[]{QUEST_VARP, 2000}, index.getVarpIds());
+        assertArrayEquals(new int[]{3000, 4000}, index.getVarbitIds());
+
+        assertArrayEquals(new int[]{0, 4}, index.getVarpDependents(QUEST_VARP));
+        assertArrayEquals(new int[]{3}, index.getVarpDependents(2000));
+        assertArrayEquals(new int[]{5}, index.getVarbitDependents(3000));
+        assertArrayEquals(new int[]{1, 7}, index.getVarbitDependents(4000));
+
+        assertEquals(0, index.lowestVarpDependent(QUEST_VARP));
+        assertEquals(1, index.lowestVarbitDependent(4000));
+    }
+
+    @Test
+    public void unrelatedVarsHaveNoDependents()
+    {
+        final CompiledSpine spine = CompiledSpine.compile(Arrays.asList(quest(Quest.COOKS_ASSISTANT), train(Skill.ATTACK, 20)));
+        final SpineDependencyIndex index = SpineDependencyIndex.build(spine, QUEST_VARP);
+
+        assertEquals(0, index.getVarpDependents(QUEST_VARP + 1).length);
+        assertEquals(0, index.getVarbitDependents(QUEST_VARP).length);
+        assertEquals(-1, index.lowestVarpDependent(QUEST_VARP + 1));
+        assertEquals(-1, index.lowestVarbitDependent(QUEST_VARP));
+        assertEquals(0, index.getVarbitIds().length);
+    }
+
+    @Test
+    public void emptySpineReadsNothing()
+    {
+        final SpineDependencyIndex index = SpineDependencyIndex.build(CompiledSpine.EMPTY, QUEST_VARP);
+
+        assertEquals(0, index.getVarpIds().length);
+        assertEquals(0, index.getVarbitIds().length);
+        assertEquals(-1, index.lowestVarpDependent(QUEST_VARP));
+    }
+
+    @Test
+    public void returnedIdArraysAreCopies()
+    {
+        final SpineDependencyIndex index = SpineDependencyIndex.build(
+            CompiledSpine.compile(Arrays.asList(quest(Quest.COOKS_ASSISTANT))), QUEST_VARP);
+
+        index.getVarpIds()[0] = -7;
+        assertArrayEquals(new int[]{QUEST_VARP}, index.getVarpIds());
+    }
+}
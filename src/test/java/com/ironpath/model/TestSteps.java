@@ -0,0 +1,40 @@
+package com.ironpath.model;
+
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+
+/**
+ * {@link RouteStep} builders shared by the spine tests.
+ */
+public final class TestSteps
+{
+    private TestSteps() {}
+
+    public static RouteStep quest(Quest quest)
+    {
+        return RouteStep.builder(PlanStepType.QUEST).quest(quest).displayName(quest.getName()).build();
+    }
+
+    /**
+     * QUEST step for the quest with the given ordinal, for tests that only need distinct quests.
+     */
+    public static RouteStep quest(int ordinal)
+    {
+        return quest(Quest.values()[ordinal]);
+    }
+
+    public static RouteStep train(Skill skill, int level)
+    {
+        return RouteStep.builder(PlanStepType.TRAIN).skill(skill).toLevel(level).build();
+    }
+
+    public static RouteStep diary(String displayName)
+    {
+        return RouteStep.builder(PlanStepType.DIARY).displayName(displayName).build();
+    }
+
+    public static RouteStep note(String displayName)
+    {
+        return RouteStep.builder(PlanStepType.NOTE).displayName(displayName).build();
+    }
+}
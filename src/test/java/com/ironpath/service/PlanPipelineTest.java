@@ -0,0 +1,224 @@
+package com.ironpath.service;
+
+import com.ironpath.model.AccountSnapshot;
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.SpineDependencyIndex;
+import com.ironpath.model.SpineStepView;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.Skill;
+import org.junit.Before;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.quest;
+import static com.ironpath.model.TestSteps.train;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlanPipelineTest
+{
+    private final Client client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(),
+        new Class<?>[]{Client.class}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "getGameState":
+                    return GameState.LOGGED_IN;
+                case "getIntStack":
+                    return new int[]{1};
+                case "getSkillExperience":
+                case "getVarpValue":
+                case "getVarbitValue":
+                    return 0;
+                default:
+                    return null;
+            }
+        });
+
+    private final CompiledSpine spine = CompiledSpine.compile(Arrays.asList(
+        quest(0),
+        train(Skill.ATTACK, 10),
+        quest(1)));
+
+    private final QuestRouteService routeService =
+        new QuestRouteService(new StepCompletionService(), null, null)
+        {
+            @Override
+            public boolean isLoaded()
+            {
+                return true;
+            }
+
+            @Override
+            public CompiledSpine getCompiledSpine()
+            {
+                return spine;
+            }
+
+            @Override
+            public SpineDependencyIndex getDependencyIndex()
+            {
+                return SpineDependencyIndex.build(spine, QuestStatusService.QUEST_POINTS_VARP);
+            }
+        };
+
+    // Called at the start of every build; lets a test supersede the build while it is running.
+    private Runnable duringPlan = () -> {};
+
+    private final ProgressionPlanService planService =
+        new ProgressionPlanService(new QuestDatabase(null), new StepCompletionService())
+        {
+            @Override
+            PlanResult plan(CompiledSpine spine, AccountSnapshot snapshot, int maxSteps)
+            {
+                builds++;
+                duringPlan.run();
+                return super.plan(spine, snapshot, maxSteps);
+            }
+        };
+
+    private final PluginMetrics metrics = new PluginMetrics();
+    private final PlanPipeline pipeline = new PlanPipeline(client, new QuestStatusService(client, null),
+        routeService, planService, metrics, new EventRecorder());
+    private final QueuedExecutor planner = new QueuedExecutor();
+    private final List<List<SpineStepView>> published = new ArrayList<>();
+    private int builds;
+
+    @Before
+    public void setUp()
+    {
+        metrics.setEnabled(true);
+        pipeline.setListener(published::add);
+        pipeline.start(planner);
+    }
+
+    @Test
+    public void onlyTheLatestRequestIsBuilt()
+    {
+        pipeline.request();
+        pipeline.request();
+        pipeline.request();
+        assertEquals(3, planner.tasks.size());
+
+        planner.runAll();
+
+        assertEquals(1, builds);
+        assertEquals(1, published.size());
+        assertEquals(2, metrics.getRefreshesCoalesced());
+        assertEquals(3, published.get(0).size());
+    }
+
+    @Test
+    public void buildSupersededWhileRunningIsNotPublished()
+    {
+        pipeline.request();
+        duringPlan = pipeline::request;
+        planner.runNext();
+
+        assertEquals(1, builds);
+        assertTrue(published.isEmpty());
+        assertTrue(planService.affectsBuiltPlans(2));
+        assertEquals(1, metrics.getRefreshesCoalesced());
+
+        duringPlan = () -> {};
+        planner.runAll();
+        assertEquals(2, builds);
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    public void cancelDropsTheBuildInFlight()
+    {
+        pipeline.request();
+        pipeline.cancel();
+        planner.runAll();
+
+        assertEquals(0, builds);
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void requestAfterTheExecutorShutsDownIsIgnored()
+    {
+        // The executor can be shut down between request() reading it and submitting to it.
+        planner.shutdown();
+        pipeline.request();
+
+        assertTrue(planner.tasks.isEmpty());
+        assertTrue(published.isEmpty());
+    }
+
+    /**
+     * Runs submitted tasks only when told to, on the test thread.
+     */
+    private static final class QueuedExecutor extends AbstractExecutorService
+    {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean shutdown;
+
+        void runNext()
+        {
+            tasks.remove().run();
+        }
+
+        void runAll()
+        {
+            while (!tasks.isEmpty())
+            {
+                runNext();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command)
+        {
+            if (shutdown)
+            {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown()
+        {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow()
+        {
+            shutdown = true;
+            final List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown()
+        {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated()
+        {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit)
+        {
+            return isTerminated();
+        }
+    }
+}
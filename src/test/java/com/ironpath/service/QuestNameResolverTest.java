@@ -0,0 +1,101 @@
+package com.ironpath.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import net.runelite.api.Quest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class QuestNameResolverTest
+{
+    private final QuestNameResolver resolver = new QuestNameResolver();
+
+    @Test
+    public void ignoresPunctuationSpacingAndCase()
+    {
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolve("Cook's Assistant"));
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolve("cooks assistant"));
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolve("  COOKS-ASSISTANT  "));
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolve("Cook’s Assistant"));
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolve(new StringBuilder("Cook's Assistant")));
+    }
+
+    @Test
+    public void matchesEnumNames()
+    {
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolve("COOKS_ASSISTANT"));
+        assertEquals(Quest.DRAGON_SLAYER_I, resolver.resolve("DRAGON_SLAYER_I"));
+        assertEquals(Quest.DRAGON_SLAYER_I, resolver.resolve("Dragon Slayer I"));
+    }
+
+    @Test
+    public void keepsNonAsciiLetters()
+    {
+        // Letters outside ASCII are compared, not skipped.
+        assertNull(resolver.resolve("Cook's Assistanté"));
+    }
+
+    @Test
+    public void unknownOrBlankNamesDoNotResolve()
+    {
+        assertNull(resolver.resolve(null));
+        assertNull(resolver.resolve(""));
+        assertNull(resolver.resolve("' - !"));
+        assertNull(resolver.resolve("Cook's Assistan"));
+        assertNull(resolver.resolve("Cook's Assistants"));
+        assertNull(resolver.resolve("Not a quest at all"));
+    }
+
+    @Test
+    public void displayNamesWinOverEnumNames()
+    {
+        // Any enum name that folds to another quest's display name must not shadow it.
+        final Map<String, Integer> displayCounts = new HashMap<>();
+        for (Quest q : Quest.values())
+        {
+            displayCounts.merge(fold(q.getName()), 1, Integer::sum);
+        }
+
+        for (Quest q : Quest.values())
+        {
+            if (displayCounts.get(fold(q.getName())) == 1)
+            {
+                assertEquals(q.name(), q, resolver.resolve(q.getName()));
+            }
+        }
+    }
+
+    @Test
+    public void resolveKeyPrefersTheExactEnumConstant()
+    {
+        for (Quest q : Quest.values())
+        {
+            assertEquals(q, resolver.resolveKey(q.name()));
+        }
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolveKey(" COOKS_ASSISTANT "));
+    }
+
+    @Test
+    public void resolveKeyFallsBackToNames()
+    {
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolveKey("Cook's Assistant"));
+        assertEquals(Quest.COOKS_ASSISTANT, resolver.resolveKey("cooks_assistant"));
+        assertNull(resolver.resolveKey("Not a quest at all"));
+        assertNull(resolver.resolveKey(null));
+    }
+
+    private static String fold(String name)
+    {
+        final StringBuilder sb = new StringBuilder();
+        for (char c : name.toCharArray())
+        {
+            if (Character.isLetterOrDigit(c))
+            {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ironpath.service;
+
+import java.lang.reflect.Proxy;
+import net.runelite.api.Client;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class QuestStatusServiceTest
+{
+    // Quest.getState runs the quest status script and reads its result off the int stack.
+    private static final int NOT_STARTED = 1;
+    private static final int FINISHED = 2;
+
+    private int scriptRuns;
+    private int status = NOT_STARTED;
+
+    private final Client client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(),
+        new Class<?>[]{Client.class}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "runScript":
+                    scriptRuns++;
+                    return null;
+                case "getIntStack":
+                    return new int[]{status};
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+
+    private final QuestStatusService service = new QuestStatusService(client, null);
+
+    @Test
+    public void statesAreNotReReadUntilInvalidated()
+    {
+        assertEquals(QuestState.NOT_STARTED, service.getState(Quest.COOKS_ASSISTANT));
+        assertEquals(1, scriptRuns);
+
+        status = FINISHED;
+        assertEquals(QuestState.NOT_STARTED, service.getState(Quest.COOKS_ASSISTANT));
+        assertEquals(1, scriptRuns);
+        assertEquals(1, service.getReadCount());
+
+        service.invalidate();
+        assertEquals(1, service.getGeneration());
+        assertEquals(QuestState.FINISHED, service.getState(Quest.COOKS_ASSISTANT));
+        assertEquals(2, scriptRuns);
+        assertEquals(QuestState.FINISHED, service.getState(Quest.COOKS_ASSISTANT));
+        assertEquals(2, scriptRuns);
+    }
+
+    @Test
+    public void eachQuestIsCachedOnItsOwn()
+    {
+        service.getState(Quest.COOKS_ASSISTANT);
+        service.getState(Quest.DRAGON_SLAYER_I);
+        service.getState(Quest.COOKS_ASSISTANT);
+
+        assertEquals(2, scriptRuns);
+        assertEquals(2, service.getReadCount());
+    }
+
+    @Test
+    public void noQuestIsNeverRead()
+    {
+        assertEquals(QuestState.NOT_STARTED, service.getState((Quest) null));
+        assertEquals(0, scriptRuns);
+    }
+}
@@ -0,0 +1,165 @@
+package com.ironpath.service;
+
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestMeta;
+import com.ironpath.model.RouteStep;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RouteBundleTest
+{
+    private final QuestNameResolver names = new QuestNameResolver();
+
+    @Test
+    public void roundTripKeepsEveryField() throws IOException
+    {
+        final Map<Skill, Integer> minSkills = new EnumMap<>(Skill.class);
+        minSkills.put(Skill.ATTACK, 20);
+        minSkills.put(Skill.COOKING, 5);
+
+        final List<RouteStep> steps = Arrays.asList(
+            RouteStep.builder(PlanStepType.QUEST)
+                .quest(Quest.COOKS_ASSISTANT)
+                .displayName("Cook's Assistant")
+                .why("Cooking xp")
+                .tagsOverride(new LinkedHashSet<>(Arrays.asList("early", "f2p")))
+                .minSkillsOverride(minSkills)
+                .build(),
+            RouteStep.builder(PlanStepType.TRAIN).skill(Skill.ATTACK).toLevel(40).displayName("Train Attack").build(),
+            RouteStep.builder(PlanStepType.NOTE).displayName("Bank run").wikiUrl("https://example.invalid/").build(),
+            RouteStep.builder(PlanStepType.DIARY).build());
+
+        final Map<Quest, QuestMeta> meta = new EnumMap<>(Quest.class);
+        meta.put(Quest.COOKS_ASSISTANT, new QuestMeta(null, Map.of(Skill.COOKING, 300), null, "Cooking xp"));
+        meta.put(Quest.DRAGON_SLAYER_I, new QuestMeta(Map.of(Skill.HITPOINTS, 10), Map.of(Skill.STRENGTH, 18650, Skill.DEFENCE, 18650),
+            new LinkedHashSet<>(Arrays.asList("combat")), null));
+
+        final RouteBundle bundle = roundTrip(steps, meta);
+
+        assertSameSteps(steps, bundle.getSteps());
+        assertSameMeta(meta, bundle.getQuestMeta());
+    }
+
+    @Test
+    public void bundledRouteCompilesToTheSameSpineAsTheJson() throws IOException
+    {
+        final List<RouteStep> fromJson;
+        try (Reader r = resource("/com/ironpath/wiki_route.json"))
+        {
+            fromJson = RouteJsonReader.readRoute(r, names, strict());
+        }
+        final Map<Quest, QuestMeta> metaFromJson;
+        try (Reader r = resource("/com/ironpath/quest_db.json"))
+        {
+            metaFromJson = RouteJsonReader.readQuestDb(r, names, strict());
+        }
+
+        final RouteBundle bundle = roundTrip(fromJson, metaFromJson);
+
+        assertSameSteps(fromJson, bundle.getSteps());
+        assertSameMeta(metaFromJson, bundle.getQuestMeta());
+
+        final CompiledSpine a = CompiledSpine.compile(fromJson);
+        final CompiledSpine b = CompiledSpine.compile(bundle.getSteps());
+        assertEquals(a.size(), b.size());
+        for (int i = 0; i < a.size(); i++)
+        {
+            final String at = "index " + i;
+            assertEquals(at, a.getTypeOrdinal(i), b.getTypeOrdinal(i));
+            assertEquals(at, a.getQuestOrdinal(i), b.getQuestOrdinal(i));
+            assertEquals(at, a.getSkillOrdinal(i), b.getSkillOrdinal(i));
+            assertEquals(at, a.getTargetLevel(i), b.getTargetLevel(i));
+            assertEquals(at, a.getRuleId(i), b.getRuleId(i));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherData() throws IOException
+    {
+        RouteBundle.read(new ByteArrayInputStream(new byte[]{'{', '[', ']', '}', 0, 0, 0, 0}));
+    }
+
+    private static RouteBundle roundTrip(List<RouteStep> steps, Map<Quest, QuestMeta> meta) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RouteBundle.write(out, steps, meta);
+        return RouteBundle.read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    private static void assertSameSteps(List<RouteStep> expected, List<RouteStep> actual)
+    {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++)
+        {
+            final RouteStep e = expected.get(i);
+            final RouteStep a = actual.get(i);
+            final String at = "step " + i;
+            assertEquals(at, e.getType(), a.getType());
+            assertEquals(at, e.getQuest(), a.getQuest());
+            assertEquals(at, e.getSkill(), a.getSkill());
+            assertEquals(at, e.getToLevel(), a.getToLevel());
+            assertEquals(at, e.getDisplayName(), a.getDisplayName());
+            assertEquals(at, e.getWhy(), a.getWhy());
+            assertEquals(at, e.getWikiUrl(), a.getWikiUrl());
+            assertEquals(at, e.getTagsOverride(), a.getTagsOverride());
+            assertEquals(at, e.getMinSkillsOverride(), a.getMinSkillsOverride());
+        }
+    }
+
+    private static void assertSameMeta(Map<Quest, QuestMeta> expected, Map<Quest, QuestMeta> actual)
+    {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<Quest, QuestMeta> en : expected.entrySet())
+        {
+            final QuestMeta e = en.getValue();
+            final QuestMeta a = actual.get(en.getKey());
+            final String at = en.getKey().name();
+            assertEquals(at, e.getMinSkills(), a.getMinSkills());
+            assertEquals(at, e.getXpRewards(), a.getXpRewards());
+            assertEquals(at, e.getTags(), a.getTags());
+            assertEquals(at, e.getWhy(), a.getWhy());
+        }
+    }
+
+    private static Reader resource(String path)
+    {
+        final InputStream in = RouteBundleTest.class.getResourceAsStream(path);
+        assertTrue(path, in != null);
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    // Warnings are expected: the bundled data can name quests this RuneLite version does not have.
+    private static RouteJsonReader.Problems strict()
+    {
+        return new RouteJsonReader.Problems()
+        {
+            @Override
+            public void error(String where, String message)
+            {
+                throw new AssertionError(where + ": " + message);
+            }
+
+            @Override
+            public void warning(String where, String message)
+            {
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package com.ironpath.service;
+
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestMeta;
+import com.ironpath.model.RouteStep;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RouteJsonReaderTest
+{
+    private final QuestNameResolver names = new QuestNameResolver();
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    private final RouteJsonReader.Problems problems = new RouteJsonReader.Problems()
+    {
+        @Override
+        public void error(String where, String message)
+        {
+            errors.add(where + ": " + message);
+        }
+
+        @Override
+        public void warning(String where, String message)
+        {
+            warnings.add(where + ": " + message);
+        }
+    };
+
+    @Test
+    public void readsEachRowType()
+    {
+        final List<RouteStep> route = route("["
+            + "{\"type\":\"QUEST\",\"quest\":\"COOKS_ASSISTANT\",\"why\":\"Cooking\",\"tags\":[\"early\"]},"
+            + "{\"type\":\"train\",\"skill\":\"attack\",\"toLevel\":20},"
+            + "{\"type\":\"NOTE\",\"displayName\":\"Bank run\",\"wikiUrl\":\"https://example.invalid/\"}"
+            + "]");
+
+        assertEquals(3, route.size());
+        assertEquals(Quest.COOKS_ASSISTANT, route.get(0).getQuest());
+        assertEquals(Quest.COOKS_ASSISTANT.getName(), route.get(0).getDisplayName());
+        assertEquals("Cooking", route.get(0).getWhy());
+        assertTrue(route.get(0).getTagsOverride().contains("early"));
+
+        assertEquals(PlanStepType.TRAIN, route.get(1).getType());
+        assertEquals(Skill.ATTACK, route.get(1).getSkill());
+        assertEquals(Integer.valueOf(20), route.get(1).getToLevel());
+
+        assertEquals(PlanStepType.NOTE, route.get(2).getType());
+        assertEquals("Bank run", route.get(2).getDisplayName());
+        assertEquals("https://example.invalid/", route.get(2).getWikiUrl());
+
+        assertTrue(errors.isEmpty());
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    public void unresolvedQuestIsAnErrorButKeptAsNote()
+    {
+        final List<RouteStep> route = route("[{\"type\":\"QUEST\",\"displayName\":\"Not a quest at all\"}]");
+
+        assertEquals(1, route.size());
+        assertEquals(PlanStepType.NOTE, route.get(0).getType());
+        assertEquals("Not a quest at all", route.get(0).getDisplayName());
+        assertEquals(1, errors.size());
+        assertTrue(warnings.isEmpty());
+    }
+
+    @Test
+    public void pendingQuestIsOnlyAWarning() throws IOException
+    {
+        // Whether the RuneLite API on the classpath has the quest yet does not matter here.
+        final QuestNameResolver olderApi = new QuestNameResolver()
+        {
+            @Override
+            public Quest resolveKey(String key)
+            {
+                return null;
+            }
+
+            @Override
+            public Quest resolve(CharSequence name)
+            {
+                return null;
+            }
+        };
+        final String pending = RouteJsonReader.PENDING_QUESTS.iterator().next();
+        final List<RouteStep> route = RouteJsonReader.readRoute(
+            new StringReader("[{\"type\":\"QUEST\",\"displayName\":\"" + pending + "\"}]"), olderApi, problems);
+
+        assertEquals(PlanStepType.NOTE, route.get(0).getType());
+        assertEquals(pending, route.get(0).getDisplayName());
+        assertTrue(errors.isEmpty());
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void repeatedQuestIsSkippedWithWarning()
+    {
+        final List<RouteStep> route = route("["
+            + "{\"type\":\"QUEST\",\"quest\":\"COOKS_ASSISTANT\"},"
+            + "{\"type\":\"QUEST\",\"displayName\":\"Cook's Assistant\"}"
+            + "]");
+
+        assertEquals(1, route.size());
+        assertTrue(errors.isEmpty());
+        assertEquals(1, warnings.size());
+    }
+
+    @Test
+    public void invalidRowsAreSkippedWithErrors()
+    {
+        final List<RouteStep> route = route("["
+            + "1,"
+            + "{\"displayName\":\"no type\"},"
+            + "{\"type\":\"SIDEQUEST\"},"
+            + "{\"type\":\"TRAIN\",\"skill\":\"Sailing but not\",\"toLevel\":10},"
+            + "{\"type\":\"TRAIN\",\"skill\":\"Attack\",\"toLevel\":0},"
+            + "{\"type\":\"TRAIN\",\"skill\":\"Attack\",\"toLevel\":100},"
+            + "{\"type\":\"TRAIN\",\"skill\":\"Attack\"}"
+            + "]");
+
+        assertTrue(route.isEmpty());
+        assertEquals(7, errors.size());
+    }
+
+    @Test
+    public void rejectsNonIntegralNumbers()
+    {
+        final List<RouteStep> route = route("[{\"type\":\"TRAIN\",\"skill\":\"Attack\",\"toLevel\":1.5}]");
+
+        assertTrue(route.isEmpty());
+        assertTrue(errors.get(0), errors.get(0).endsWith("expected a whole number but was 1.5"));
+    }
+
+    @Test
+    public void acceptsIntegralNumbersInAnyNotation()
+    {
+        final List<RouteStep> route = route("["
+            + "{\"type\":\"TRAIN\",\"skill\":\"Attack\",\"toLevel\":40.0},"
+            + "{\"type\":\"TRAIN\",\"skill\":\"Strength\",\"toLevel\":5e1}"
+            + "]");
+
+        assertEquals(Integer.valueOf(40), route.get(0).getToLevel());
+        assertEquals(Integer.valueOf(50), route.get(1).getToLevel());
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    public void reportsLineColumnAndPath()
+    {
+        route("[\n"
+            + "  {\"type\": \"NOTE\"},\n"
+            + "  {\n"
+            + "    \"type\": \"TRAIN\",\n"
+            + "    \"skill\": \"Attack\",\n"
+            + "    \"toLevel\": 2.5\n"
+            + "  }\n"
+            + "]\n");
+
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("line 6 column 16 path $[1].toLevel: "));
+        assertTrue(errors.get(1), errors.get(1).startsWith("line 3 column 4 path $[1]: "));
+    }
+
+    @Test
+    public void columnPointsAtTheBadValue()
+    {
+        route("[{\"type\": \"TRAIN\", \"skill\": \"Attack\", \"toLevel\": 2.5}]");
+
+        // The 2 of 2.5 is the 50th character. The row error is reported just past the row's opening brace.
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("line 1 column 50 path $[0].toLevel: "));
+        assertTrue(errors.get(1), errors.get(1).startsWith("line 1 column 3 path $[0]: "));
+    }
+
+    @Test
+    public void reportsLinesPastTheFirstBuffer()
+    {
+        final StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < 2000; i++)
+        {
+            json.append("  {\"type\": \"NOTE\", \"displayName\": \"Row ").append(i).append("\"},\n");
+        }
+        json.append("  {\"type\": \"SIDEQUEST\"}\n]\n");
+
+        route(json.toString());
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0), errors.get(0).startsWith("line 2002 column 4 path $[2000]: "));
+    }
+
+    @Test
+    public void readsQuestDbByEnumOrDisplayName() throws IOException
+    {
+        final Map<Quest, QuestMeta> db = RouteJsonReader.readQuestDb(new StringReader("{"
+            + "\"COOKS_ASSISTANT\":{\"xpRewards\":{\"Cooking\":300},\"why\":\"Cooking xp\"},"
+            + "\"Dragon Slayer I\":{\"minSkills\":{\"hp\":1},\"tags\":[\"combat\"]},"
+            + "\"Not a quest at all\":{}"
+            + "}"), names, problems);
+
+        assertEquals(2, db.size());
+        assertEquals(Integer.valueOf(300), db.get(Quest.COOKS_ASSISTANT).getXpRewards().get(Skill.COOKING));
+        assertEquals("Cooking xp", db.get(Quest.COOKS_ASSISTANT).getWhy());
+        assertEquals(Integer.valueOf(1), db.get(Quest.DRAGON_SLAYER_I).getMinSkills().get(Skill.HITPOINTS));
+        assertNull(db.get(Quest.DRAGON_SLAYER_I).getWhy());
+        assertTrue(errors.isEmpty());
+        assertEquals(1, warnings.size());
+    }
+
+    private List<RouteStep> route(String json)
+    {
+        try
+        {
+            return RouteJsonReader.readRoute(new StringReader(json), names, problems);
+        }
+        catch (IOException e)
+        {
+            throw new AssertionError(e);
+        }
+    }
+}
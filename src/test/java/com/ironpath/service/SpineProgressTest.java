@@ -0,0 +1,95 @@
+package com.ironpath.service;
+
+import com.ironpath.model.CompiledSpine;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.note;
+import static com.ironpath.model.TestSteps.quest;
+import static com.ironpath.model.TestSteps.train;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpineProgressTest
+{
+    private static final int ATTACK = Skill.ATTACK.ordinal();
+
+    private final QuestDatabase questDatabase = new QuestDatabase(null)
+    {
+        @Override
+        public Map<Skill, Integer> getXpRewards(Quest quest)
+        {
+            return quest == Quest.values()[0] ? Map.of(Skill.ATTACK, 500) : Map.of();
+        }
+    };
+
+    // 0: quest rewarding Attack, 1: note, 2: train, 3: quest, 4: note
+    private final SpineProgress progress = new SpineProgress(CompiledSpine.compile(Arrays.asList(
+        quest(0),
+        note("Note"),
+        train(Skill.ATTACK, 10),
+        quest(1),
+        note("Note"))), questDatabase);
+
+    @Test
+    public void cursorSkipsCompletedIndices()
+    {
+        assertEquals(0, progress.getFirstUnfinished());
+        assertEquals(0, progress.nextUnfinished(0));
+
+        progress.markComplete(1);
+        assertEquals(0, progress.getFirstUnfinished());
+        assertEquals(2, progress.nextUnfinished(1));
+
+        progress.markComplete(0);
+        assertEquals(2, progress.getFirstUnfinished());
+        assertEquals(2, progress.nextUnfinished(0));
+
+        progress.markComplete(2);
+        progress.markComplete(3);
+        progress.markComplete(4);
+        assertEquals(5, progress.getFirstUnfinished());
+        assertEquals(5, progress.nextUnfinished(0));
+    }
+
+    @Test
+    public void completingAQuestFinishesItInTheProjection()
+    {
+        final XpProjection xp = progress.getProjection();
+        assertEquals(500, xp.getProjectedXp(1, ATTACK));
+
+        progress.markComplete(0);
+        assertEquals(0, xp.getProjectedXp(1, ATTACK));
+    }
+
+    @Test
+    public void copyIsIndependent()
+    {
+        progress.markComplete(3);
+        final BitSet copy = progress.copyComplete();
+        copy.set(0);
+
+        assertTrue(progress.copyComplete().get(3));
+        assertFalse(progress.copyComplete().get(0));
+    }
+
+    @Test
+    public void resetForgetsTheAccount()
+    {
+        progress.markComplete(0);
+        progress.markComplete(1);
+        progress.getProjection().setOrigin(2);
+
+        progress.reset();
+
+        assertEquals(0, progress.getFirstUnfinished());
+        assertTrue(progress.copyComplete().isEmpty());
+        assertEquals(0, progress.getProjection().getOrigin());
+        assertEquals(500, progress.getProjection().getProjectedXp(1, ATTACK));
+    }
+}
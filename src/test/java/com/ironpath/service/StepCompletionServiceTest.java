@@ -0,0 +1,66 @@
+package com.ironpath.service;
+
+import com.ironpath.model.CompletionCheck;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.RouteStep;
+import net.runelite.api.Varbits;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.diary;
+import static com.ironpath.model.TestSteps.note;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class StepCompletionServiceTest
+{
+    // compile() never touches the client.
+    private final StepCompletionService service = new StepCompletionService();
+
+    @Test
+    public void diaryTiersCompileToTheirVarbit()
+    {
+        assertCheck(CompletionCheck.Kind.VARBIT, Varbits.DIARY_ARDOUGNE_EASY, 1, service.compile(diary("Ardougne Easy")));
+        assertCheck(CompletionCheck.Kind.VARBIT, Varbits.DIARY_VARROCK_HARD, 1, service.compile(diary("  VARROCK Hard Diary ")));
+        assertCheck(CompletionCheck.Kind.VARBIT, Varbits.DIARY_KOUREND_ELITE, 1, service.compile(diary("Kebos elite")));
+    }
+
+    @Test
+    public void diariesWithoutARegionOrTierCannotBeVerified()
+    {
+        assertSame(CompletionCheck.NEVER, service.compile(diary("Ardougne")));
+        assertSame(CompletionCheck.NEVER, service.compile(diary("Easy diaries")));
+        // Diaries have no master tier.
+        assertSame(CompletionCheck.NEVER, service.compile(diary("Falador master")));
+    }
+
+    @Test
+    public void tutorialIslandIsItsProgressVarp()
+    {
+        assertCheck(CompletionCheck.Kind.VARP, 281, 1000, service.compile(
+            RouteStep.builder(PlanStepType.MINIQUEST).displayName("Tutorial Island (miniquest)").build()));
+    }
+
+    @Test
+    public void combatAchievementTiersCompileToTheirVarbit()
+    {
+        assertCheck(CompletionCheck.Kind.VARBIT, Varbits.COMBAT_ACHIEVEMENT_TIER_GRANDMASTER, 1,
+            service.compile(note("Combat Achievements: Grandmaster")));
+        assertCheck(CompletionCheck.Kind.VARBIT, Varbits.COMBAT_ACHIEVEMENT_TIER_MASTER, 1,
+            service.compile(note("Combat achievement master tier")));
+    }
+
+    @Test
+    public void everythingElseCannotBeVerified()
+    {
+        assertSame(CompletionCheck.NEVER, service.compile(note("Bank run")));
+        assertSame(CompletionCheck.NEVER, service.compile(RouteStep.builder(PlanStepType.NOTE).build()));
+        assertSame(CompletionCheck.NEVER, service.compile(null));
+    }
+
+    private static void assertCheck(CompletionCheck.Kind kind, int id, int threshold, CompletionCheck check)
+    {
+        assertEquals(kind, check.getKind());
+        assertEquals(id, check.getId());
+        assertEquals(threshold, check.getThreshold());
+    }
+}
@@ -0,0 +1,235 @@
+package com.ironpath.service;
+
+import com.ironpath.model.CompiledSpine;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.RouteStep;
+import com.ironpath.util.XpTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import net.runelite.api.Quest;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static com.ironpath.model.TestSteps.note;
+import static com.ironpath.model.TestSteps.quest;
+import static com.ironpath.model.TestSteps.train;
+import static org.junit.Assert.assertEquals;
+
+public class XpProjectionTest
+{
+    private static final Quest[] QUESTS = Quest.values();
+    private static final int SKILLS = Skill.values().length;
+    private static final int ATTACK = Skill.ATTACK.ordinal();
+    private static final int COOKING = Skill.COOKING.ordinal();
+
+    private final Map<Quest, Map<Skill, Integer>> rewards = new EnumMap<>(Quest.class);
+
+    private final QuestDatabase questDatabase = new QuestDatabase(null)
+    {
+        @Override
+        public Map<Skill, Integer> getXpRewards(Quest quest)
+        {
+            return rewards.getOrDefault(quest, Map.of());
+        }
+    };
+
+    @Test
+    public void addsUnfinishedRewardsAndRaisesToTrainTargets()
+    {
+        // 0: quest +500 Attack, 1: train Attack 20, 2: quest +1000 Attack and +300 Cooking
+        rewards.put(QUESTS[0], Map.of(Skill.ATTACK, 500));
+        rewards.put(QUESTS[1], Map.of(Skill.ATTACK, 1000, Skill.COOKING, 300));
+        final XpProjection xp = projection(quest(0), train(Skill.ATTACK, 20), quest(1));
+        xp.setBaseXp(ATTACK, 100);
+
+        assertEquals(100, xp.getProjectedXp(0, ATTACK));
+        assertEquals(600, xp.getProjectedXp(1, ATTACK));
+        assertEquals(XpTable.xpForLevel(20), xp.getProjectedXp(2, ATTACK));
+        assertEquals(XpTable.xpForLevel(20) + 1000, xp.getProjectedXp(3, ATTACK));
+        assertEquals(300, xp.getProjectedXp(3, COOKING));
+        assertEquals(XpTable.levelForXp(XpTable.xpForLevel(20) + 1000), xp.getProjectedLevel(3, ATTACK));
+    }
+
+    @Test
+    public void finishedQuestsAddNothing()
+    {
+        rewards.put(QUESTS[0], Map.of(Skill.ATTACK, 500));
+        final XpProjection xp = projection(quest(0), train(Skill.COOKING, 10));
+
+        assertEquals(500, xp.getProjectedXp(2, ATTACK));
+        xp.setQuestFinished(0, true);
+        assertEquals(0, xp.getProjectedXp(2, ATTACK));
+        xp.setQuestFinished(0, false);
+        assertEquals(500, xp.getProjectedXp(2, ATTACK));
+    }
+
+    @Test
+    public void rewardsAreCappedAtMaxXp()
+    {
+        rewards.put(QUESTS[0], Map.of(Skill.ATTACK, 10_000_000));
+        final XpProjection xp = projection(quest(0));
+        xp.setBaseXp(ATTACK, 195_000_000);
+
+        assertEquals(200_000_000, xp.getProjectedXp(1, ATTACK));
+    }
+
+    @Test
+    public void originRowStartsFromTheHighestEarlierTarget()
+    {
+        final XpProjection xp = projection(train(Skill.ATTACK, 30), train(Skill.ATTACK, 10), quest(0));
+        xp.setBaseXp(ATTACK, 50);
+        xp.setOrigin(2);
+
+        assertEquals(XpTable.xpForLevel(30), xp.getProjectedXp(2, ATTACK));
+        assertEquals(0, xp.getProjectedXp(2, COOKING));
+    }
+
+    @Test
+    public void baseXpChangeInvalidatesOnlyThatColumnFromTheOrigin()
+    {
+        rewards.put(QUESTS[0], Map.of(Skill.ATTACK, 10));
+        rewards.put(QUESTS[1], Map.of(Skill.ATTACK, 10));
+        final XpProjection xp = projection(quest(0), quest(1), quest(2), quest(3));
+        xp.setQuestFinished(0, true);
+        xp.setOrigin(1);
+        xp.getProjectedXp(4, ATTACK);
+        xp.getProjectedXp(4, COOKING);
+
+        xp.setBaseXp(ATTACK, 1_000);
+
+        assertEquals(1, xp.getValidRows(ATTACK));
+        assertEquals(5, xp.getValidRows(COOKING));
+        assertEquals(1_010, xp.getProjectedXp(4, ATTACK));
+    }
+
+    @Test
+    public void questChangeInvalidatesOnlyRewardedColumnsAfterIt()
+    {
+        rewards.put(QUESTS[2], Map.of(Skill.COOKING, 40));
+        final XpProjection xp = projection(quest(0), quest(1), quest(2), quest(3));
+        xp.getProjectedXp(4, ATTACK);
+        xp.getProjectedXp(4, COOKING);
+
+        xp.setQuestFinished(2, true);
+
+        assertEquals(5, xp.getValidRows(ATTACK));
+        assertEquals(3, xp.getValidRows(COOKING));
+        assertEquals(0, xp.getProjectedXp(4, COOKING));
+    }
+
+    @Test
+    public void matchesAFullRecomputeUnderRandomUpdates()
+    {
+        final Random random = new Random(42);
+        for (int round = 0; round < 200; round++)
+        {
+            rewards.clear();
+            final List<RouteStep> steps = randomSpine(random);
+            final XpProjection xp = new XpProjection(CompiledSpine.compile(steps), questDatabase);
+            final boolean[] finished = new boolean[steps.size()];
+            final int[] base = new int[SKILLS];
+
+            for (int op = 0; op < 50; op++)
+            {
+                final int i = random.nextInt(steps.size());
+                if (random.nextBoolean() && steps.get(i).getType() == PlanStepType.QUEST)
+                {
+                    finished[i] = !finished[i];
+                    xp.setQuestFinished(i, finished[i]);
+                }
+                else
+                {
+                    final int s = random.nextInt(3);
+                    base[s] = random.nextInt(200_000);
+                    xp.setBaseXp(s, base[s]);
+                }
+
+                // The origin may only sit after finished quests, as ProgressionPlanService keeps it.
+                final int origin = firstUnfinishedQuest(steps, finished);
+                xp.setOrigin(random.nextInt(origin + 1));
+
+                for (int read = 0; read < 5; read++)
+                {
+                    final int index = xp.getOrigin() + random.nextInt(steps.size() + 1 - xp.getOrigin());
+                    final int s = random.nextInt(3);
+                    assertEquals("round " + round + " op " + op + " index " + index,
+                        expected(steps, finished, base[s], index, s), xp.getProjectedXp(index, s));
+                }
+            }
+        }
+    }
+
+    private int expected(List<RouteStep> steps, boolean[] finished, int base, int index, int s)
+    {
+        int value = base;
+        for (int i = 0; i < index; i++)
+        {
+            final RouteStep step = steps.get(i);
+            if (step.getType() == PlanStepType.QUEST && !finished[i])
+            {
+                final Integer r = rewards.getOrDefault(step.getQuest(), Map.of()).get(Skill.values()[s]);
+                value = r == null ? value : Math.min(200_000_000, value + r);
+            }
+            else if (step.getType() == PlanStepType.TRAIN && step.getSkill().ordinal() == s)
+            {
+                value = Math.max(value, XpTable.xpForLevel(step.getToLevel()));
+            }
+        }
+        return value;
+    }
+
+    private List<RouteStep> randomSpine(Random random)
+    {
+        final List<RouteStep> steps = new ArrayList<>();
+        final int size = 1 + random.nextInt(30);
+        int quests = 0;
+        for (int i = 0; i < size; i++)
+        {
+            switch (random.nextInt(3))
+            {
+                case 0:
+                {
+                    final Map<Skill, Integer> r = new EnumMap<>(Skill.class);
+                    for (int s = 0; s < 3; s++)
+                    {
+                        if (random.nextBoolean())
+                        {
+                            r.put(Skill.values()[s], 1 + random.nextInt(20_000));
+                        }
+                    }
+                    rewards.put(QUESTS[quests], r);
+                    steps.add(quest(quests++));
+                    break;
+                }
+                case 1:
+                    steps.add(train(Skill.values()[random.nextInt(3)], 1 + random.nextInt(70)));
+                    break;
+                default:
+                    steps.add(note("Note"));
+                    break;
+            }
+        }
+        return steps;
+    }
+
+    private static int firstUnfinishedQuest(List<RouteStep> steps, boolean[] finished)
+    {
+        for (int i = 0; i < steps.size(); i++)
+        {
+            if (steps.get(i).getType() == PlanStepType.QUEST && !finished[i])
+            {
+                return i;
+            }
+        }
+        return steps.size();
+    }
+
+    private XpProjection projection(RouteStep... steps)
+    {
+        return new XpProjection(CompiledSpine.compile(Arrays.asList(steps)), questDatabase);
+    }
+}
@@ -0,0 +1,100 @@
+package com.ironpath.ui;
+
+import com.ironpath.model.InfoPlanStep;
+import com.ironpath.model.PlanStep;
+import com.ironpath.model.PlanStepType;
+import com.ironpath.model.QuestEntry;
+import com.ironpath.model.QuestPlanStep;
+import com.ironpath.model.SpineStepView;
+import com.ironpath.model.TrainPlanStep;
+import net.runelite.api.Quest;
+import net.runelite.api.QuestState;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PlanStepCardTest
+{
+    private static final int TOTAL = 40;
+
+    private final QuestEntry cooksAssistant = new QuestEntry(Quest.COOKS_ASSISTANT, "Cooking xp");
+
+    @Test
+    public void questCardsIgnoreTheJournalState()
+    {
+        assertTrue(PlanStepCard.rendersSame(
+            view(new QuestPlanStep(cooksAssistant, QuestState.NOT_STARTED), 3),
+            view(new QuestPlanStep(cooksAssistant, QuestState.IN_PROGRESS), 3)));
+
+        // A different entry is a different card, even for the same quest.
+        assertFalse(PlanStepCard.rendersSame(
+            view(new QuestPlanStep(cooksAssistant, QuestState.NOT_STARTED), 3),
+            view(new QuestPlanStep(new QuestEntry(Quest.COOKS_ASSISTANT, "Cooking xp"), QuestState.NOT_STARTED), 3)));
+    }
+
+    @Test
+    public void trainCardsIgnoreTheStartingLevel()
+    {
+        assertTrue(PlanStepCard.rendersSame(
+            view(new TrainPlanStep(Skill.ATTACK, 5, 20, "For quests"), 7),
+            view(new TrainPlanStep(Skill.ATTACK, 12, 20, "For quests"), 7)));
+
+        assertFalse(PlanStepCard.rendersSame(
+            view(new TrainPlanStep(Skill.ATTACK, 5, 20, "For quests"), 7),
+            view(new TrainPlanStep(Skill.ATTACK, 5, 25, "For quests"), 7)));
+        assertFalse(PlanStepCard.rendersSame(
+            view(new TrainPlanStep(Skill.ATTACK, 5, 20, "For quests"), 7),
+            view(new TrainPlanStep(Skill.STRENGTH, 5, 20, "For quests"), 7)));
+        assertFalse(PlanStepCard.rendersSame(
+            view(new TrainPlanStep(Skill.ATTACK, 5, 20, "For quests"), 7),
+            view(new TrainPlanStep(Skill.ATTACK, 5, 20, null), 7)));
+    }
+
+    @Test
+    public void infoCardsCompareTheirText()
+    {
+        final InfoPlanStep diary = info(PlanStepType.DIARY, "Ardougne Easy", "Claim the cloak", null);
+
+        assertTrue(PlanStepCard.rendersSame(view(diary, 9),
+            view(info(PlanStepType.DIARY, "Ardougne Easy", "Claim the cloak", null), 9)));
+        assertFalse(PlanStepCard.rendersSame(view(diary, 9),
+            view(info(PlanStepType.DIARY, "Ardougne Easy", "Claim the cloak", "https://example.invalid/"), 9)));
+        assertFalse(PlanStepCard.rendersSame(view(diary, 9),
+            view(info(PlanStepType.DIARY, "Ardougne Medium", "Claim the cloak", null), 9)));
+        assertFalse(PlanStepCard.rendersSame(view(diary, 9),
+            view(info(PlanStepType.NOTE, "Ardougne Easy", "Claim the cloak", null), 9)));
+    }
+
+    @Test
+    public void positionIsPartOfTheCard()
+    {
+        final PlanStep step = new TrainPlanStep(Skill.ATTACK, 5, 20, "For quests");
+
+        assertTrue(PlanStepCard.rendersSame(view(step, 2), view(step, 2)));
+        assertFalse(PlanStepCard.rendersSame(view(step, 2), view(step, 3)));
+        assertFalse(PlanStepCard.rendersSame(view(step, 2), new SpineStepView(step, 2, TOTAL + 1)));
+    }
+
+    @Test
+    public void differentStepKindsNeverMatch()
+    {
+        assertFalse(PlanStepCard.rendersSame(
+            view(new TrainPlanStep(Skill.ATTACK, 5, 20, "For quests"), 1),
+            view(new QuestPlanStep(cooksAssistant, QuestState.NOT_STARTED), 1)));
+        assertFalse(PlanStepCard.rendersSame(view(null, 1), view(new QuestPlanStep(cooksAssistant, null), 1)));
+        assertFalse(PlanStepCard.rendersSame(null, view(new QuestPlanStep(cooksAssistant, null), 1)));
+        assertTrue(PlanStepCard.rendersSame(null, null));
+    }
+
+    private static SpineStepView view(PlanStep step, int index)
+    {
+        return new SpineStepView(step, index, TOTAL);
+    }
+
+    private static InfoPlanStep info(PlanStepType type, String title, String detail, String wikiUrl)
+    {
+        return InfoPlanStep.builder(type).title(title).detail(detail).wikiUrl(wikiUrl).build();
+    }
+}
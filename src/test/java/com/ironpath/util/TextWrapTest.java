@@ -0,0 +1,58 @@
+package com.ironpath.util;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class TextWrapTest
+{
+    // Every character is 10 pixels wide.
+    private static final FontMetrics FM = new FontMetrics(new Font(Font.MONOSPACED, Font.PLAIN, 10))
+    {
+        @Override
+        public int stringWidth(String str)
+        {
+            return str.length() * 10;
+        }
+    };
+
+    @Test
+    public void wrapsAtWordBoundaries()
+    {
+        assertEquals(Arrays.asList("aaa bbb", "cc dd"), TextWrap.wrap("aaa bbb cc dd", FM, 70));
+        assertEquals(Collections.singletonList("aaa bbb cc dd"), TextWrap.wrap("aaa bbb cc dd", FM, 130));
+    }
+
+    @Test
+    public void collapsesWhitespace()
+    {
+        assertEquals(Arrays.asList("aa bb", "cc"), TextWrap.wrap("  aa \t bb\n\ncc  ", FM, 50));
+    }
+
+    @Test
+    public void breaksWordsWiderThanTheLine()
+    {
+        assertEquals(Arrays.asList("ab", "abcd", "efgh", "ij"), TextWrap.wrap("ab abcdefghij", FM, 40));
+    }
+
+    @Test
+    public void blankTextHasNoLines()
+    {
+        assertEquals(Collections.emptyList(), TextWrap.wrap(null, FM, 100));
+        assertEquals(Collections.emptyList(), TextWrap.wrap(" \n ", FM, 100));
+    }
+
+    @Test
+    public void elidesOnlyWhenTooWide()
+    {
+        assertEquals("abcdef", TextWrap.elide("abcdef", FM, 60));
+        assertEquals("abc...", TextWrap.elide("abcdefg", FM, 60));
+        assertEquals("...", TextWrap.elide("abcdefg", FM, 35));
+        assertNull(TextWrap.elide(null, FM, 60));
+    }
+}
@@ -0,0 +1,116 @@
+package com.ironpath.tools;
+
+import com.ironpath.model.QuestMeta;
+import com.ironpath.model.RouteStep;
+import com.ironpath.service.QuestNameResolver;
+import com.ironpath.service.RouteBundle;
+import com.ironpath.service.RouteJsonReader;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import net.runelite.api.Quest;
+
+/**
+ * Build-time compiler for the route resources. Run by the {@code compileRoute} Gradle task:
+ *
+ * <pre>RouteCompiler &lt;wiki_route.json&gt; &lt;quest_db.json&gt; &lt;route.bin&gt;</pre>
+ *
+ * Parsing is shared with the runtime JSON fallback ({@link RouteJsonReader}), which logs problems and
+ * carries on. Here every error fails the build instead: unknown step types, quests that do not resolve
+ * to a RuneLite {@link Quest}, TRAIN rows without a valid skill and level, and bad skill maps. All errors
+ * are reported together, with their line, column and JSON path.
+ *
+ * The only exception is {@link RouteJsonReader#PENDING_QUESTS}: quests already in game that the unpinned
+ * RuneLite version may not know yet. Those are warnings and are compiled as NOTE rows, as at runtime.
+ */
+public final class RouteCompiler
+{
+    private final List<String> errors = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+    private final QuestNameResolver questNames = new QuestNameResolver();
+
+    private RouteCompiler()
+    {
+    }
+
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 3)
+        {
+            throw new IllegalArgumentException("Usage: RouteCompiler <wiki_route.json> <quest_db.json> <output>");
+        }
+
+        final Path routePath = Paths.get(args[0]);
+        final Path questDbPath = Paths.get(args[1]);
+        final Path outPath = Paths.get(args[2]);
+
+        final RouteCompiler c = new RouteCompiler();
+        final List<RouteStep> steps = c.compileRoute(routePath);
+        final Map<Quest, QuestMeta> meta = c.compileQuestDb(questDbPath);
+
+        for (String w : c.warnings)
+        {
+            System.err.println("warning: " + w);
+        }
+        if (!c.errors.isEmpty())
+        {
+            for (String e : c.errors)
+            {
+                System.err.println("error: " + e);
+            }
+            throw new IllegalStateException(c.errors.size() + " error(s) compiling route resources");
+        }
+
+        Files.createDirectories(outPath.toAbsolutePath().getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(outPath)))
+        {
+            RouteBundle.write(out, steps, meta);
+        }
+
+        System.out.println("Compiled " + steps.size() + " route steps and " + meta.size() + " quest entries into " + outPath
+            + " (" + Files.size(outPath) + " bytes)");
+    }
+
+    private List<RouteStep> compileRoute(Path path) throws IOException
+    {
+        try (Reader r = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            return RouteJsonReader.readRoute(r, questNames, problems(path));
+        }
+    }
+
+    private Map<Quest, QuestMeta> compileQuestDb(Path path) throws IOException
+    {
+        try (Reader r = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+        {
+            return RouteJsonReader.readQuestDb(r, questNames, problems(path));
+        }
+    }
+
+    private RouteJsonReader.Problems problems(Path path)
+    {
+        final String file = path.getFileName().toString();
+        return new RouteJsonReader.Problems()
+        {
+            @Override
+            public void error(String where, String message)
+            {
+                errors.add(file + " " + where + ": " + message);
+            }
+
+            @Override
+            public void warning(String where, String message)
+            {
+                warnings.add(file + " " + where + ": " + message);
+            }
+        };
+    }
+}